@@ -0,0 +1,110 @@
+
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.util.TypeKey;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Caches results of {@link #processTypeInTemporaryContext(Type, Object, Settings)}
+ * (and so also {@link #discoverClassesUsedInType(Type, Object, Settings)} and {@link #isTypeExcluded(Type, Object, Settings)})
+ * which are called many times for the same types during model parsing.
+ * Results are keyed by Java type and type context (compared using <code>equals</code>, identity by default).
+ * Processing in non-temporary context (used by {@link cz.habarta.typescript.generator.compiler.ModelCompiler}) is not cached.
+ * This class is thread-safe if the wrapped processor is thread-safe.
+ */
+public class CachingTypeProcessor implements TypeProcessor {
+
+    public static final int DefaultMaxSize = 10_000;
+
+    private final TypeProcessor typeProcessor;
+    private final Settings settings;
+    private final Map<Key, Result> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CachingTypeProcessor(TypeProcessor typeProcessor, Settings settings) {
+        this(typeProcessor, settings, DefaultMaxSize);
+    }
+
+    public CachingTypeProcessor(TypeProcessor typeProcessor, Settings settings, int maxSize) {
+        this.typeProcessor = Objects.requireNonNull(typeProcessor, "typeProcessor");
+        this.settings = settings;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<Key, Result>(16, 0.75f, /*accessOrder*/ true) {
+            private static final long serialVersionUID = 1L;
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    @Override
+    public Result processType(Type javaType, Context context) {
+        return typeProcessor.processType(javaType, context);
+    }
+
+    @Override
+    public Result processTypeInTemporaryContext(Type type, Object typeContext, Settings settings) {
+        if (settings != this.settings) {
+            return TypeProcessor.super.processTypeInTemporaryContext(type, typeContext, settings);
+        }
+        final Key key = new Key(TypeKey.of(type), typeContext);
+        final Result cachedResult = cache.get(key);
+        if (cachedResult != null) {
+            hits.incrementAndGet();
+            return cachedResult;
+        }
+        misses.incrementAndGet();
+        final Result result = TypeProcessor.super.processTypeInTemporaryContext(type, typeContext, settings);
+        if (result != null) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int getSize() {
+        return cache.size();
+    }
+
+    private static class Key {
+        private final TypeKey typeKey;
+        private final Object typeContext;
+
+        public Key(TypeKey typeKey, Object typeContext) {
+            this.typeKey = typeKey;
+            this.typeContext = typeContext;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * typeKey.hashCode() + Objects.hashCode(typeContext);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return typeKey.equals(other.typeKey) && Objects.equals(typeContext, other.typeContext);
+        }
+    }
+
+}
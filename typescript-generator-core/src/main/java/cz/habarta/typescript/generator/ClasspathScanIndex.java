@@ -0,0 +1,415 @@
+
+package cz.habarta.typescript.generator;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Index of classes on classpath (names, flags, superclasses, interfaces and annotations) persisted in cache file.
+ * Jar files are identified by path, size, last modification time and content hash
+ * and only changed jars and directories are scanned again (using ClassGraph).
+ * Queries return the same classes as corresponding {@link ScanResult} methods.
+ */
+class ClasspathScanIndex {
+
+    private static final int FormatVersion = 2;
+    private static final int InterfaceFlag = 1;
+    private static final int AnnotationFlag = 2;
+    private static final int SyntheticOrAnonymousFlag = 4;
+    private static final String InheritedAnnotation = "java.lang.annotation.Inherited";
+
+    private final Map<String, ClassRecord> classes = new LinkedHashMap<>();
+    private final Map<String, List<ClassRecord>> subclasses = new HashMap<>();
+    private final Map<String, List<ClassRecord>> implementingClasses = new HashMap<>();
+    private final Map<String, List<ClassRecord>> annotatedClasses = new HashMap<>();
+
+    private ClasspathScanIndex(List<EntryRecord> entries) {
+        // the first class on classpath masks classes with the same name in later entries
+        for (EntryRecord entry : entries) {
+            for (ClassRecord cls : entry.classes) {
+                classes.putIfAbsent(cls.name, cls);
+            }
+        }
+        for (ClassRecord cls : classes.values()) {
+            if (cls.superclass != null) {
+                subclasses.computeIfAbsent(cls.superclass, k -> new ArrayList<>()).add(cls);
+            }
+            for (String aInterface : cls.interfaces) {
+                implementingClasses.computeIfAbsent(aInterface, k -> new ArrayList<>()).add(cls);
+            }
+            for (String annotation : cls.annotations) {
+                annotatedClasses.computeIfAbsent(annotation, k -> new ArrayList<>()).add(cls);
+            }
+        }
+    }
+
+    /**
+     * Names of all classes and interfaces (not annotations) sorted by name.
+     */
+    public List<String> getAllClassNames() {
+        final Set<String> names = new TreeSet<>();
+        for (ClassRecord cls : classes.values()) {
+            if (!cls.isAnnotation()) {
+                names.add(cls.name);
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Classes extending specified class directly or indirectly, see {@link ScanResult#getSubclasses(String)}.
+     */
+    public List<String> getSubclasses(String superclassName) {
+        if (superclassName.equals(Object.class.getName())) {
+            final Set<String> names = new TreeSet<>();
+            for (ClassRecord cls : classes.values()) {
+                if (!cls.isInterface()) {
+                    names.add(cls.name);
+                }
+            }
+            return new ArrayList<>(names);
+        }
+        final Set<ClassRecord> result = new LinkedHashSet<>();
+        addSubclasses(superclassName, result);
+        return getNames(result);
+    }
+
+    /**
+     * Classes and interfaces implementing specified interface directly or indirectly (including subclasses),
+     * see {@link ScanResult#getClassesImplementing(String)}.
+     */
+    public List<String> getClassesImplementing(String interfaceName) {
+        final Set<ClassRecord> implementing = new LinkedHashSet<>();
+        addRelated(interfaceName, implementingClasses, implementing);
+        final Set<ClassRecord> result = new LinkedHashSet<>(implementing);
+        for (ClassRecord cls : implementing) {
+            addSubclasses(cls.name, result);
+        }
+        return getNames(result);
+    }
+
+    /**
+     * Classes annotated with specified annotation directly or using meta-annotation
+     * (and their subclasses if annotation is inherited), see {@link ScanResult#getClassesWithAnnotation(String)}.
+     */
+    public List<String> getClassesWithAnnotation(String annotationName) {
+        final Set<ClassRecord> annotated = new LinkedHashSet<>();
+        addRelated(annotationName, annotatedClasses, annotated);
+        final Set<ClassRecord> result = new LinkedHashSet<>(annotated);
+        final ClassRecord annotation = classes.get(annotationName);
+        if (annotation != null && annotation.annotations.contains(InheritedAnnotation)) {
+            for (ClassRecord cls : annotated) {
+                addSubclasses(cls.name, result);
+            }
+        }
+        return getNames(result);
+    }
+
+    /**
+     * Returns <code>true</code> if class is known to be synthetic or anonymous, see {@link Input#isSyntheticOrAnonymous(ClassInfo)}.
+     */
+    public boolean isSyntheticOrAnonymous(String className) {
+        final ClassRecord cls = classes.get(className);
+        return cls != null && cls.isSyntheticOrAnonymous();
+    }
+
+    private void addSubclasses(String superclassName, Set<ClassRecord> result) {
+        for (ClassRecord subclass : subclasses.getOrDefault(superclassName, Collections.emptyList())) {
+            if (result.add(subclass)) {
+                addSubclasses(subclass.name, result);
+            }
+        }
+    }
+
+    private static void addRelated(String name, Map<String, List<ClassRecord>> relation, Set<ClassRecord> result) {
+        for (ClassRecord related : relation.getOrDefault(name, Collections.emptyList())) {
+            if (result.add(related)) {
+                addRelated(related.name, relation, result);
+            }
+        }
+    }
+
+    private static List<String> getNames(Collection<ClassRecord> classes) {
+        final Set<String> names = new TreeSet<>();
+        for (ClassRecord cls : classes) {
+            names.add(cls.name);
+        }
+        return new ArrayList<>(names);
+    }
+
+    public int size() {
+        return classes.size();
+    }
+
+    /**
+     * Loads index from cache file, scans changed classpath entries and saves updated index back to cache file.
+     */
+    public static ClasspathScanIndex load(File cacheFile, List<File> classpath, boolean verbose) {
+        final Map<String, EntryRecord> cachedEntries = read(cacheFile);
+        final List<EntryRecord> entries = new ArrayList<>();
+        final List<File> changedFiles = new ArrayList<>();
+        for (File file : classpath) {
+            final EntryRecord entry = getUnchangedEntry(file, cachedEntries.get(file.getAbsolutePath()));
+            entries.add(entry);
+            if (entry == null) {
+                changedFiles.add(file);
+            }
+        }
+        final List<EntryRecord> scannedEntries = scan(changedFiles, verbose);
+        for (int i = 0, s = 0; i < entries.size(); i++) {
+            if (entries.get(i) == null) {
+                entries.set(i, scannedEntries.get(s++));
+            }
+        }
+        TypeScriptGenerator.getLogger().info(String.format("Classpath entries scanned: %d, loaded from cache: %d.",
+                changedFiles.size(), classpath.size() - changedFiles.size()));
+        // only jar files are cached
+        final List<EntryRecord> jarEntries = new ArrayList<>();
+        boolean modified = false;
+        for (EntryRecord entry : entries) {
+            if (!entry.hash.isEmpty()) {
+                jarEntries.add(entry);
+                modified |= cachedEntries.get(entry.path) != entry;
+            }
+        }
+        if (modified || jarEntries.size() != cachedEntries.size()) {
+            write(cacheFile, jarEntries);
+        }
+        return new ClasspathScanIndex(entries);
+    }
+
+    private static EntryRecord getUnchangedEntry(File file, EntryRecord cachedEntry) {
+        // directories are always scanned since their modification time doesn't reflect changes in nested files
+        if (cachedEntry == null || !file.isFile()) {
+            return null;
+        }
+        final long size = file.length();
+        final long lastModified = file.lastModified();
+        if (cachedEntry.size == size && cachedEntry.lastModified == lastModified) {
+            return cachedEntry;
+        }
+        if (cachedEntry.size == size && cachedEntry.hash.equals(computeHash(file))) {
+            return new EntryRecord(cachedEntry.path, size, lastModified, cachedEntry.hash, cachedEntry.classes);
+        }
+        return null;
+    }
+
+    private static List<EntryRecord> scan(List<File> files, boolean verbose) {
+        // each entry is scanned separately so that its classes are not masked by classes from other entries
+        final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            final List<EntryRecord> entries = new ArrayList<>();
+            for (File file : files) {
+                ClassGraph classGraph = new ClassGraph()
+                        .enableClassInfo()
+                        .enableAnnotationInfo()
+                        .ignoreClassVisibility()
+                        .overrideClasspath(file);
+                if (verbose) {
+                    classGraph = classGraph.verbose();
+                }
+                try (ScanResult scanResult = classGraph.scan(executor, Runtime.getRuntime().availableProcessors())) {
+                    final List<ClassRecord> classes = new ArrayList<>();
+                    for (ClassInfo classInfo : scanResult.getAllClasses()) {
+                        classes.add(new ClassRecord(
+                                classInfo.getName(),
+                                (classInfo.isInterfaceOrAnnotation() ? InterfaceFlag : 0)
+                                        | (classInfo.isAnnotation() ? AnnotationFlag : 0)
+                                        | (Input.isSyntheticOrAnonymous(classInfo) ? SyntheticOrAnonymousFlag : 0),
+                                classInfo.getSuperclass() != null ? classInfo.getSuperclass().getName() : null,
+                                classInfo.getInterfaces().directOnly().getNames(),
+                                classInfo.getAnnotationInfo().directOnly().getNames()));
+                    }
+                    final boolean isFile = file.isFile();
+                    entries.add(new EntryRecord(
+                            file.getAbsolutePath(),
+                            isFile ? file.length() : 0,
+                            isFile ? file.lastModified() : 0,
+                            isFile ? computeHash(file) : "",
+                            classes));
+                }
+            }
+            return entries;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String computeHash(File file) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream inputStream = new DigestInputStream(new FileInputStream(file), digest)) {
+                final byte[] buffer = new byte[64 * 1024];
+                while (inputStream.read(buffer) != -1) {
+                    // digest is updated by stream
+                }
+            }
+            final StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException(String.format("Cannot compute hash of file '%s'", file), e);
+        }
+    }
+
+    private static Map<String, EntryRecord> read(File cacheFile) {
+        final Map<String, EntryRecord> entries = new LinkedHashMap<>();
+        if (!cacheFile.isFile()) {
+            return entries;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(cacheFile))))) {
+            if (input.readInt() != FormatVersion) {
+                return entries;
+            }
+            final int entryCount = input.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                final String path = input.readUTF();
+                final long size = input.readLong();
+                final long lastModified = input.readLong();
+                final String hash = input.readUTF();
+                final int classCount = input.readInt();
+                final List<ClassRecord> classes = new ArrayList<>(classCount);
+                for (int j = 0; j < classCount; j++) {
+                    final String name = input.readUTF();
+                    final int flags = input.readByte();
+                    final String superclass = input.readBoolean() ? input.readUTF() : null;
+                    classes.add(new ClassRecord(name, flags, superclass, readStrings(input), readStrings(input)));
+                }
+                entries.put(path, new EntryRecord(path, size, lastModified, hash, classes));
+            }
+            return entries;
+        } catch (IOException e) {
+            TypeScriptGenerator.getLogger().warning(String.format("Cannot read classpath scan cache file '%s': %s", cacheFile, e.getMessage()));
+            return new LinkedHashMap<>();
+        }
+    }
+
+    private static void write(File cacheFile, List<EntryRecord> entries) {
+        try {
+            final File directory = cacheFile.getAbsoluteFile().getParentFile();
+            directory.mkdirs();
+            final File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", directory);
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tempFile))))) {
+                output.writeInt(FormatVersion);
+                output.writeInt(entries.size());
+                for (EntryRecord entry : entries) {
+                    output.writeUTF(entry.path);
+                    output.writeLong(entry.size);
+                    output.writeLong(entry.lastModified);
+                    output.writeUTF(entry.hash);
+                    output.writeInt(entry.classes.size());
+                    for (ClassRecord cls : entry.classes) {
+                        output.writeUTF(cls.name);
+                        output.writeByte(cls.flags);
+                        output.writeBoolean(cls.superclass != null);
+                        if (cls.superclass != null) {
+                            output.writeUTF(cls.superclass);
+                        }
+                        writeStrings(output, cls.interfaces);
+                        writeStrings(output, cls.annotations);
+                    }
+                }
+            }
+            // replaced atomically so concurrent builds don't see partially written file
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            TypeScriptGenerator.getLogger().warning(String.format("Cannot write classpath scan cache file '%s': %s", cacheFile, e.getMessage()));
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream input) throws IOException {
+        final int count = input.readInt();
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        final List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            strings.add(input.readUTF());
+        }
+        return strings;
+    }
+
+    private static void writeStrings(DataOutputStream output, List<String> strings) throws IOException {
+        output.writeInt(strings.size());
+        for (String string : strings) {
+            output.writeUTF(string);
+        }
+    }
+
+    private static class EntryRecord {
+        public final String path;
+        public final long size;
+        public final long lastModified;
+        public final String hash;
+        public final List<ClassRecord> classes;
+
+        public EntryRecord(String path, long size, long lastModified, String hash, List<ClassRecord> classes) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.classes = classes;
+        }
+    }
+
+    private static class ClassRecord {
+        public final String name;
+        public final int flags;
+        public final String superclass;
+        public final List<String> interfaces;
+        public final List<String> annotations;
+
+        public ClassRecord(String name, int flags, String superclass, List<String> interfaces, List<String> annotations) {
+            this.name = name;
+            this.flags = flags;
+            this.superclass = superclass;
+            this.interfaces = interfaces;
+            this.annotations = annotations;
+        }
+
+        public boolean isInterface() {
+            return (flags & InterfaceFlag) != 0;
+        }
+
+        public boolean isAnnotation() {
+            return (flags & AnnotationFlag) != 0;
+        }
+
+        public boolean isSyntheticOrAnonymous() {
+            return (flags & SyntheticOrAnonymousFlag) != 0;
+        }
+    }
+
+}
@@ -4,8 +4,12 @@ package cz.habarta.typescript.generator;
 import cz.habarta.typescript.generator.parser.SourceType;
 import cz.habarta.typescript.generator.util.Utils;
 import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
 import io.github.classgraph.ScanResult;
+import java.io.File;
 import java.lang.reflect.Type;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -13,6 +17,8 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -78,6 +84,7 @@ public class Input {
         public boolean automaticJaxrsApplication;
         public Predicate<String> isClassNameExcluded;
         public URLClassLoader classLoader;
+        public File classpathScanCacheFile;
         public boolean debug;
     }
 
@@ -87,45 +94,52 @@ public class Input {
             if (parameters.classLoader != null) {
                 Thread.currentThread().setContextClassLoader(parameters.classLoader);
             }
-            try (final ClasspathScanner classpathScanner = new ClasspathScanner(parameters.classLoader, parameters.debug)) {
+            // when only class name patterns are used scanning can be restricted to packages matched by patterns
+            final boolean onlyPatternsScanned = parameters.classesWithAnnotations == null
+                    && parameters.classesImplementingInterfaces == null
+                    && parameters.classesExtendingClasses == null
+                    && !parameters.automaticJaxrsApplication;
+            final ScannedPackages scannedPackages = onlyPatternsScanned ? ScannedPackages.fromClassNamePatterns(parameters.classNamePatterns) : null;
+            try (final ClasspathScanner classpathScanner = new ClasspathScanner(parameters.classLoader, parameters.classpathScanCacheFile, scannedPackages, parameters.debug)) {
                 final List<SourceType<Type>> types = new ArrayList<>();
                 if (parameters.classNames != null) {
                     types.addAll(fromClassNames(parameters.classNames));
                 }
                 if (parameters.classNamePatterns != null) {
-                    types.addAll(fromClassNamePatterns(classpathScanner.getScanResult(), parameters.classNamePatterns));
+                    types.addAll(fromClassNamePatterns(classpathScanner, parameters.classNamePatterns));
                 }
                 if (parameters.classesImplementingInterfaces != null) {
-                    final ScanResult scanResult = classpathScanner.getScanResult();
                     final List<SourceType<Type>> c = fromClassNames(parameters.classesImplementingInterfaces.stream()
-                            .flatMap(interf -> scanResult.getClassesImplementing(interf).getNames().stream())
+                            .flatMap(interf -> classpathScanner.getClassesImplementing(interf).stream())
                             .distinct()
-                            .collect(Collectors.toList())
+                            .collect(Collectors.toList()),
+                            classpathScanner
                     );
                     types.addAll(c);
                 }
                 if (parameters.classesExtendingClasses != null) {
-                    final ScanResult scanResult = classpathScanner.getScanResult();
                     final List<SourceType<Type>> c = fromClassNames(parameters.classesExtendingClasses.stream()
-                            .flatMap(superclass -> scanResult.getSubclasses(superclass).getNames().stream())
+                            .flatMap(superclass -> classpathScanner.getSubclasses(superclass).stream())
                             .distinct()
-                            .collect(Collectors.toList())
+                            .collect(Collectors.toList()),
+                            classpathScanner
                     );
                     types.addAll(c);
                 }
                 if (parameters.classesWithAnnotations != null) {
-                    final ScanResult scanResult = classpathScanner.getScanResult();
                     types.addAll(fromClassNames(parameters.classesWithAnnotations.stream()
-                            .flatMap(annotation -> scanResult.getClassesWithAnnotation(annotation).getNames().stream())
+                            .flatMap(annotation -> classpathScanner.getClassesWithAnnotation(annotation).stream())
                             .distinct()
-                            .collect(Collectors.toList())
+                            .collect(Collectors.toList()),
+                            classpathScanner
                     ));
                 }
                 if (parameters.jaxrsApplicationClassName != null) {
                     types.addAll(fromClassNames(Arrays.asList(parameters.jaxrsApplicationClassName)));
                 }
                 if (parameters.automaticJaxrsApplication) {
-                    types.addAll(JaxrsApplicationScanner.scanAutomaticJaxrsApplication(classpathScanner.getScanResult(), parameters.isClassNameExcluded));
+                    types.addAll(JaxrsApplicationScanner.scanAutomaticJaxrsApplication(
+                            classpathScanner.getClassesWithAnnotation(JaxrsApplicationScanner.PathAnnotationName), parameters.isClassNameExcluded));
                 }
                 if (types.isEmpty()) {
                     final String errorMessage = "No input classes found.";
@@ -139,18 +153,98 @@ public class Input {
         }
     }
 
+    /**
+     * Scans classpath using ClassGraph or using {@link ClasspathScanIndex} if cache file is specified.
+     */
     private static class ClasspathScanner implements AutoCloseable {
 
         private final URLClassLoader classLoader;
+        private final File cacheFile;
+        private final ScannedPackages scannedPackages;
         private final boolean verbose;
         private ScanResult scanResult = null;
+        private ClasspathScanIndex scanIndex = null;
 
-        public ClasspathScanner(URLClassLoader classLoader, boolean verbose) {
+        /**
+         * @param scannedPackages packages scanned by ClassGraph or <code>null</code> to scan all packages (cached index always contains all packages)
+         */
+        public ClasspathScanner(URLClassLoader classLoader, File cacheFile, ScannedPackages scannedPackages, boolean verbose) {
             this.classLoader = classLoader;
+            this.cacheFile = cacheFile;
+            this.scannedPackages = scannedPackages;
             this.verbose = verbose;
         }
 
-        public ScanResult getScanResult() {
+        public List<String> getAllClassNames() {
+            if (cacheFile != null) {
+                return getScanIndex().getAllClassNames();
+            }
+            final List<String> allClassNames = new ArrayList<>();
+            allClassNames.addAll(getScanResult().getAllStandardClasses().getNames());
+            allClassNames.addAll(getScanResult().getAllInterfaces().getNames());
+            Collections.sort(allClassNames);
+            return allClassNames;
+        }
+
+        public List<String> getClassesImplementing(String interfaceName) {
+            return cacheFile != null
+                    ? getScanIndex().getClassesImplementing(interfaceName)
+                    : getScanResult().getClassesImplementing(interfaceName).getNames();
+        }
+
+        public List<String> getSubclasses(String superclassName) {
+            return cacheFile != null
+                    ? getScanIndex().getSubclasses(superclassName)
+                    : getScanResult().getSubclasses(superclassName).getNames();
+        }
+
+        public List<String> getClassesWithAnnotation(String annotationName) {
+            return cacheFile != null
+                    ? getScanIndex().getClassesWithAnnotation(annotationName)
+                    : getScanResult().getClassesWithAnnotation(annotationName).getNames();
+        }
+
+        /**
+         * Returns <code>true</code> if scanned metadata show that class is synthetic or anonymous so it doesn't need to be loaded.
+         */
+        public boolean isSyntheticOrAnonymous(String className) {
+            if (cacheFile != null) {
+                return getScanIndex().isSyntheticOrAnonymous(className);
+            }
+            final ClassInfo classInfo = getScanResult().getClassInfo(className);
+            return classInfo != null && Input.isSyntheticOrAnonymous(classInfo);
+        }
+
+        private ClasspathScanIndex getScanIndex() {
+            if (scanIndex == null) {
+                TypeScriptGenerator.getLogger().info("Scanning classpath (using cache file '" + cacheFile + "')");
+                final Date scanStart = new Date();
+                final List<File> classpath = new ArrayList<>();
+                if (classLoader != null) {
+                    for (URL url : classLoader.getURLs()) {
+                        classpath.add(toFile(url));
+                    }
+                } else {
+                    classpath.addAll(new ClassGraph().getClasspathFiles());
+                }
+                final ClasspathScanIndex index = ClasspathScanIndex.load(cacheFile, classpath, verbose);
+                final Date scanEnd = new Date();
+                final double timeInSeconds = (scanEnd.getTime() - scanStart.getTime()) / 1000.0;
+                TypeScriptGenerator.getLogger().info(String.format("Scanning finished in %.2f seconds. Total number of classes: %d.", timeInSeconds, index.size()));
+                scanIndex = index;
+            }
+            return scanIndex;
+        }
+
+        private static File toFile(URL url) {
+            try {
+                return new File(url.toURI());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return new File(url.getPath());
+            }
+        }
+
+        private ScanResult getScanResult() {
             if (scanResult == null) {
                 TypeScriptGenerator.getLogger().info("Scanning classpath");
                 final Date scanStart = new Date();
@@ -161,6 +255,12 @@ public class Input {
                 if (classLoader != null) {
                     classGraph = classGraph.overrideClasspath((Object[])classLoader.getURLs());
                 }
+                if (scannedPackages != null) {
+                    TypeScriptGenerator.getLogger().info("Scanned packages: " + scannedPackages);
+                    classGraph = classGraph
+                            .whitelistPackages(scannedPackages.recursivePackages.toArray(new String[0]))
+                            .whitelistPackagesNonRecursive(scannedPackages.nonRecursivePackages.toArray(new String[0]));
+                }
                 if (verbose) {
                     classGraph = classGraph.verbose();
                 }
@@ -183,19 +283,84 @@ public class Input {
 
     }
 
-    private static List<SourceType<Type>> fromClassNamePatterns(ScanResult scanResult, List<String> classNamePatterns) {
-        final List<String> allClassNames = new ArrayList<>();
-        allClassNames.addAll(scanResult.getAllStandardClasses().getNames());
-        allClassNames.addAll(scanResult.getAllInterfaces().getNames());
-        Collections.sort(allClassNames);
-        final List<String> classNames = filterClassNames(allClassNames, classNamePatterns);
+    /**
+     * Packages which contain all classes matching class name patterns.
+     */
+    static class ScannedPackages {
+
+        public final Set<String> recursivePackages = new TreeSet<>();
+        public final Set<String> nonRecursivePackages = new TreeSet<>();
+
+        /**
+         * Derives packages from literal prefixes of patterns (before the first wildcard).
+         * Returns <code>null</code> if some pattern can match classes in any package.
+         */
+        public static ScannedPackages fromClassNamePatterns(List<String> classNamePatterns) {
+            if (classNamePatterns == null || classNamePatterns.isEmpty()) {
+                return null;
+            }
+            final ScannedPackages packages = new ScannedPackages();
+            for (String pattern : classNamePatterns) {
+                final int wildcardIndex = pattern.indexOf('*');
+                final String literalPrefix = wildcardIndex != -1 ? pattern.substring(0, wildcardIndex) : pattern;
+                final int lastDotIndex = literalPrefix.lastIndexOf('.');
+                if (lastDotIndex == -1) {
+                    return null;
+                }
+                final String packageName = literalPrefix.substring(0, lastDotIndex);
+                final String rest = pattern.substring(lastDotIndex + 1);
+                // `*` doesn't match dot but `**` does
+                if (rest.contains(".") || rest.contains("**")) {
+                    packages.recursivePackages.add(packageName);
+                } else {
+                    packages.nonRecursivePackages.add(packageName);
+                }
+            }
+            return packages;
+        }
+
+        @Override
+        public String toString() {
+            final List<String> packages = new ArrayList<>();
+            recursivePackages.forEach(p -> packages.add(p + ".**"));
+            nonRecursivePackages.forEach(p -> packages.add(p + ".*"));
+            return packages.toString();
+        }
+
+    }
+
+    private static List<SourceType<Type>> fromClassNamePatterns(ClasspathScanner classpathScanner, List<String> classNamePatterns) {
+        final List<String> classNames = filterClassNames(classpathScanner.getAllClassNames(), classNamePatterns);
         TypeScriptGenerator.getLogger().info(String.format("Found %d classes matching pattern.", classNames.size()));
-        return fromClassNames(classNames);
+        return fromClassNames(classNames, classpathScanner);
     }
 
     private static List<SourceType<Type>> fromClassNames(List<String> classNames) {
+        return fromClassNames(classNames, null);
+    }
+
+    /**
+     * @param classpathScanner if specified classes known to be synthetic or anonymous from scanned metadata are skipped without loading
+     */
+    private static List<SourceType<Type>> fromClassNames(List<String> classNames, ClasspathScanner classpathScanner) {
+        final Date filterStart = new Date();
+        final List<String> filteredClassNames = classpathScanner != null
+                ? classNames.stream()
+                        .filter(className -> !classpathScanner.isSyntheticOrAnonymous(className))
+                        .collect(Collectors.toList())
+                : classNames;
+        final Date loadStart = new Date();
+        final List<Class<?>> classes = loadClasses(filteredClassNames);
+        final Date loadEnd = new Date();
+        if (classpathScanner != null) {
+            TypeScriptGenerator.getLogger().info(String.format("Loaded %d classes in %.2f seconds (%d synthetic or anonymous classes skipped in %.2f seconds).",
+                    classes.size(),
+                    (loadEnd.getTime() - loadStart.getTime()) / 1000.0,
+                    classNames.size() - filteredClassNames.size(),
+                    (loadStart.getTime() - filterStart.getTime()) / 1000.0));
+        }
         final List<SourceType<Type>> types = new ArrayList<>();
-        for (Class<?> cls : loadClasses(classNames)) {
+        for (Class<?> cls : classes) {
             // skip synthetic classes (as those generated by java compiler for switch with enum)
             // and anonymous classes (should not be processed and they do not have SimpleName)
             if (!cls.isSynthetic() && !cls.isAnonymousClass()) {
@@ -205,18 +370,42 @@ public class Input {
         return types;
     }
 
+    /**
+     * Detects synthetic and anonymous classes from class file metadata (without loading them).
+     * ClassGraph reports all classes declared in methods as anonymous, so also the name must end with number (like <code>Outer$1</code>)
+     * to keep local classes (like <code>Outer$1Local</code>). Classes not detected here are still checked after loading.
+     */
+    static boolean isSyntheticOrAnonymous(ClassInfo classInfo) {
+        if (classInfo.isSynthetic()) {
+            return true;
+        }
+        if (classInfo.isAnonymousInnerClass()) {
+            final String name = classInfo.getName();
+            final String suffix = name.substring(name.lastIndexOf('$') + 1);
+            return !suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit);
+        }
+        return false;
+    }
+
+    /**
+     * Loads classes in parallel without initializing them. Order of classes is preserved.
+     */
     static List<Class<?>> loadClasses(List<String> classNames) {
-        final List<Class<?>> classes = new ArrayList<>();
-        for (String className : classNames) {
-            try {
-                final Class<?> cls = Thread.currentThread().getContextClassLoader().loadClass(className);
-                classes.add(cls);
-            } catch (ReflectiveOperationException e) {
-                TypeScriptGenerator.getLogger().error(String.format("Cannot load class '%s'", className));
-                e.printStackTrace(System.out);
-            }
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classNames.parallelStream()
+                .map(className -> loadClass(classLoader, className))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static Class<?> loadClass(ClassLoader classLoader, String className) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ReflectiveOperationException e) {
+            TypeScriptGenerator.getLogger().error(String.format("Cannot load class '%s'", className));
+            e.printStackTrace(System.out);
+            return null;
         }
-        return classes;
     }
 
     static List<String> filterClassNames(List<String> classNames, List<String> globs) {
@@ -16,6 +16,8 @@ import javax.ws.rs.core.Application;
 
 public class JaxrsApplicationScanner {
 
+    static final String PathAnnotationName = Path.class.getName();
+
     public static List<SourceType<Type>> scanJaxrsApplication(Class<?> jaxrsApplicationClass, Predicate<String> isClassNameExcluded) {
         final ClassLoader originalContextClassLoader = Thread.currentThread().getContextClassLoader();
         try {
@@ -39,7 +41,10 @@ public class JaxrsApplicationScanner {
     }
 
     public static List<SourceType<Type>> scanAutomaticJaxrsApplication(ScanResult scanResult, Predicate<String> isClassNameExcluded) {
-        final List<String> namesOfResourceClasses = scanResult.getClassesWithAnnotation(Path.class.getName()).getNames();
+        return scanAutomaticJaxrsApplication(scanResult.getClassesWithAnnotation(PathAnnotationName).getNames(), isClassNameExcluded);
+    }
+
+    static List<SourceType<Type>> scanAutomaticJaxrsApplication(List<String> namesOfResourceClasses, Predicate<String> isClassNameExcluded) {
         final List<Class<?>> resourceClasses = Input.loadClasses(namesOfResourceClasses);
         TypeScriptGenerator.getLogger().info(String.format("Found %d root resources.", resourceClasses.size()));
         return new JaxrsApplicationScanner().scanJaxrsApplication(null, resourceClasses, isClassNameExcluded);
@@ -1,13 +1,26 @@
 
 package cz.habarta.typescript.generator;
 
+import cz.habarta.typescript.generator.emitter.Emitter;
+import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ThreadLocalRandom;
 
 
 public class Output {
@@ -34,13 +47,13 @@ public class Output {
         return closeWriter;
     }
 
+    /**
+     * Existing file is replaced only if generated content differs from its content
+     * so that its modification time is preserved and watching tools (webpack, tsc, ...) are not triggered.
+     * Timestamp in generated file comment is not considered a change.
+     */
     public static Output to(File file) {
-        try {
-            file.getParentFile().mkdirs();
-            return new Output(new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8")), file.toString(), true);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
-        }
+        return new Output(new ChangedFileWriter(file), file.toString(), true);
     }
 
     public static Output to(OutputStream outputStream) {
@@ -51,4 +64,96 @@ public class Output {
         return new Output(writer, null, false);
     }
 
+    /**
+     * Buffers content in memory, on close compares content hashes and if content differs
+     * writes it to temporary file next to target file which is then moved over target file.
+     * Nothing is written to disk if generation fails before close.
+     */
+    private static class ChangedFileWriter extends Writer {
+
+        private final File file;
+        private final StringWriter buffer = new StringWriter();
+        private boolean closed = false;
+
+        public ChangedFileWriter(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            buffer.write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            buffer.write(str, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            final String content = buffer.toString();
+            final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            if (file.isFile() && file.length() == bytes.length) {
+                try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                    if (MessageDigest.isEqual(computeHash(new StringReader(content)), computeHash(reader))) {
+                        TypeScriptGenerator.getLogger().info(String.format("File '%s' is up to date, skipped writing.", file));
+                        return;
+                    }
+                }
+            }
+            final File directory = file.getAbsoluteFile().getParentFile();
+            directory.mkdirs();
+            // not created using File.createTempFile which would restrict permissions of resulting file
+            final File tempFile = new File(directory, String.format(".%s.%x.tmp", file.getName(), ThreadLocalRandom.current().nextLong()));
+            try {
+                Files.write(tempFile.toPath(), bytes);
+                // replaced atomically so concurrent builds and watching tools don't see partially written file
+                try {
+                    Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                TypeScriptGenerator.getLogger().info(String.format("File '%s' was written.", file));
+            } finally {
+                Files.deleteIfExists(tempFile.toPath());
+            }
+        }
+
+        private static byte[] computeHash(Reader contentReader) throws IOException {
+            final MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+            try (BufferedReader reader = new BufferedReader(contentReader)) {
+                final StringBuilder line = new StringBuilder();
+                int c;
+                do {
+                    c = reader.read();
+                    if (c != -1) {
+                        line.append((char) c);
+                    }
+                    if (c == '\n' || c == -1) {
+                        // line terminators are part of hashed content, only timestamp is skipped
+                        final String content = line.toString();
+                        final String hashed = content.trim().startsWith(Emitter.FileCommentPrefix) ? Emitter.FileCommentPrefix : content;
+                        digest.update(hashed.getBytes(StandardCharsets.UTF_8));
+                        line.setLength(0);
+                    }
+                } while (c != -1);
+            }
+            return digest.digest();
+        }
+
+    }
+
 }
@@ -2,7 +2,9 @@
 package cz.habarta.typescript.generator;
 
 import com.fasterxml.jackson.databind.Module;
+import cz.habarta.typescript.generator.compiler.CustomTypeNamingRules;
 import cz.habarta.typescript.generator.compiler.ModelCompiler;
+import cz.habarta.typescript.generator.compiler.SymbolTable;
 import cz.habarta.typescript.generator.compiler.SymbolTable.CustomTypeNamingFunction;
 import cz.habarta.typescript.generator.emitter.EmitterExtension;
 import cz.habarta.typescript.generator.emitter.EmitterExtensionFeatures;
@@ -39,6 +41,8 @@ public class Settings {
     public String newline = String.format("%n");
     public String quotes = "\"";
     public String indentString = "    ";
+    public int outputBufferSize = 8192;
+    public boolean flushAfterEachDeclaration = false;
     public TypeScriptFileType outputFileType = TypeScriptFileType.declarationFile;
     public TypeScriptOutputKind outputKind = null;
     public String module = null;
@@ -61,6 +65,10 @@ public class Settings {
     public Map<String, String> customTypeNaming = new LinkedHashMap<>();
     public String customTypeNamingFunction = null;
     public CustomTypeNamingFunction customTypeNamingFunctionImpl = null;
+    private String customTypeNamingFunctionSource = null;
+    private CustomTypeNamingFunction customTypeNamingFunctionScript = null;
+    public List<String> customTypeNamingRules = null;
+    private CustomTypeNamingRules customTypeNamingRulesImpl = null;
     public List<String> referencedFiles = new ArrayList<>();
     public List<String> importDeclarations = new ArrayList<>();
     public Map<String, String> customTypeMappings = new LinkedHashMap<>();
@@ -92,6 +100,8 @@ public class Settings {
     public boolean restOptionsTypeIsGeneric;
     private List<RestApplicationParser.Factory> restApplicationParserFactories;
     public TypeProcessor customTypeProcessor = null;
+    public boolean disableTypeProcessorCache = false;
+    public boolean internTsTypes = false;
     public boolean sortDeclarations = false;
     public boolean sortTypeDeclarations = false;
     public boolean noFileComment = false;
@@ -115,6 +125,11 @@ public class Settings {
     public boolean jackson2ModuleDiscovery = false;
     public List<Class<? extends Module>> jackson2Modules = new ArrayList<>();
     public ClassLoader classLoader = null;
+    public boolean parallelParsing = false;
+    public boolean bytecodeParsing = false;
+    public File parsedModelCacheFile = null;
+    public boolean parallelCompilation = false;
+    public int parallelism = 0; // default is number of available processors
 
     private boolean defaultStringEnumsOverriddenByExtension = false;
 
@@ -185,6 +200,14 @@ public class Settings {
         this.indentString = indentString != null ? indentString : "    ";
     }
 
+    public int getParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public void setOutputBufferSize(Integer outputBufferSize) {
+        this.outputBufferSize = outputBufferSize != null ? outputBufferSize : 8192;
+    }
+
     public void setJackson2Configuration(ClassLoader classLoader, Jackson2Configuration configuration) {
         if (configuration != null) {
             jackson2Configuration = Jackson2ConfigurationResolved.from(configuration, classLoader);
@@ -274,6 +297,9 @@ public class Settings {
         if (jackson2Configuration != null && jsonLibrary != JsonLibrary.jackson2) {
             throw new RuntimeException("'jackson2Configuration' parameter is only applicable to 'jackson2' library.");
         }
+        if (bytecodeParsing && jsonLibrary != JsonLibrary.jackson2) {
+            throw new RuntimeException("'bytecodeParsing' parameter is only applicable to 'jackson2' library.");
+        }
         getValidatedCustomTypeMappings();
         getValidatedCustomTypeAliases();
         for (EmitterExtension extension : extensions) {
@@ -317,6 +343,7 @@ public class Settings {
         if (mapClasses == ClassMapping.asClasses && outputFileType != TypeScriptFileType.implementationFile) {
             throw new RuntimeException("'mapClasses' parameter is set to 'asClasses' which generates runtime code but 'outputFileType' parameter is not set to 'implementationFile'.");
         }
+        getCustomTypeNamingRules();
         if (mapClassesAsClassesPatterns != null && mapClasses != ClassMapping.asClasses) {
             throw new RuntimeException("'mapClassesAsClassesPatterns' parameter can only be used when 'mapClasses' parameter is set to 'asClasses'.");
         }
@@ -526,6 +553,27 @@ public class Settings {
         };
     }
 
+    public CustomTypeNamingRules getCustomTypeNamingRules() {
+        if (customTypeNamingRulesImpl == null) {
+            customTypeNamingRulesImpl = new CustomTypeNamingRules(customTypeNamingRules);
+        }
+        return customTypeNamingRulesImpl;
+    }
+
+    /**
+     * Compiled {@link #customTypeNamingFunction} with memoized results shared by all symbol tables created for these settings.
+     */
+    public synchronized CustomTypeNamingFunction getCustomTypeNamingFunctionScript() {
+        if (customTypeNamingFunction == null) {
+            return null;
+        }
+        if (!customTypeNamingFunction.equals(customTypeNamingFunctionSource)) {
+            customTypeNamingFunctionScript = SymbolTable.createCustomTypeNamingFunction(customTypeNamingFunction);
+            customTypeNamingFunctionSource = customTypeNamingFunction;
+        }
+        return customTypeNamingFunctionScript;
+    }
+
     public Predicate<String> getMapClassesAsClassesFilter() {
         if (mapClassesAsClassesFilter == null) {
             final List<Pattern> patterns = Utils.globsToRegexps(mapClassesAsClassesPatterns);
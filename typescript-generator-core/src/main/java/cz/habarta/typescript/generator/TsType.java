@@ -9,6 +9,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 
 /**
@@ -28,16 +30,69 @@ public abstract class TsType implements Emittable {
     public static final TsType Never = new BasicType("never");
     public static final TsType Unknown = new BasicType("unknown");
 
+    // 0 means not computed (yet) or not cacheable
+    private int hashCode;
+
     @Override
     public boolean equals(Object rhs) {
-        return rhs != null && this.getClass() == rhs.getClass() && this.toString().equals(rhs.toString());
+        if (this == rhs) {
+            return true;
+        }
+        if (rhs == null || this.getClass() != rhs.getClass()) {
+            return false;
+        }
+        final TsType other = (TsType) rhs;
+        if (this.hashCode != 0 && other.hashCode != 0 && this.hashCode != other.hashCode) {
+            return false;
+        }
+        return equalsSameClass(other);
     }
 
     @Override
     public int hashCode() {
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = computeHashCode();
+            // names of referenced symbols change during compilation (see SymbolTable.resolveSymbolNames)
+            if (!containsReferenceType()) {
+                hashCode = hash;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Compares this type with another instance of the same class.
+     * Built-in types compare their structure, default implementation compares formatted types.
+     */
+    protected boolean equalsSameClass(TsType rhs) {
+        return this.toString().equals(rhs.toString());
+    }
+
+    /**
+     * Computes hash code consistent with {@link #equalsSameClass(TsType)}.
+     */
+    protected int computeHashCode() {
         return this.toString().hashCode();
     }
 
+    /**
+     * Returns true if this type or any nested type references {@link Symbol} whose name can still change.
+     * Hash codes of such types are not cached.
+     */
+    protected boolean containsReferenceType() {
+        return true;
+    }
+
+    private static boolean anyContainsReferenceType(List<? extends TsType> types) {
+        for (TsType type : types) {
+            if (type.containsReferenceType()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public TsType.OptionalType optional() {
         return new TsType.OptionalType(this);
     }
@@ -62,6 +117,21 @@ public abstract class TsType implements Emittable {
         public String format(Settings settings) {
             return name;
         }
+
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            return name.equals(((BasicType) rhs).name);
+        }
+
+        @Override
+        protected int computeHashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            return false;
+        }
     }
 
     public static class GenericBasicType extends TsType.BasicType {
@@ -81,6 +151,21 @@ public abstract class TsType implements Emittable {
         public String format(Settings settings) {
             return super.format(settings) + "<" + Emitter.formatList(settings, typeArguments) + ">";
         }
+
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            return super.equalsSameClass(rhs) && typeArguments.equals(((GenericBasicType) rhs).typeArguments);
+        }
+
+        @Override
+        protected int computeHashCode() {
+            return 31 * super.computeHashCode() + typeArguments.hashCode();
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            return anyContainsReferenceType(typeArguments);
+        }
     }
 
     public static class VerbatimType extends TsType {
@@ -95,6 +180,21 @@ public abstract class TsType implements Emittable {
         public String format(Settings settings) {
             return verbatimType;
         }
+
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            return verbatimType.equals(((VerbatimType) rhs).verbatimType);
+        }
+
+        @Override
+        protected int computeHashCode() {
+            return verbatimType.hashCode();
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            return false;
+        }
     }
 
     /**
@@ -113,6 +213,22 @@ public abstract class TsType implements Emittable {
             return symbol.getFullName();
         }
 
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            final Symbol rhsSymbol = ((ReferenceType) rhs).symbol;
+            return symbol == rhsSymbol || symbol.getFullName().equals(rhsSymbol.getFullName());
+        }
+
+        @Override
+        protected int computeHashCode() {
+            return symbol.getFullName().hashCode();
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            return true;
+        }
+
     }
 
     public static class GenericReferenceType extends TsType.ReferenceType {
@@ -132,6 +248,16 @@ public abstract class TsType implements Emittable {
         public String format(Settings settings) {
             return super.format(settings) + "<" + Emitter.formatList(settings, typeArguments) + ">";
         }
+
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            return super.equalsSameClass(rhs) && typeArguments.equals(((GenericReferenceType) rhs).typeArguments);
+        }
+
+        @Override
+        protected int computeHashCode() {
+            return 31 * super.computeHashCode() + typeArguments.hashCode();
+        }
     }
     
     public static class GenericVariableType extends TsType.BasicType {
@@ -165,6 +291,21 @@ public abstract class TsType implements Emittable {
                     : elementType.format(settings) + "[]";
         }
 
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            return elementType.equals(((BasicArrayType) rhs).elementType);
+        }
+
+        @Override
+        protected int computeHashCode() {
+            return elementType.hashCode();
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            return elementType.containsReferenceType();
+        }
+
     }
 
     public static class IndexedArrayType extends TsType {
@@ -182,6 +323,22 @@ public abstract class TsType implements Emittable {
             return "{ [index: " + indexType.format(settings) + "]: " + elementType.format(settings) + " }";
         }
 
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            final IndexedArrayType other = (IndexedArrayType) rhs;
+            return indexType.equals(other.indexType) && elementType.equals(other.elementType);
+        }
+
+        @Override
+        protected int computeHashCode() {
+            return 31 * indexType.hashCode() + elementType.hashCode();
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            return indexType.containsReferenceType() || elementType.containsReferenceType();
+        }
+
     }
 
     public static class MappedType extends TsType {
@@ -206,6 +363,25 @@ public abstract class TsType implements Emittable {
                     " }";
         }
 
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            final MappedType other = (MappedType) rhs;
+            return parameterType.equals(other.parameterType) && questionToken == other.questionToken && type.equals(other.type);
+        }
+
+        @Override
+        protected int computeHashCode() {
+            int hash = parameterType.hashCode();
+            hash = 31 * hash + Objects.hashCode(questionToken);
+            hash = 31 * hash + type.hashCode();
+            return hash;
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            return parameterType.containsReferenceType() || type.containsReferenceType();
+        }
+
         public enum QuestionToken {
             Question("?"),
             Plus("+?"),
@@ -245,6 +421,21 @@ public abstract class TsType implements Emittable {
                     : Emitter.formatList(settings, types, " | ");
         }
 
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            return types.equals(((UnionType) rhs).types);
+        }
+
+        @Override
+        protected int computeHashCode() {
+            return types.hashCode();
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            return anyContainsReferenceType(types);
+        }
+
     }
 
     public static class IntersectionType extends TsType {
@@ -266,6 +457,21 @@ public abstract class TsType implements Emittable {
                     : Emitter.formatList(settings, types, " & ");
         }
 
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            return types.equals(((IntersectionType) rhs).types);
+        }
+
+        @Override
+        protected int computeHashCode() {
+            return types.hashCode();
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            return anyContainsReferenceType(types);
+        }
+
     }
 
     public static class StringLiteralType extends TsType {
@@ -281,6 +487,21 @@ public abstract class TsType implements Emittable {
             return settings.quotes + literal + settings.quotes;
         }
 
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            return literal.equals(((StringLiteralType) rhs).literal);
+        }
+
+        @Override
+        protected int computeHashCode() {
+            return literal.hashCode();
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            return false;
+        }
+
     }
 
     public static class NumberLiteralType extends TsType {
@@ -296,6 +517,22 @@ public abstract class TsType implements Emittable {
             return "" + literal;
         }
 
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            final Number rhsLiteral = ((NumberLiteralType) rhs).literal;
+            return literal.equals(rhsLiteral) || ("" + literal).equals("" + rhsLiteral);
+        }
+
+        @Override
+        protected int computeHashCode() {
+            return java.lang.Double.hashCode(literal.doubleValue());
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            return false;
+        }
+
     }
 
     public static class OptionalType extends TsType {
@@ -311,6 +548,21 @@ public abstract class TsType implements Emittable {
             return type.format(settings);
         }
 
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            return type.equals(((OptionalType) rhs).type);
+        }
+
+        @Override
+        protected int computeHashCode() {
+            return type.hashCode();
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            return type.containsReferenceType();
+        }
+
     }
 
     public static class ObjectType extends TsType {
@@ -338,6 +590,42 @@ public abstract class TsType implements Emittable {
             }
         }
 
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            final List<TsProperty> rhsProperties = ((ObjectType) rhs).properties;
+            if (properties.size() != rhsProperties.size()) {
+                return false;
+            }
+            for (int i = 0; i < properties.size(); i++) {
+                final TsProperty property = properties.get(i);
+                final TsProperty rhsProperty = rhsProperties.get(i);
+                if (!property.name.equals(rhsProperty.name) || !property.tsType.equals(rhsProperty.tsType)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected int computeHashCode() {
+            int hash = 1;
+            for (TsProperty property : properties) {
+                hash = 31 * hash + property.name.hashCode();
+                hash = 31 * hash + property.tsType.hashCode();
+            }
+            return hash;
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            for (TsProperty property : properties) {
+                if (property.tsType.containsReferenceType()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
     }
 
     public static class FunctionType extends TsType {
@@ -355,88 +643,166 @@ public abstract class TsType implements Emittable {
             return Emitter.formatParameterList(parameters, false) + " => " + type.format(settings);
         }
 
+        @Override
+        protected boolean equalsSameClass(TsType rhs) {
+            final FunctionType other = (FunctionType) rhs;
+            if (!type.equals(other.type) || parameters.size() != other.parameters.size()) {
+                return false;
+            }
+            for (int i = 0; i < parameters.size(); i++) {
+                final TsParameter parameter = parameters.get(i);
+                final TsParameter rhsParameter = other.parameters.get(i);
+                if (!parameter.name.equals(rhsParameter.name) || !Objects.equals(parameter.tsType, rhsParameter.tsType)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected int computeHashCode() {
+            int hash = type.hashCode();
+            for (TsParameter parameter : parameters) {
+                hash = 31 * hash + parameter.name.hashCode();
+                hash = 31 * hash + Objects.hashCode(parameter.tsType);
+            }
+            return hash;
+        }
+
+        @Override
+        protected boolean containsReferenceType() {
+            if (type.containsReferenceType()) {
+                return true;
+            }
+            for (TsParameter parameter : parameters) {
+                if (parameter.tsType != null && parameter.tsType.containsReferenceType()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
     }
 
+    /**
+     * Transforms type and its nested types (transformer is applied before nested types are transformed).
+     * Returns original instance if neither the type nor any of its nested types were changed.
+     */
     public static TsType transformTsType(Context context, TsType tsType, Transformer transformer) {
         final TsType type = transformer.transform(context, tsType);
         if (type instanceof TsType.GenericBasicType) {
             final GenericBasicType genericBasicType = (TsType.GenericBasicType) type;
-            final List<TsType> typeArguments = new ArrayList<>();
-            for (TsType typeArgument : genericBasicType.typeArguments) {
-                typeArguments.add(transformTsType(context, typeArgument, transformer));
-            }
-            return new TsType.GenericBasicType(genericBasicType.name, typeArguments);
+            final List<TsType> typeArguments = transformTsTypes(context, genericBasicType.typeArguments, transformer);
+            return typeArguments == genericBasicType.typeArguments ? type
+                    : new TsType.GenericBasicType(genericBasicType.name, typeArguments);
         }
         if (type instanceof TsType.GenericReferenceType) {
             final GenericReferenceType genericReferenceType = (TsType.GenericReferenceType) type;
-            final List<TsType> typeArguments = new ArrayList<>();
-            for (TsType typeArgument : genericReferenceType.typeArguments) {
-                typeArguments.add(transformTsType(context, typeArgument, transformer));
-            }
-            return new TsType.GenericReferenceType(genericReferenceType.symbol, typeArguments);
+            final List<TsType> typeArguments = transformTsTypes(context, genericReferenceType.typeArguments, transformer);
+            return typeArguments == genericReferenceType.typeArguments ? type
+                    : new TsType.GenericReferenceType(genericReferenceType.symbol, typeArguments);
         }
         if (type instanceof TsType.OptionalType) {
             final TsType.OptionalType optionalType = (TsType.OptionalType) type;
-            return new TsType.OptionalType(transformTsType(context, optionalType.type, transformer));
+            final TsType optionalTypeType = transformTsType(context, optionalType.type, transformer);
+            return optionalTypeType == optionalType.type ? type
+                    : new TsType.OptionalType(optionalTypeType);
         }
         if (type instanceof TsType.BasicArrayType) {
             final TsType.BasicArrayType basicArrayType = (TsType.BasicArrayType) type;
-            return new TsType.BasicArrayType(transformTsType(context, basicArrayType.elementType, transformer));
+            final TsType elementType = transformTsType(context, basicArrayType.elementType, transformer);
+            return elementType == basicArrayType.elementType ? type
+                    : new TsType.BasicArrayType(elementType);
         }
         if (type instanceof TsType.IndexedArrayType) {
             final TsType.IndexedArrayType indexedArrayType = (TsType.IndexedArrayType) type;
-            return new TsType.IndexedArrayType(
-                    transformTsType(context, indexedArrayType.indexType, transformer),
-                    transformTsType(context, indexedArrayType.elementType, transformer));
+            final TsType indexType = transformTsType(context, indexedArrayType.indexType, transformer);
+            final TsType elementType = transformTsType(context, indexedArrayType.elementType, transformer);
+            return indexType == indexedArrayType.indexType && elementType == indexedArrayType.elementType ? type
+                    : new TsType.IndexedArrayType(indexType, elementType);
         }
         if (type instanceof TsType.MappedType) {
             final TsType.MappedType mappedType = (TsType.MappedType) type;
-            return new TsType.MappedType(
-                    transformTsType(context, mappedType.parameterType, transformer),
-                    mappedType.questionToken,
-                    transformTsType(context, mappedType.type, transformer));
+            final TsType parameterType = transformTsType(context, mappedType.parameterType, transformer);
+            final TsType mappedTypeType = transformTsType(context, mappedType.type, transformer);
+            return parameterType == mappedType.parameterType && mappedTypeType == mappedType.type ? type
+                    : new TsType.MappedType(parameterType, mappedType.questionToken, mappedTypeType);
         }
         if (type instanceof TsType.UnionType) {
             final TsType.UnionType unionType = (TsType.UnionType) type;
-            final List<TsType> types = new ArrayList<>();
-            for (TsType constituentType : unionType.types) {
-                types.add(transformTsType(context, constituentType, transformer));
-            }
-            return new TsType.UnionType(types);
+            final List<TsType> types = transformTsTypes(context, unionType.types, transformer);
+            return types == unionType.types ? type
+                    : new TsType.UnionType(types);
         }
         if (type instanceof TsType.IntersectionType) {
             final TsType.IntersectionType intersectionType = (TsType.IntersectionType) type;
-            final List<TsType> types = new ArrayList<>();
-            for (TsType constituent : intersectionType.types) {
-                types.add(transformTsType(context, constituent, transformer));
-            }
-            return new TsType.IntersectionType(types);
+            final List<TsType> types = transformTsTypes(context, intersectionType.types, transformer);
+            return types == intersectionType.types ? type
+                    : new TsType.IntersectionType(types);
         }
         if (type instanceof TsType.ObjectType) {
             final TsType.ObjectType objectType = (TsType.ObjectType) type;
+            final List<TsType> propertyTypes = objectType.properties.stream().map(TsProperty::getTsType).collect(Collectors.toList());
+            final List<TsType> transformedPropertyTypes = transformTsTypes(context, propertyTypes, transformer);
+            if (transformedPropertyTypes == propertyTypes) {
+                return type;
+            }
             final List<TsProperty> properties = new ArrayList<>();
-            for (TsProperty property : objectType.properties) {
-                properties.add(new TsProperty(property.name, transformTsType(context, property.tsType, transformer)));
+            for (int i = 0; i < objectType.properties.size(); i++) {
+                properties.add(new TsProperty(objectType.properties.get(i).name, transformedPropertyTypes.get(i)));
             }
             return new TsType.ObjectType(properties);
         }
         if (type instanceof TsType.FunctionType) {
             final TsType.FunctionType functionType = (TsType.FunctionType) type;
+            final List<TsType> parameterTypes = functionType.parameters.stream().map(TsParameter::getTsType).collect(Collectors.toList());
+            final List<TsType> transformedParameterTypes = transformTsTypes(context, parameterTypes, transformer);
+            final TsType returnType = transformTsType(context, functionType.type, transformer);
+            if (transformedParameterTypes == parameterTypes && returnType == functionType.type) {
+                return type;
+            }
             final List<TsParameter> parameters = new ArrayList<>();
-            for (TsParameter parameter : functionType.parameters) {
-                parameters.add(new TsParameter(parameter.name, transformTsType(context, parameter.tsType, transformer)));
+            for (int i = 0; i < functionType.parameters.size(); i++) {
+                parameters.add(new TsParameter(functionType.parameters.get(i).name, transformedParameterTypes.get(i)));
             }
-            return new TsType.FunctionType(parameters, transformTsType(context, functionType.type, transformer));
+            return new TsType.FunctionType(parameters, returnType);
         }
         return type;
     }
 
+    /**
+     * Returns original list if none of its items was changed.
+     */
+    private static List<TsType> transformTsTypes(Context context, List<TsType> types, Transformer transformer) {
+        List<TsType> result = null;
+        for (int i = 0; i < types.size(); i++) {
+            final TsType type = types.get(i);
+            final TsType transformedType = transformTsType(context, type, transformer);
+            if (result == null && transformedType != type) {
+                result = new ArrayList<>(types.subList(0, i));
+            }
+            if (result != null) {
+                result.add(transformedType);
+            }
+        }
+        return result != null ? result : types;
+    }
+
     public static class Context {
         // currently not needed
     }
 
     public static interface Transformer {
         public TsType transform(Context context, TsType tsType);
+
+        /**
+         * Returns transformer which applies this and then <code>after</code> transformer on each visited type
+         * so multiple transformations can be done in one traversal.
+         */
+        public default Transformer andThen(Transformer after) {
+            Objects.requireNonNull(after);
+            return (context, tsType) -> after.transform(context, transform(context, tsType));
+        }
     }
 
 }
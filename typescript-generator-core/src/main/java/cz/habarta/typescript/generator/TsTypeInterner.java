@@ -0,0 +1,256 @@
+
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.compiler.Symbol;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Hash-consing factory which returns canonical shared instances of structurally equal {@link TsType}s.
+ * Types are interned bottom-up and compared by identity of their (already interned) nested types and referenced {@link Symbol}s,
+ * so interning is not affected by later renaming of symbols and interned types can be compared by reference.
+ * Predefined constants like {@link TsType#String} are canonical instances of their types.
+ * Types of classes not known to this factory (for example types created by extensions) are returned unchanged.
+ * {@link #intern(TsType)} processes nested types in single pass so it should be applied to whole types, not recursively.
+ * This class is thread-safe.
+ */
+public class TsTypeInterner {
+
+    private final ConcurrentHashMap<Key, TsType> internedTypes = new ConcurrentHashMap<>();
+
+    public TsTypeInterner() {
+        for (TsType type : Arrays.asList(TsType.Any, TsType.Boolean, TsType.Number, TsType.String, TsType.Date,
+                TsType.Void, TsType.Undefined, TsType.Null, TsType.Never, TsType.Unknown)) {
+            intern(type);
+        }
+    }
+
+    /**
+     * Returns canonical instance of the type (including its nested types).
+     */
+    public TsType intern(TsType type) {
+        if (type == null) {
+            return null;
+        }
+        final Class<?> cls = type.getClass();
+        if (cls == TsType.BasicType.class) {
+            final TsType.BasicType basicType = (TsType.BasicType) type;
+            return intern(type, basicType.name);
+        }
+        if (cls == TsType.GenericVariableType.class) {
+            final TsType.GenericVariableType genericVariableType = (TsType.GenericVariableType) type;
+            return intern(type, genericVariableType.name);
+        }
+        if (cls == TsType.VerbatimType.class) {
+            final TsType.VerbatimType verbatimType = (TsType.VerbatimType) type;
+            return intern(type, verbatimType.verbatimType);
+        }
+        if (cls == TsType.StringLiteralType.class) {
+            final TsType.StringLiteralType stringLiteralType = (TsType.StringLiteralType) type;
+            return intern(type, stringLiteralType.literal);
+        }
+        if (cls == TsType.NumberLiteralType.class) {
+            final TsType.NumberLiteralType numberLiteralType = (TsType.NumberLiteralType) type;
+            return intern(type, numberLiteralType.literal);
+        }
+        if (cls == TsType.ReferenceType.class) {
+            final TsType.ReferenceType referenceType = (TsType.ReferenceType) type;
+            return intern(type, referenceType.symbol);
+        }
+        if (cls == TsType.EnumReferenceType.class) {
+            final TsType.EnumReferenceType enumReferenceType = (TsType.EnumReferenceType) type;
+            return intern(type, enumReferenceType.symbol);
+        }
+        if (cls == TsType.GenericBasicType.class) {
+            final TsType.GenericBasicType genericBasicType = (TsType.GenericBasicType) type;
+            final List<TsType> typeArguments = internAll(genericBasicType.typeArguments);
+            final TsType candidate = typeArguments == genericBasicType.typeArguments ? type
+                    : new TsType.GenericBasicType(genericBasicType.name, typeArguments);
+            return intern(candidate, genericBasicType.name, typeArguments);
+        }
+        if (cls == TsType.GenericReferenceType.class) {
+            final TsType.GenericReferenceType genericReferenceType = (TsType.GenericReferenceType) type;
+            final List<TsType> typeArguments = internAll(genericReferenceType.typeArguments);
+            final TsType candidate = typeArguments == genericReferenceType.typeArguments ? type
+                    : new TsType.GenericReferenceType(genericReferenceType.symbol, typeArguments);
+            return intern(candidate, genericReferenceType.symbol, typeArguments);
+        }
+        if (cls == TsType.BasicArrayType.class) {
+            final TsType.BasicArrayType basicArrayType = (TsType.BasicArrayType) type;
+            final TsType elementType = intern(basicArrayType.elementType);
+            final TsType candidate = elementType == basicArrayType.elementType ? type
+                    : new TsType.BasicArrayType(elementType);
+            return intern(candidate, elementType);
+        }
+        if (cls == TsType.IndexedArrayType.class) {
+            final TsType.IndexedArrayType indexedArrayType = (TsType.IndexedArrayType) type;
+            final TsType indexType = intern(indexedArrayType.indexType);
+            final TsType elementType = intern(indexedArrayType.elementType);
+            final TsType candidate = indexType == indexedArrayType.indexType && elementType == indexedArrayType.elementType ? type
+                    : new TsType.IndexedArrayType(indexType, elementType);
+            return intern(candidate, indexType, elementType);
+        }
+        if (cls == TsType.MappedType.class) {
+            final TsType.MappedType mappedType = (TsType.MappedType) type;
+            final TsType parameterType = intern(mappedType.parameterType);
+            final TsType valueType = intern(mappedType.type);
+            final TsType candidate = parameterType == mappedType.parameterType && valueType == mappedType.type ? type
+                    : new TsType.MappedType(parameterType, mappedType.questionToken, valueType);
+            return intern(candidate, parameterType, mappedType.questionToken, valueType);
+        }
+        if (cls == TsType.UnionType.class) {
+            final TsType.UnionType unionType = (TsType.UnionType) type;
+            final List<TsType> types = internAll(unionType.types);
+            final TsType candidate = types == unionType.types ? type
+                    : new TsType.UnionType(types);
+            return intern(candidate, types);
+        }
+        if (cls == TsType.IntersectionType.class) {
+            final TsType.IntersectionType intersectionType = (TsType.IntersectionType) type;
+            final List<TsType> types = internAll(intersectionType.types);
+            final TsType candidate = types == intersectionType.types ? type
+                    : new TsType.IntersectionType(types);
+            return intern(candidate, types);
+        }
+        if (cls == TsType.OptionalType.class) {
+            final TsType.OptionalType optionalType = (TsType.OptionalType) type;
+            final TsType nestedType = intern(optionalType.type);
+            final TsType candidate = nestedType == optionalType.type ? type
+                    : new TsType.OptionalType(nestedType);
+            return intern(candidate, nestedType);
+        }
+        if (cls == TsType.ObjectType.class) {
+            final TsType.ObjectType objectType = (TsType.ObjectType) type;
+            final List<Object> components = new ArrayList<>();
+            final List<TsProperty> properties = new ArrayList<>();
+            boolean changed = false;
+            for (TsProperty property : objectType.properties) {
+                final TsType propertyType = intern(property.tsType);
+                changed |= propertyType != property.tsType;
+                properties.add(propertyType != property.tsType ? new TsProperty(property.name, propertyType) : property);
+                components.add(property.name);
+                components.add(propertyType);
+            }
+            final TsType candidate = changed ? new TsType.ObjectType(properties) : type;
+            return intern(candidate, components);
+        }
+        if (cls == TsType.FunctionType.class) {
+            final TsType.FunctionType functionType = (TsType.FunctionType) type;
+            final List<Object> components = new ArrayList<>();
+            final List<TsParameter> parameters = new ArrayList<>();
+            boolean changed = false;
+            for (TsParameter parameter : functionType.parameters) {
+                final TsType parameterType = intern(parameter.tsType);
+                changed |= parameterType != parameter.tsType;
+                parameters.add(parameterType != parameter.tsType ? new TsParameter(parameter.name, parameterType) : parameter);
+                components.add(parameter.name);
+                components.add(parameterType);
+            }
+            final TsType returnType = intern(functionType.type);
+            changed |= returnType != functionType.type;
+            components.add(returnType);
+            final TsType candidate = changed ? new TsType.FunctionType(parameters, returnType) : type;
+            return intern(candidate, components);
+        }
+        return type;
+    }
+
+    public int size() {
+        return internedTypes.size();
+    }
+
+    private List<TsType> internAll(List<TsType> types) {
+        List<TsType> result = null;
+        for (int i = 0; i < types.size(); i++) {
+            final TsType type = types.get(i);
+            final TsType internedType = intern(type);
+            if (internedType != type && result == null) {
+                result = new ArrayList<>(types.subList(0, i));
+            }
+            if (result != null) {
+                result.add(internedType);
+            }
+        }
+        return result != null ? result : types;
+    }
+
+    private TsType intern(TsType candidate, Object... components) {
+        final Key key = new Key(candidate.getClass(), components);
+        final TsType existing = internedTypes.putIfAbsent(key, candidate);
+        return existing != null ? existing : candidate;
+    }
+
+    /**
+     * Class of interned type with its components.
+     * Nested types and symbols are compared by identity, other components (names, literals) by equals.
+     * Lists of nested types are flattened so they are also compared element by element.
+     */
+    private static class Key {
+        private final Class<?> cls;
+        private final Object[] components;
+        private final int hashCode;
+
+        public Key(Class<?> cls, Object[] components) {
+            this.cls = cls;
+            this.components = flatten(components);
+            int hash = cls.hashCode();
+            for (Object component : this.components) {
+                hash = 31 * hash + (isIdentityComponent(component) ? System.identityHashCode(component) : Objects.hashCode(component));
+            }
+            this.hashCode = hash;
+        }
+
+        private static Object[] flatten(Object[] components) {
+            final List<Object> result = new ArrayList<>();
+            for (Object component : components) {
+                if (component instanceof List) {
+                    final List<?> list = (List<?>) component;
+                    // list size distinguishes for example `A<B, C>` from `A<B>` followed by other component
+                    result.add(list.size());
+                    result.addAll(list);
+                } else {
+                    result.add(component);
+                }
+            }
+            return result.toArray();
+        }
+
+        private static boolean isIdentityComponent(Object component) {
+            return component instanceof TsType || component instanceof Symbol;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            if (hashCode != other.hashCode || cls != other.cls || components.length != other.components.length) {
+                return false;
+            }
+            for (int i = 0; i < components.length; i++) {
+                final Object component = components[i];
+                final Object otherComponent = other.components[i];
+                if (isIdentityComponent(component) || isIdentityComponent(otherComponent)
+                        ? component != otherComponent
+                        : !Objects.equals(component, otherComponent)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+}
@@ -9,6 +9,7 @@ import cz.habarta.typescript.generator.emitter.NpmPackageJsonEmitter;
 import cz.habarta.typescript.generator.emitter.TsModel;
 import cz.habarta.typescript.generator.parser.GsonParser;
 import cz.habarta.typescript.generator.parser.Jackson1Parser;
+import cz.habarta.typescript.generator.parser.Jackson2BytecodeParser;
 import cz.habarta.typescript.generator.parser.Jackson2Parser;
 import cz.habarta.typescript.generator.parser.Model;
 import cz.habarta.typescript.generator.parser.ModelParser;
@@ -80,6 +81,11 @@ public class TypeScriptGenerator {
 
     private void generateTypeScript(Input input, Output output, boolean forceExportKeyword, int initialIndentationLevel) {
         final Model model = getModelParser().parseModel(input.getSourceTypes());
+        if (getCommonTypeProcessor() instanceof CachingTypeProcessor) {
+            final CachingTypeProcessor cachingTypeProcessor = (CachingTypeProcessor) getCommonTypeProcessor();
+            getLogger().verbose(String.format("Type processor cache: %d hits, %d misses, %d entries",
+                    cachingTypeProcessor.getHits(), cachingTypeProcessor.getMisses(), cachingTypeProcessor.getSize()));
+        }
         final TsModel tsModel = getModelCompiler().javaToTypeScript(model);
         generateTypeScript(tsModel, output, forceExportKeyword, initialIndentationLevel);
         generateInfoJson(tsModel, output);
@@ -162,7 +168,7 @@ public class TypeScriptGenerator {
         processors.addAll(specificTypeProcessors);
         processors.add(new DefaultTypeProcessor());
         final TypeProcessor typeProcessor = new TypeProcessor.Chain(processors);
-        return typeProcessor;
+        return settings.disableTypeProcessorCache ? typeProcessor : new CachingTypeProcessor(typeProcessor, settings);
     }
 
     public ModelParser getModelParser() {
@@ -185,7 +191,9 @@ public class TypeScriptGenerator {
             case jackson1:
                 return new Jackson1Parser.Factory();
             case jackson2:
-                return new Jackson2Parser.Jackson2ParserFactory();
+                return settings.bytecodeParsing
+                        ? new Jackson2BytecodeParser.Factory()
+                        : new Jackson2Parser.Jackson2ParserFactory();
             case jaxb:
                 return new Jackson2Parser.JaxbParserFactory();
             case gson:
@@ -0,0 +1,74 @@
+
+package cz.habarta.typescript.generator.compiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+
+/**
+ * Precompiled rules for getting custom TypeScript names for Java classes without need of script engine.
+ * Each rule has format <code>regex:replacement</code> (separated by the last colon).
+ * Regular expression is matched against whole Java class name (for example <code>com.example.Outer$Inner</code>)
+ * and replacement can refer to capturing groups (for example <code>$1</code>).
+ * The first matching rule wins, if no rule matches <code>null</code> is returned so the default name is used.
+ */
+public class CustomTypeNamingRules implements SymbolTable.CustomTypeNamingFunction {
+
+    private final List<Rule> rules;
+
+    public CustomTypeNamingRules(List<String> rules) {
+        final List<Rule> compiledRules = new ArrayList<>();
+        if (rules != null) {
+            for (String rule : rules) {
+                compiledRules.add(Rule.parse(rule));
+            }
+        }
+        this.rules = Collections.unmodifiableList(compiledRules);
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    @Override
+    public String getName(String className, String classSimpleName) {
+        for (Rule rule : rules) {
+            final Matcher matcher = rule.pattern.matcher(className);
+            if (matcher.matches()) {
+                // replacement is built from whole match (`replaceFirst` would search again and could match shorter prefix)
+                final StringBuffer sb = new StringBuffer();
+                matcher.appendReplacement(sb, rule.replacement);
+                matcher.appendTail(sb);
+                return sb.toString();
+            }
+        }
+        return null;
+    }
+
+    private static class Rule {
+        public final Pattern pattern;
+        public final String replacement;
+
+        private Rule(Pattern pattern, String replacement) {
+            this.pattern = pattern;
+            this.replacement = replacement;
+        }
+
+        public static Rule parse(String rule) {
+            final int separator = rule.lastIndexOf(':');
+            if (separator == -1) {
+                throw new RuntimeException("Invalid custom type naming rule format: " + rule);
+            }
+            try {
+                return new Rule(Pattern.compile(rule.substring(0, separator).trim()), rule.substring(separator + 1).trim());
+            } catch (PatternSyntaxException e) {
+                throw new RuntimeException(String.format("Invalid regular expression in custom type naming rule '%s'", rule), e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+
+package cz.habarta.typescript.generator.compiler;
+
+import cz.habarta.typescript.generator.TsType;
+import cz.habarta.typescript.generator.emitter.TsBeanModel;
+import cz.habarta.typescript.generator.emitter.TsModel;
+import cz.habarta.typescript.generator.emitter.TsPropertyModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Resolves properties inherited from parent classes and implemented interfaces of beans in one {@link TsModel}.
+ * Properties of each ancestor are resolved only once and reused by all its descendants.
+ * Instance must not be used after beans in the model were changed.
+ */
+class InheritedPropertiesResolver {
+
+    private final SymbolTable symbolTable;
+    private final TsModel tsModel;
+    private final Map<TsBeanModel, Map<String, TsType>> allProperties = new IdentityHashMap<>();
+    private final Map<TsBeanModel, List<TsPropertyModel>> allInterfaceProperties = new IdentityHashMap<>();
+
+    public InheritedPropertiesResolver(SymbolTable symbolTable, TsModel tsModel) {
+        this.symbolTable = symbolTable;
+        this.tsModel = tsModel;
+    }
+
+    /**
+     * Returns types of properties declared in parents and their ancestors (by property name).
+     */
+    public Map<String, TsType> getInheritedProperties(List<TsType> parents) {
+        final Map<String, TsType> properties = new LinkedHashMap<>();
+        for (TsType parentType : parents) {
+            final TsBeanModel parent = getBean(parentType);
+            if (parent != null) {
+                properties.putAll(getAllProperties(parent));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Returns properties declared in interfaces and interfaces they extend (including duplicates).
+     */
+    public List<TsPropertyModel> getImplementedProperties(List<TsType> interfaces) {
+        final List<TsPropertyModel> properties = new ArrayList<>();
+        for (TsType aInterface : interfaces) {
+            final TsBeanModel bean = getBean(aInterface);
+            if (bean != null) {
+                properties.addAll(getAllInterfaceProperties(bean));
+            }
+        }
+        return properties;
+    }
+
+    private Map<String, TsType> getAllProperties(TsBeanModel bean) {
+        Map<String, TsType> properties = allProperties.get(bean);
+        if (properties == null) {
+            final Map<String, TsType> result = getInheritedProperties(bean.getAllParents());
+            for (TsPropertyModel property : bean.getProperties()) {
+                result.put(property.getName(), property.getTsType());
+            }
+            properties = Collections.unmodifiableMap(result);
+            allProperties.put(bean, properties);
+        }
+        return properties;
+    }
+
+    private List<TsPropertyModel> getAllInterfaceProperties(TsBeanModel bean) {
+        List<TsPropertyModel> properties = allInterfaceProperties.get(bean);
+        if (properties == null) {
+            final List<TsPropertyModel> result = getImplementedProperties(bean.getExtendsList());
+            result.addAll(bean.getProperties());
+            properties = Collections.unmodifiableList(result);
+            allInterfaceProperties.put(bean, properties);
+        }
+        return properties;
+    }
+
+    private TsBeanModel getBean(TsType type) {
+        if (type instanceof TsType.ReferenceType) {
+            final TsType.ReferenceType referenceType = (TsType.ReferenceType) type;
+            return tsModel.getBean(symbolTable.getSymbolClass(referenceType.symbol));
+        }
+        return null;
+    }
+
+}
@@ -10,6 +10,7 @@ import cz.habarta.typescript.generator.Settings;
 import cz.habarta.typescript.generator.TsParameter;
 import cz.habarta.typescript.generator.TsProperty;
 import cz.habarta.typescript.generator.TsType;
+import cz.habarta.typescript.generator.TsTypeInterner;
 import cz.habarta.typescript.generator.TypeProcessor;
 import cz.habarta.typescript.generator.TypeScriptGenerator;
 import cz.habarta.typescript.generator.emitter.EmitterExtension;
@@ -64,6 +65,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -145,12 +149,14 @@ public class ModelCompiler {
         // enums
         tsModel = applyExtensionTransformers(symbolTable, tsModel, TransformationPhase.BeforeEnums, extensionTransformers);
         tsModel = addEnumValuesToJavadoc(tsModel);
+        final List<TsType.Transformer> propertyTypeTransformers = new ArrayList<>();
+        final Set<TsAliasModel> inlinedAliases = new LinkedHashSet<>();
         if (!settings.areDefaultStringEnumsOverriddenByExtension()) {
             if (settings.mapEnum == null || settings.mapEnum == EnumMapping.asUnion || settings.mapEnum == EnumMapping.asInlineUnion) {
                 tsModel = transformEnumsToUnions(tsModel);
             }
             if (settings.mapEnum == EnumMapping.asInlineUnion) {
-                tsModel = inlineEnums(tsModel, symbolTable);
+                propertyTypeTransformers.add(createInlineEnumsTransformer(symbolTable, tsModel, inlinedAliases));
             }
             if (settings.mapEnum == EnumMapping.asNumberBasedEnum) {
                 tsModel = transformEnumsToNumberBasedEnum(tsModel);
@@ -158,13 +164,25 @@ public class ModelCompiler {
         }
 
         // after enum transformations transform Maps with rest of the enums (not unions) used in keys
-        tsModel = transformNonStringEnumKeyMaps(symbolTable, tsModel);
+        propertyTypeTransformers.add(createNonStringEnumKeyMapsTransformer(symbolTable, tsModel));
 
         // tagged unions
-        tsModel = createAndUseTaggedUnions(symbolTable, tsModel);
+        if (!settings.disableTaggedUnions) {
+            tsModel = createTaggedUnions(symbolTable, tsModel);
+            propertyTypeTransformers.add(createTaggedUnionsTransformer(symbolTable));
+        }
+
+        // inline enums, enum key maps and tagged unions are applied in one pass (to each type in this order)
+        tsModel = transformBeanPropertyTypes(tsModel, propertyTypeTransformers.stream().reduce(TsType.Transformer::andThen).get());
+        tsModel = tsModel.withoutTypeAliases(new ArrayList<>(inlinedAliases));
 
         // optional properties
         tsModel = transformOptionalProperties(symbolTable, tsModel);
+        if (settings.internTsTypes) {
+            final TsTypeInterner interner = new TsTypeInterner();
+            // interner processes nested types itself so it is applied to whole types only once
+            tsModel = mapBeanPropertyTypes(tsModel, (context, type) -> interner.intern(type));
+        }
 
         tsModel = applyExtensionTransformers(symbolTable, tsModel, TransformationPhase.BeforeSymbolResolution, extensionTransformers);
         symbolTable.resolveSymbolNames();
@@ -213,15 +231,28 @@ public class ModelCompiler {
 
     private TsModel processModel(SymbolTable symbolTable, Model model) {
         final Map<Type, List<BeanModel>> children = createChildrenMap(model);
-        final List<TsBeanModel> beans = new ArrayList<>();
-        for (BeanModel bean : model.getBeans()) {
-            beans.add(processBean(symbolTable, model, children, bean));
+        final List<TsBeanModel> beans;
+        final List<TsEnumModel> enums;
+        if (settings.parallelCompilation) {
+            final ForkJoinPool pool = new ForkJoinPool(settings.getParallelism());
+            try {
+                beans = processInParallel(pool, model.getBeans(), bean -> processBean(symbolTable, model, children, bean));
+                enums = processInParallel(pool, model.getEnums(), enumModel -> processEnum(symbolTable, enumModel));
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            beans = new ArrayList<>();
+            for (BeanModel bean : model.getBeans()) {
+                beans.add(processBean(symbolTable, model, children, bean));
+            }
+            enums = new ArrayList<>();
+            for (EnumModel enumModel : model.getEnums()) {
+                enums.add(processEnum(symbolTable, enumModel));
+            }
         }
-        final List<TsEnumModel> enums = new ArrayList<>();
         final List<TsEnumModel> stringEnums = new ArrayList<>();
-        for (EnumModel enumModel : model.getEnums()) {
-            final TsEnumModel tsEnumModel = processEnum(symbolTable, enumModel);
-            enums.add(tsEnumModel);
+        for (TsEnumModel tsEnumModel : enums) {
             if (tsEnumModel.getKind() == EnumKind.StringBased) {
                 stringEnums.add(tsEnumModel);
             }
@@ -229,6 +260,26 @@ public class ModelCompiler {
         return new TsModel().withBeans(beans).withEnums(enums).withOriginalStringEnums(stringEnums);
     }
 
+    /**
+     * Processes items in parallel, results are in the same order as items.
+     */
+    private static <S, T> List<T> processInParallel(ForkJoinPool pool, List<S> items, Function<S, T> processor) {
+        try {
+            return pool.submit(() -> items.parallelStream().map(processor).collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
     private Map<Type, List<BeanModel>> createChildrenMap(Model model) {
         final Map<Type, List<BeanModel>> children = new LinkedHashMap<>();
         for (BeanModel bean : model.getBeans()) {
@@ -439,9 +490,10 @@ public class ModelCompiler {
     }
 
     private TsModel removeInheritedProperties(SymbolTable symbolTable, TsModel tsModel) {
+        final InheritedPropertiesResolver resolver = new InheritedPropertiesResolver(symbolTable, tsModel);
         final List<TsBeanModel> beans = new ArrayList<>();
         for (TsBeanModel bean : tsModel.getBeans()) {
-            final Map<String, TsType> inheritedPropertyTypes = getInheritedProperties(symbolTable, tsModel, bean.getAllParents());
+            final Map<String, TsType> inheritedPropertyTypes = resolver.getInheritedProperties(bean.getAllParents());
             final List<TsPropertyModel> properties = new ArrayList<>();
             for (TsPropertyModel property : bean.getProperties()) {
                 if (property.isOwnProperty() || !Objects.equals(property.getTsType(), inheritedPropertyTypes.get(property.getName()))) {
@@ -454,6 +506,7 @@ public class ModelCompiler {
     }
 
     private TsModel addImplementedProperties(SymbolTable symbolTable, TsModel tsModel) {
+        final InheritedPropertiesResolver resolver = new InheritedPropertiesResolver(symbolTable, tsModel);
         final List<TsBeanModel> beans = new ArrayList<>();
         for (TsBeanModel bean : tsModel.getBeans()) {
             if (bean.isClass()) {
@@ -463,9 +516,9 @@ public class ModelCompiler {
                 for (TsPropertyModel property : bean.getProperties()) {
                     classPropertyNames.add(property.getName());
                 }
-                classPropertyNames.addAll(getInheritedProperties(symbolTable, tsModel, bean.getExtendsList()).keySet());
+                classPropertyNames.addAll(resolver.getInheritedProperties(bean.getExtendsList()).keySet());
 
-                final List<TsPropertyModel> implementedProperties = getImplementedProperties(symbolTable, tsModel, bean.getImplementsList());
+                final List<TsPropertyModel> implementedProperties = resolver.getImplementedProperties(bean.getImplementsList());
                 Collections.reverse(implementedProperties);
                 for (TsPropertyModel implementedProperty : implementedProperties) {
                     if (!classPropertyNames.contains(implementedProperty.getName())) {
@@ -483,29 +536,7 @@ public class ModelCompiler {
     }
 
     public static Map<String, TsType> getInheritedProperties(SymbolTable symbolTable, TsModel tsModel, List<TsType> parents) {
-        final Map<String, TsType> properties = new LinkedHashMap<>();
-        for (TsType parentType : parents) {
-            final TsBeanModel parent = tsModel.getBean(getOriginClass(symbolTable, parentType));
-            if (parent != null) {
-                properties.putAll(getInheritedProperties(symbolTable, tsModel, parent.getAllParents()));
-                for (TsPropertyModel property : parent.getProperties()) {
-                    properties.put(property.getName(), property.getTsType());
-                }
-            }
-        }
-        return properties;
-    }
-
-    private static List<TsPropertyModel> getImplementedProperties(SymbolTable symbolTable, TsModel tsModel, List<TsType> interfaces) {
-        final List<TsPropertyModel> properties = new ArrayList<>();
-        for (TsType aInterface : interfaces) {
-            final TsBeanModel bean = tsModel.getBean(getOriginClass(symbolTable, aInterface));
-            if (bean != null) {
-                properties.addAll(getImplementedProperties(symbolTable, tsModel, bean.getExtendsList()));
-                properties.addAll(bean.getProperties());
-            }
-        }
-        return properties;
+        return new InheritedPropertiesResolver(symbolTable, tsModel).getInheritedProperties(parents);
     }
 
     private Symbol createRestResponseType(SymbolTable symbolTable, TsModel tsModel) {
@@ -803,9 +834,8 @@ public class ModelCompiler {
         return tsModel.withRemovedEnums(stringEnums).withTypeAliases(new ArrayList<>(typeAliases));
     }
 
-    private TsModel inlineEnums(final TsModel tsModel, final SymbolTable symbolTable) {
-        final Set<TsAliasModel> inlinedAliases = new LinkedHashSet<>();
-        final TsModel newTsModel = transformBeanPropertyTypes(tsModel, new TsType.Transformer() {
+    private static TsType.Transformer createInlineEnumsTransformer(final SymbolTable symbolTable, final TsModel tsModel, final Set<TsAliasModel> inlinedAliases) {
+        return new TsType.Transformer() {
             @Override
             public TsType transform(TsType.Context context, TsType tsType) {
                 if (tsType instanceof TsType.EnumReferenceType) {
@@ -817,8 +847,7 @@ public class ModelCompiler {
                 }
                 return tsType;
             }
-        });
-        return newTsModel.withoutTypeAliases(new ArrayList<>(inlinedAliases));
+        };
     }
 
     private TsModel transformEnumsToNumberBasedEnum(TsModel tsModel) {
@@ -834,8 +863,8 @@ public class ModelCompiler {
         return tsModel.withRemovedEnums(stringEnums).withAddedEnums(new ArrayList<>(enums));
     }
 
-    private TsModel transformNonStringEnumKeyMaps(SymbolTable symbolTable, TsModel tsModel) {
-        return transformBeanPropertyTypes(tsModel, new TsType.Transformer() {
+    private TsType.Transformer createNonStringEnumKeyMapsTransformer(SymbolTable symbolTable, TsModel tsModel) {
+        return new TsType.Transformer() {
             @Override
             public TsType transform(TsType.Context context, TsType tsType) {
                 if (tsType instanceof TsType.MappedType) {
@@ -856,7 +885,7 @@ public class ModelCompiler {
                 }
                 return tsType;
             }
-        });
+        };
     }
 
     private static TsModel addEnumValuesToJavadoc(TsModel tsModel) {
@@ -890,11 +919,7 @@ public class ModelCompiler {
         }
     }
 
-    private TsModel createAndUseTaggedUnions(final SymbolTable symbolTable, TsModel tsModel) {
-        if (settings.disableTaggedUnions) {
-            return tsModel;
-        }
-        // create tagged unions
+    private static TsModel createTaggedUnions(final SymbolTable symbolTable, TsModel tsModel) {
         final List<TsBeanModel> beans = new ArrayList<>();
         final LinkedHashSet<TsAliasModel> typeAliases = new LinkedHashSet<>(tsModel.getTypeAliases());
         for (TsBeanModel bean : tsModel.getBeans()) {
@@ -924,9 +949,11 @@ public class ModelCompiler {
                 beans.add(bean);
             }
         }
-        final TsModel modelWithTaggedUnions = tsModel.withBeans(beans).withTypeAliases(new ArrayList<>(typeAliases));
-        // use tagged unions
-        final TsModel modelWithUsedTaggedUnions = transformBeanPropertyTypes(modelWithTaggedUnions, new TsType.Transformer() {
+        return tsModel.withBeans(beans).withTypeAliases(new ArrayList<>(typeAliases));
+    }
+
+    private static TsType.Transformer createTaggedUnionsTransformer(final SymbolTable symbolTable) {
+        return new TsType.Transformer() {
             @Override
             public TsType transform(TsType.Context context, TsType tsType) {
                 final Class<?> cls = getOriginClass(symbolTable, tsType);
@@ -943,8 +970,7 @@ public class ModelCompiler {
                 }
                 return tsType;
             }
-        });
-        return modelWithUsedTaggedUnions;
+        };
     }
 
     private TsModel transformOptionalProperties(final SymbolTable symbolTable, TsModel tsModel) {
@@ -1033,26 +1059,54 @@ public class ModelCompiler {
         orderedBeans.add(bean);
     }
 
+    /**
+     * Transforms types of properties, method parameters and return types of all beans.
+     * Beans, properties and methods which were not changed by the transformer are kept.
+     */
     private static TsModel transformBeanPropertyTypes(TsModel tsModel, TsType.Transformer transformer) {
+        return mapBeanPropertyTypes(tsModel, (context, type) -> TsType.transformTsType(context, type, transformer));
+    }
+
+    /**
+     * Applies mapper to whole (not nested) types of bean properties, method parameters and return types.
+     */
+    private static TsModel mapBeanPropertyTypes(TsModel tsModel, TsType.Transformer mapper) {
         final List<TsBeanModel> newBeans = new ArrayList<>();
         for (TsBeanModel bean : tsModel.getBeans()) {
             final TsType.Context context = new TsType.Context();
+            boolean changed = false;
             final List<TsPropertyModel> newProperties = new ArrayList<>();
             for (TsPropertyModel property : bean.getProperties()) {
-                final TsType newType = TsType.transformTsType(context, property.getTsType(), transformer);
-                newProperties.add(property.setTsType(newType));
+                final TsType newType = mapper.transform(context, property.getTsType());
+                if (newType != property.getTsType()) {
+                    newProperties.add(property.setTsType(newType));
+                    changed = true;
+                } else {
+                    newProperties.add(property);
+                }
             }
             final List<TsMethodModel> newMethods = new ArrayList<>();
             for (TsMethodModel method : bean.getMethods()) {
+                boolean methodChanged = false;
                 final List<TsParameterModel> newParameters = new ArrayList<>();
                 for (TsParameterModel parameter : method.getParameters()) {
-                    final TsType newParameterType = TsType.transformTsType(context, parameter.getTsType(), transformer);
-                    newParameters.add(new TsParameterModel(parameter.getAccessibilityModifier(), parameter.getName(), newParameterType));
+                    final TsType newParameterType = mapper.transform(context, parameter.getTsType());
+                    if (newParameterType != parameter.getTsType()) {
+                        newParameters.add(new TsParameterModel(parameter.getAccessibilityModifier(), parameter.getName(), newParameterType));
+                        methodChanged = true;
+                    } else {
+                        newParameters.add(parameter);
+                    }
+                }
+                final TsType newReturnType = mapper.transform(context, method.getReturnType());
+                if (methodChanged || newReturnType != method.getReturnType()) {
+                    newMethods.add(new TsMethodModel(method.getName(), method.getModifiers(), method.getTypeParameters(), newParameters, newReturnType, method.getBody(), method.getComments()));
+                    changed = true;
+                } else {
+                    newMethods.add(method);
                 }
-                final TsType newReturnType = TsType.transformTsType(context, method.getReturnType(), transformer);
-                newMethods.add(new TsMethodModel(method.getName(), method.getModifiers(), method.getTypeParameters(), newParameters, newReturnType, method.getBody(), method.getComments()));
             }
-            newBeans.add(bean.withProperties(newProperties).withMethods(newMethods));
+            newBeans.add(changed ? bean.withProperties(newProperties).withMethods(newMethods) : bean);
         }
         return tsModel.withBeans(newBeans);
     }
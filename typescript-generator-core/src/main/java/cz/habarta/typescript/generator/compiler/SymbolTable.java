@@ -7,11 +7,15 @@ import cz.habarta.typescript.generator.util.Pair;
 import cz.habarta.typescript.generator.util.Utils;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import javax.script.Invocable;
 import javax.script.ScriptEngine;
@@ -24,13 +28,15 @@ import jdk.nashorn.api.scripting.ScriptObjectMirror;
 
 /**
  * Name table.
+ * This class is thread-safe so it can be shared by parallel compilation.
  */
 public class SymbolTable {
 
     private final Settings settings;
     private final LinkedHashMap<Pair<Class<?>, String>, Symbol> symbols = new LinkedHashMap<>();
     private final LinkedHashMap<String, Symbol> syntheticSymbols = new LinkedHashMap<>();
-    private CustomTypeNamingFunction customTypeNamingFunction;
+    private final IdentityHashMap<Symbol, Pair<Class<?>, String>> symbolKeys = new IdentityHashMap<>();  // reverse index of `symbols`
+    private final Map<Class<?>, String> mappedNamespacedNames = new HashMap<>();
 
     public SymbolTable(Settings settings) {
         this.settings = settings;
@@ -40,29 +46,28 @@ public class SymbolTable {
         return getSymbol(cls, null);
     }
 
-    public Symbol getSymbol(Class<?> cls, String suffix) {
+    public synchronized Symbol getSymbol(Class<?> cls, String suffix) {
         final String suffixString = suffix != null ? suffix : "";
         final Pair<Class<?>, String> key = Pair.<Class<?>, String>of(cls, suffixString);
-        if (!symbols.containsKey(key)) {
-            symbols.put(key, new Symbol("$" + cls.getName().replace('.', '$') + suffixString + "$"));
+        Symbol symbol = symbols.get(key);
+        if (symbol == null) {
+            symbol = new Symbol("$" + cls.getName().replace('.', '$') + suffixString + "$");
+            symbols.put(key, symbol);
+            symbolKeys.put(symbol, key);
         }
-        return symbols.get(key);
+        return symbol;
     }
 
-    public Symbol hasSymbol(Class<?> cls, String suffix) {
+    public synchronized Symbol hasSymbol(Class<?> cls, String suffix) {
         return symbols.get(Pair.<Class<?>, String>of(cls, suffix));
     }
 
-    public Class<?> getSymbolClass(Symbol symbol) {
-        for (Map.Entry<Pair<Class<?>, String>, Symbol> entry : symbols.entrySet()) {
-            if (entry.getValue() == symbol) {
-                return entry.getKey().getValue1();
-            }
-        }
-        return null;
+    public synchronized Class<?> getSymbolClass(Symbol symbol) {
+        final Pair<Class<?>, String> key = symbolKeys.get(symbol);
+        return key != null ? key.getValue1() : null;
     }
 
-    public Symbol getSyntheticSymbol(String name) {
+    public synchronized Symbol getSyntheticSymbol(String name) {
         if (!syntheticSymbols.containsKey(name)) {
             syntheticSymbols.put(name, new Symbol(name));
         }
@@ -73,18 +78,17 @@ public class SymbolTable {
         return getSyntheticSymbol(name + (suffix != null ? suffix : ""));
     }
 
-    public Symbol addSuffixToSymbol(Symbol symbol, String suffix) {
+    public synchronized Symbol addSuffixToSymbol(Symbol symbol, String suffix) {
         // try symbols
-        for (Map.Entry<Pair<Class<?>, String>, Symbol> entry : symbols.entrySet()) {
-            if (entry.getValue() == symbol) {
-                return getSymbol(entry.getKey().getValue1(), entry.getKey().getValue2() + suffix);
-            }
+        final Pair<Class<?>, String> key = symbolKeys.get(symbol);
+        if (key != null) {
+            return getSymbol(key.getValue1(), key.getValue2() + suffix);
         }
         // syntheticSymbols
         return getSyntheticSymbol(symbol.getFullName() + suffix);
     }
 
-    public void resolveSymbolNames() {
+    public synchronized void resolveSymbolNames() {
         final Map<String, List<Class<?>>> names = new LinkedHashMap<>();
         for (Map.Entry<Pair<Class<?>, String>, Symbol> entry : symbols.entrySet()) {
             final Class<?> cls = entry.getKey().getValue1();
@@ -130,29 +134,37 @@ public class SymbolTable {
         symbol.setFullName(module, namespacedName + suffixString);
     }
 
-    public String getMappedNamespacedName(Class<?> cls) {
+    public synchronized String getMappedNamespacedName(Class<?> cls) {
         if (cls == null) {
             return null;
         }
+        String name = mappedNamespacedNames.get(cls);
+        if (name == null) {
+            name = computeMappedNamespacedName(cls);
+            mappedNamespacedNames.put(cls, name);
+        }
+        return name;
+    }
+
+    private String computeMappedNamespacedName(Class<?> cls) {
         final String customName = settings.customTypeNaming.get(cls.getName());
         if (customName != null) {
             return customName;
         }
+        final String ruleName = settings.getCustomTypeNamingRules().getName(cls.getName(), cls.getSimpleName());
+        if (ruleName != null) {
+            return ruleName;
+        }
         if (settings.customTypeNamingFunctionImpl != null || settings.customTypeNamingFunction != null) {
-            try {
-                final CustomTypeNamingFunction function;
-                if (settings.customTypeNamingFunctionImpl != null) {
-                    function = settings.customTypeNamingFunctionImpl;
-                } else {
-                    function = getCustomTypeNamingFunction();
-                }
-
-                final Object getNameResult = function.getName(cls.getName(), cls.getSimpleName());
-                if (getNameResult != null && !isUndefined(getNameResult)) {
-                    return (String) getNameResult;
-                }
-            } catch (ScriptException e) {
-                throw new RuntimeException("Evaluating 'customTypeNamingFunction' failed.", e);
+            final CustomTypeNamingFunction function;
+            if (settings.customTypeNamingFunctionImpl != null) {
+                function = settings.customTypeNamingFunctionImpl;
+            } else {
+                function = settings.getCustomTypeNamingFunctionScript();
+            }
+            final Object getNameResult = function.getName(cls.getName(), cls.getSimpleName());
+            if (getNameResult != null && !isUndefined(getNameResult)) {
+                return (String) getNameResult;
             }
         }
         String simpleName = cls.getSimpleName();
@@ -208,27 +220,61 @@ public class SymbolTable {
         return ScriptObjectMirror.isUndefined(variable);
     }
 
-    private CustomTypeNamingFunction getCustomTypeNamingFunction() throws ScriptException {
-        if (customTypeNamingFunction == null) {
-            final String engineMimeType = "application/javascript";
-            final ScriptEngineManager manager = new ScriptEngineManager();
+    /**
+     * Compiles JavaScript function specified using {@link Settings#customTypeNamingFunction} parameter.
+     * Results of returned function are memoized.
+     */
+    public static CustomTypeNamingFunction createCustomTypeNamingFunction(String customTypeNamingFunction) {
+        try {
+            return new MemoizedTypeNamingFunction(createScriptTypeNamingFunction(customTypeNamingFunction));
+        } catch (ScriptException e) {
+            throw new RuntimeException("Evaluating 'customTypeNamingFunction' failed.", e);
+        }
+    }
+
+    private static CustomTypeNamingFunction createScriptTypeNamingFunction(String customTypeNamingFunction) throws ScriptException {
+        final String engineMimeType = "application/javascript";
+        final ScriptEngineManager manager = new ScriptEngineManager();
 
-            // getting ScriptEngine from manager doesn't work in Maven plugin on Java 9
-//            final ScriptEngine engine = manager.getEngineByMimeType(engineMimeType);
-            final ScriptEngine engine = new NashornScriptEngineFactory().getScriptEngine();
+        // getting ScriptEngine from manager doesn't work in Maven plugin on Java 9
+//        final ScriptEngine engine = manager.getEngineByMimeType(engineMimeType);
+        final ScriptEngine engine = new NashornScriptEngineFactory().getScriptEngine();
 
-            if (engine == null) {
-                TypeScriptGenerator.getLogger().error(String.format("Script engine for '%s' MIME type not found. Available engines: %s", engineMimeType, manager.getEngineFactories().size()));
-                for (ScriptEngineFactory factory : manager.getEngineFactories()) {
-                    TypeScriptGenerator.getLogger().info(String.format("  %s %s - MIME types: %s", factory.getEngineName(), factory.getEngineVersion(), factory.getMimeTypes()));
-                }
-                throw new RuntimeException("Cannot evaluate function specified using 'customTypeNamingFunction' parameter. See log for details.");
+        if (engine == null) {
+            TypeScriptGenerator.getLogger().error(String.format("Script engine for '%s' MIME type not found. Available engines: %s", engineMimeType, manager.getEngineFactories().size()));
+            for (ScriptEngineFactory factory : manager.getEngineFactories()) {
+                TypeScriptGenerator.getLogger().info(String.format("  %s %s - MIME types: %s", factory.getEngineName(), factory.getEngineVersion(), factory.getMimeTypes()));
             }
-            engine.eval("var getName = " + settings.customTypeNamingFunction);
-            final Invocable invocable = (Invocable) engine;
-            customTypeNamingFunction = invocable.getInterface(CustomTypeNamingFunction.class);
+            throw new RuntimeException("Cannot evaluate function specified using 'customTypeNamingFunction' parameter. See log for details.");
         }
-        return customTypeNamingFunction;
+        engine.eval("var getName = " + customTypeNamingFunction);
+        final Invocable invocable = (Invocable) engine;
+        return invocable.getInterface(CustomTypeNamingFunction.class);
+    }
+
+    /**
+     * Remembers results of script function so it is invoked only once for each class.
+     * Script engine is not thread-safe so invocations are synchronized.
+     */
+    private static class MemoizedTypeNamingFunction implements CustomTypeNamingFunction {
+
+        private final CustomTypeNamingFunction function;
+        private final Map<Pair<String, String>, Optional<String>> names = new ConcurrentHashMap<>();
+
+        public MemoizedTypeNamingFunction(CustomTypeNamingFunction function) {
+            this.function = function;
+        }
+
+        @Override
+        public Object getName(String className, String classSimpleName) {
+            return names.computeIfAbsent(Pair.of(className, classSimpleName), key -> {
+                synchronized (this) {
+                    final Object name = function.getName(className, classSimpleName);
+                    return name != null && !isUndefined(name) ? Optional.of((String) name) : Optional.empty();
+                }
+            }).orElse(null);
+        }
+
     }
 
     /**
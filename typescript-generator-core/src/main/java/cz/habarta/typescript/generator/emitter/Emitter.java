@@ -10,6 +10,7 @@ import cz.habarta.typescript.generator.TypeScriptGenerator;
 import cz.habarta.typescript.generator.TypeScriptOutputKind;
 import cz.habarta.typescript.generator.compiler.EnumMemberModel;
 import cz.habarta.typescript.generator.compiler.ModelCompiler;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Writer;
 import java.text.SimpleDateFormat;
@@ -22,6 +23,8 @@ import java.util.stream.Collectors;
 
 public class Emitter implements EmitterExtension.Writer {
 
+    public static final String FileCommentPrefix = "// Generated using typescript-generator version " + TypeScriptGenerator.Version + " on ";
+
     private final Settings settings;
     private Writer writer;
     private boolean forceExportKeyword;
@@ -32,7 +35,7 @@ public class Emitter implements EmitterExtension.Writer {
     }
 
     public void emit(TsModel model, Writer output, String outputName, boolean closeOutput, boolean forceExportKeyword, int initialIndentationLevel) {
-        this.writer = output;
+        this.writer = settings.outputBufferSize > 0 ? new BufferedWriter(output, settings.outputBufferSize) : output;
         this.forceExportKeyword = forceExportKeyword;
         this.indent = initialIndentationLevel;
         if (outputName != null) {
@@ -43,6 +46,7 @@ public class Emitter implements EmitterExtension.Writer {
         emitImports();
         emitModule(model);
         emitUmdNamespace();
+        flush();
         if (closeOutput) {
             close();
         }
@@ -57,7 +61,7 @@ public class Emitter implements EmitterExtension.Writer {
         }
         if (!settings.noFileComment) {
             final String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
-            writeIndentedLine("// Generated using typescript-generator version " + TypeScriptGenerator.Version + " on " + timestamp + ".");
+            writeIndentedLine(FileCommentPrefix + timestamp + ".");
         }
     }
 
@@ -163,6 +167,9 @@ public class Emitter implements EmitterExtension.Writer {
         } else {
             emitDeclaration(declaration, exportKeyword, declareKeyword);
         }
+        if (settings.flushAfterEachDeclaration) {
+            flush();
+        }
     }
 
     private void emitDeclaration(TsDeclarationModel declaration, boolean exportKeyword, boolean declareKeyword) {
@@ -456,6 +463,13 @@ public class Emitter implements EmitterExtension.Writer {
     private void writeNewLine() {
         try {
             writer.write(settings.newline);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void flush() {
+        try {
             writer.flush();
         } catch (IOException e) {
             throw new RuntimeException(e);
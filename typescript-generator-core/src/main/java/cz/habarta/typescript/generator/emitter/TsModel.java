@@ -5,8 +5,11 @@ import cz.habarta.typescript.generator.compiler.EnumKind;
 import cz.habarta.typescript.generator.compiler.Symbol;
 import cz.habarta.typescript.generator.util.Utils;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
 
 public class TsModel {
@@ -16,17 +19,35 @@ public class TsModel {
     private final List<TsEnumModel> originalStringEnums;
     private final List<TsAliasModel> typeAliases;
     private final List<TsHelper> helpers;
+    private final Index<TsBeanModel> beansByOrigin;
+    private final Index<TsBeanModel> beansByName;
+    private final Index<TsAliasModel> typeAliasesByOrigin;
 
     public TsModel() {
         this (new ArrayList<TsBeanModel>(), new ArrayList<TsEnumModel>(), new ArrayList<TsEnumModel>(), new ArrayList<TsAliasModel>(), new ArrayList<TsHelper>());
     }
 
     public TsModel(List<TsBeanModel> beans, List<TsEnumModel> enums, List<TsEnumModel> originalStringEnums, List<TsAliasModel> typeAliases, List<TsHelper> helpers) {
+        this(beans, enums, originalStringEnums, typeAliases, helpers, null, null, null);
+    }
+
+    private TsModel(List<TsBeanModel> beans, List<TsEnumModel> enums, List<TsEnumModel> originalStringEnums, List<TsAliasModel> typeAliases, List<TsHelper> helpers,
+            Index<TsBeanModel> beansByOrigin, Index<TsBeanModel> beansByName, Index<TsAliasModel> typeAliasesByOrigin) {
         this.beans = Objects.requireNonNull(beans);
         this.enums = Objects.requireNonNull(enums);
         this.originalStringEnums = originalStringEnums;
         this.typeAliases = Objects.requireNonNull(typeAliases);
         this.helpers = helpers;
+        this.beansByOrigin = beansByOrigin != null ? beansByOrigin : new Index<>(beans, TsBeanModel::getOrigin);
+        this.beansByName = beansByName != null ? beansByName : new Index<>(beans, TsBeanModel::getName);
+        this.typeAliasesByOrigin = typeAliasesByOrigin != null ? typeAliasesByOrigin : new Index<>(typeAliases, TsAliasModel::getOrigin);
+    }
+
+    /**
+     * Creates copy of this model with changed enums or helpers; bean and type alias lists (and their indexes) are shared.
+     */
+    private TsModel with(List<TsEnumModel> enums, List<TsEnumModel> originalStringEnums) {
+        return new TsModel(beans, enums, originalStringEnums, typeAliases, helpers, beansByOrigin, beansByName, typeAliasesByOrigin);
     }
 
     public List<TsBeanModel> getBeans() {
@@ -34,33 +55,19 @@ public class TsModel {
     }
 
     public TsBeanModel getBean(Class<?> origin) {
-        if (origin != null) {
-            for (TsBeanModel bean : beans) {
-                if (Objects.equals(bean.getOrigin(), origin)) {
-                    return bean;
-                }
-            }
-        }
-        return null;
+        return beansByOrigin.get(origin);
     }
 
     public TsBeanModel getBean(Symbol name) {
-        if (name != null) {
-            for (TsBeanModel bean : beans) {
-                if (Objects.equals(bean.getName(), name)) {
-                    return bean;
-                }
-            }
-        }
-        return null;
+        return beansByName.get(name);
     }
 
     public TsModel withBeans(List<TsBeanModel> beans) {
-        return new TsModel(beans, enums, originalStringEnums, typeAliases, helpers);
+        return new TsModel(beans, enums, originalStringEnums, typeAliases, helpers, null, null, typeAliasesByOrigin);
     }
 
     public TsModel withoutBeans(List<TsBeanModel> beans) {
-        return new TsModel(Utils.removeAll(this.beans, beans), enums, originalStringEnums, typeAliases, helpers);
+        return new TsModel(Utils.removeAll(this.beans, beans), enums, originalStringEnums, typeAliases, helpers, null, null, typeAliasesByOrigin);
     }
 
     public List<TsEnumModel> getEnums() {
@@ -79,15 +86,15 @@ public class TsModel {
     }
 
     public TsModel withEnums(List<TsEnumModel> enums) {
-        return new TsModel(beans, enums, originalStringEnums, typeAliases, helpers);
+        return with(enums, originalStringEnums);
     }
 
     public TsModel withAddedEnums(List<TsEnumModel> enums) {
-        return new TsModel(beans, Utils.concat(this.enums, enums), originalStringEnums, typeAliases, helpers);
+        return with(Utils.concat(this.enums, enums), originalStringEnums);
     }
 
     public TsModel withRemovedEnums(List<TsEnumModel> enums) {
-        return new TsModel(beans, Utils.removeAll(this.enums, enums), originalStringEnums, typeAliases, helpers);
+        return with(Utils.removeAll(this.enums, enums), originalStringEnums);
     }
 
     public List<TsEnumModel> getOriginalStringEnums() {
@@ -95,7 +102,7 @@ public class TsModel {
     }
 
     public TsModel withOriginalStringEnums(List<TsEnumModel> originalStringEnums) {
-        return new TsModel(beans, enums, originalStringEnums, typeAliases, helpers);
+        return with(enums, originalStringEnums);
     }
 
     public List<TsAliasModel> getTypeAliases() {
@@ -103,26 +110,57 @@ public class TsModel {
     }
 
     public TsAliasModel getTypeAlias(Class<?> origin) {
-        if (origin != null) {
-            for (TsAliasModel alias : typeAliases) {
-                if (Objects.equals(alias.getOrigin(), origin)) {
-                    return alias;
-                }
-            }
-        }
-        return null;
+        return typeAliasesByOrigin.get(origin);
     }
 
     public TsModel withTypeAliases(List<TsAliasModel> typeAliases) {
-        return new TsModel(beans, enums, originalStringEnums, typeAliases, helpers);
+        return new TsModel(beans, enums, originalStringEnums, typeAliases, helpers, beansByOrigin, beansByName, null);
     }
 
     public TsModel withoutTypeAliases(List<TsAliasModel> typeAliases) {
-        return new TsModel(beans, enums, originalStringEnums, Utils.removeAll(this.typeAliases, typeAliases), helpers);
+        return new TsModel(beans, enums, originalStringEnums, Utils.removeAll(this.typeAliases, typeAliases), helpers, beansByOrigin, beansByName, null);
     }
 
     public List<TsHelper> getHelpers() {
         return helpers;
     }
 
+    /**
+     * Lazily built identity index of list items by key (origin class or symbol).
+     * Indexed lists are only appended to after model creation (for example when REST interfaces are added)
+     * so index is extended with new items instead of being rebuilt.
+     * When more items have the same key the first one is returned (same as linear search).
+     */
+    private static class Index<T> {
+        private final List<T> items;
+        private final Function<T, Object> keyFunction;
+        private final Map<Object, T> map = new IdentityHashMap<>();
+        private int indexedCount;
+
+        public Index(List<T> items, Function<T, Object> keyFunction) {
+            this.items = items;
+            this.keyFunction = keyFunction;
+        }
+
+        public synchronized T get(Object key) {
+            if (key == null) {
+                return null;
+            }
+            final int count = items.size();
+            if (count < indexedCount) {
+                map.clear();
+                indexedCount = 0;
+            }
+            for (int i = indexedCount; i < count; i++) {
+                final T item = items.get(i);
+                final Object itemKey = keyFunction.apply(item);
+                if (itemKey != null) {
+                    map.putIfAbsent(itemKey, item);
+                }
+            }
+            indexedCount = count;
+            return map.get(key);
+        }
+    }
+
 }
@@ -149,13 +149,7 @@ public class BeanPropertyPathExtension extends EmitterExtension {
             return null;
         }
         TsType.ReferenceType originalTypeBean = (TsType.ReferenceType)originalType;
-
-        for (TsBeanModel curBean : model.getBeans()) {
-            if (curBean.getName().equals(originalTypeBean.symbol)) {
-                return curBean;
-            }
-        }
-        return null;
+        return model.getBean(originalTypeBean.symbol);
     }
 
     private static String getBeanModelClassName(TsBeanModel bean) {
@@ -11,6 +11,7 @@ import cz.habarta.typescript.generator.emitter.EmitterExtensionFeatures;
 import cz.habarta.typescript.generator.emitter.TsBeanModel;
 import cz.habarta.typescript.generator.emitter.TsEnumModel;
 import cz.habarta.typescript.generator.emitter.TsModel;
+import cz.habarta.typescript.generator.util.ReflectionCache;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -52,7 +53,7 @@ public class ClassEnumExtension extends Extension {
                 List<TsEnumModel> stringEnums = new ArrayList<>();
                 for (TsBeanModel tsBeanModel : classEnums) {
                     List<EnumMemberModel> members = new ArrayList<>();
-                    for (Field declaredField : tsBeanModel.getOrigin().getDeclaredFields()) {
+                    for (Field declaredField : ReflectionCache.getDeclaredFields(tsBeanModel.getOrigin())) {
                         if (declaredField.getType().getName().equals(tsBeanModel.getOrigin().getName())) {
                             members.add(new EnumMemberModel(declaredField.getName(), declaredField.getName(), null));
                         }
@@ -12,6 +12,7 @@ import cz.habarta.typescript.generator.emitter.TsBeanCategory;
 import cz.habarta.typescript.generator.emitter.TsBeanModel;
 import cz.habarta.typescript.generator.emitter.TsModel;
 import cz.habarta.typescript.generator.emitter.TsPropertyModel;
+import cz.habarta.typescript.generator.util.ReflectionCache;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -131,7 +132,7 @@ public class PropertyPolymorphismExtension extends Extension {
                 throw new RuntimeException("Property '" + MARKER_ANNOTATION + "' has to be configured");
             }
             isPolymorphicBase = cls -> {
-                for (Annotation annotation : cls.getAnnotations()) {
+                for (Annotation annotation : ReflectionCache.getAnnotations(cls)) {
                     if (markerAnnotationName.equals(annotation.annotationType().getName())) {
                         return true;
                     }
@@ -153,7 +154,7 @@ public class PropertyPolymorphismExtension extends Extension {
 
                 getPropertyName = subType -> {
                     try {
-                        for (Annotation annotation : subType.getAnnotations()) {
+                        for (Annotation annotation : ReflectionCache.getAnnotations(subType)) {
                             if (nameAnnotationName.equals(annotation.annotationType().getName())) {
                                 Method method = annotation.annotationType().getDeclaredMethod(nameFieldNameFinal);
                                 return (String) method.invoke(annotation);
@@ -4,6 +4,7 @@ import com.google.gson.annotations.SerializedName;
 import cz.habarta.typescript.generator.ExcludingTypeProcessor;
 import cz.habarta.typescript.generator.Settings;
 import cz.habarta.typescript.generator.TypeProcessor;
+import cz.habarta.typescript.generator.util.ReflectionCache;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -57,7 +58,7 @@ public class GsonParser extends ModelParser {
         final List<PropertyModel> properties = new ArrayList<>();
         Class<?> cls = sourceClass.type;
         while (cls != null) {
-            for (Field field : cls.getDeclaredFields()) {
+            for (Field field : ReflectionCache.getDeclaredFields(cls)) {
                 String name = field.getName();
                 SerializedName serializedName = field.getAnnotation(SerializedName.class);
                 if (serializedName != null) {
@@ -74,7 +75,7 @@ public class GsonParser extends ModelParser {
         if (superclass != null) {
             addBeanToQueue(new SourceType<>(superclass, sourceClass.type, "<superClass>"));
         }
-        final List<Type> interfaces = Arrays.asList(sourceClass.type.getGenericInterfaces());
+        final List<Type> interfaces = ReflectionCache.getGenericInterfaces(sourceClass.type);
         for (Type aInterface : interfaces) {
             addBeanToQueue(new SourceType<>(aInterface, sourceClass.type, "<interface>"));
         }
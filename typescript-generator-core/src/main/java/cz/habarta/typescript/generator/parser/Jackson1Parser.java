@@ -5,6 +5,7 @@ import cz.habarta.typescript.generator.ExcludingTypeProcessor;
 import cz.habarta.typescript.generator.Settings;
 import cz.habarta.typescript.generator.TypeProcessor;
 import cz.habarta.typescript.generator.util.PropertyMember;
+import cz.habarta.typescript.generator.util.ReflectionCache;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Member;
 import java.lang.reflect.Type;
@@ -110,7 +111,7 @@ public class Jackson1Parser extends ModelParser {
         if (superclass != null) {
             addBeanToQueue(new SourceType<>(superclass, sourceClass.type, "<superClass>"));
         }
-        final List<Type> interfaces = Arrays.asList(sourceClass.type.getGenericInterfaces());
+        final List<Type> interfaces = ReflectionCache.getGenericInterfaces(sourceClass.type);
         for (Type aInterface : interfaces) {
             addBeanToQueue(new SourceType<>(aInterface, sourceClass.type, "<interface>"));
         }
@@ -0,0 +1,731 @@
+
+package cz.habarta.typescript.generator.parser;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.annotation.JsonClassDescription;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIdentityReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import cz.habarta.typescript.generator.OptionalProperties;
+import cz.habarta.typescript.generator.Settings;
+import cz.habarta.typescript.generator.TypeProcessor;
+import cz.habarta.typescript.generator.TypeScriptGenerator;
+import cz.habarta.typescript.generator.compiler.EnumKind;
+import cz.habarta.typescript.generator.compiler.EnumMemberModel;
+import cz.habarta.typescript.generator.util.ClassFile;
+import cz.habarta.typescript.generator.util.ReflectionCache;
+import cz.habarta.typescript.generator.util.TypeSignatureParser;
+import cz.habarta.typescript.generator.util.Utils;
+import java.io.Serializable;
+import java.lang.reflect.Member;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * Jackson2 parser which reads bean properties and enum constants directly from class files
+ * instead of using Jackson introspection and reflection of class members.
+ * Parsed classes are still loaded (without initialization) since they are part of the model
+ * but their fields, methods and annotations are not reflected.
+ * <p>
+ * Properties are collected the same way as Jackson2 does it with default configuration
+ * (public fields, getters, <code>@JsonProperty</code>, <code>@JsonIgnore</code>, <code>@JsonIgnoreProperties</code>,
+ * <code>@JsonPropertyDescription</code> and <code>@JsonClassDescription</code> annotations).
+ * Properties without fields are ordered by declaration of their getters.
+ * Classes using other Jackson2 features (for example polymorphic types, custom serializers, creators or identity references)
+ * and all classes when Jackson2 configuration or modules are specified are parsed by {@link Jackson2Parser}.
+ */
+public class Jackson2BytecodeParser extends Jackson2Parser {
+
+    public static class Factory extends Jackson2Parser.Jackson2ParserFactory {
+
+        @Override
+        public Jackson2BytecodeParser create(Settings settings, TypeProcessor commonTypeProcessor, List<RestApplicationParser> restApplicationParsers) {
+            return new Jackson2BytecodeParser(settings, commonTypeProcessor, restApplicationParsers);
+        }
+
+    }
+
+    private static final Set<String> SupportedClassAnnotations = new HashSet<>(Arrays.asList(
+            JsonIgnoreProperties.class.getName(),
+            JsonClassDescription.class.getName(),
+            JsonInclude.class.getName()
+    ));
+    private static final Set<String> SupportedMemberAnnotations = new HashSet<>(Arrays.asList(
+            JsonProperty.class.getName(),
+            JsonIgnore.class.getName(),
+            JsonPropertyDescription.class.getName(),
+            JsonInclude.class.getName()
+    ));
+    // annotations interpreted by Jackson2 which are not in its packages
+    private static final Set<String> UnsupportedAnnotations = new HashSet<>(Arrays.asList(
+            "java.beans.Transient",
+            "java.beans.ConstructorProperties"
+    ));
+    // classes serialized by Jackson2 using specific serializers
+    private static final List<Class<?>> NonBeanClasses = Arrays.asList(
+            Iterable.class, Map.class, Map.Entry.class, CharSequence.class, Number.class,
+            Date.class, Calendar.class, TimeZone.class, Throwable.class, JsonSerializable.class
+    );
+    // JDK supertypes which don't contribute any properties
+    private static final List<Class<?>> IgnoredJdkSuperTypes = Arrays.asList(
+            Serializable.class, Cloneable.class, Comparable.class, Enum.class
+    );
+
+    private final boolean bytecodeParsingEnabled;
+    private final Map<String, Optional<ClassFile>> classFiles = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> annotationBundles = new ConcurrentHashMap<>();
+
+    public Jackson2BytecodeParser(Settings settings, TypeProcessor commonTypeProcessor, List<RestApplicationParser> restApplicationParsers) {
+        super(settings, commonTypeProcessor, restApplicationParsers, false);
+        // configuration and modules can change serialization of any class
+        this.bytecodeParsingEnabled = settings.jackson2Configuration == null && settings.jackson2Modules.isEmpty() && !settings.jackson2ModuleDiscovery;
+        if (!bytecodeParsingEnabled) {
+            TypeScriptGenerator.getLogger().info("Classes are parsed using reflection because Jackson2 configuration or modules are specified.");
+        }
+    }
+
+    @Override
+    protected DeclarationModel parseClass(SourceType<Class<?>> sourceClass) {
+        if (bytecodeParsingEnabled) {
+            try {
+                return sourceClass.type.isEnum()
+                        ? parseEnumFromBytecode(sourceClass)
+                        : parseBeanFromBytecode(sourceClass);
+            } catch (UnsupportedClassException e) {
+                TypeScriptGenerator.getLogger().verbose(String.format("Parsing '%s' using reflection: %s", sourceClass.type.getName(), e.getMessage()));
+            }
+        }
+        return super.parseClass(sourceClass);
+    }
+
+    private EnumModel parseEnumFromBytecode(SourceType<Class<?>> sourceClass) throws UnsupportedClassException {
+        final Class<?> cls = sourceClass.type;
+        final ClassFile classFile = checkClassHierarchy(cls).get(0);
+        final List<EnumMemberModel> enumMembers = new ArrayList<>();
+        for (ClassFile.Member field : classFile.fields) {
+            if (field.isEnumConstant()) {
+                final String value = getJsonPropertyName(field.annotations);
+                enumMembers.add(new EnumMemberModel(field.name, value != null ? value : field.name, getDescription(field.annotations)));
+            }
+        }
+        return new EnumModel(cls, EnumKind.StringBased, enumMembers, getClassDescription(classFile));
+    }
+
+    private BeanModel parseBeanFromBytecode(SourceType<Class<?>> sourceClass) throws UnsupportedClassException {
+        final Class<?> cls = sourceClass.type;
+        if (cls.isAnnotation() || isJdkClass(cls) || cls.getName().startsWith("com.fasterxml.jackson.")
+                || NonBeanClasses.stream().anyMatch(nonBeanClass -> nonBeanClass.isAssignableFrom(cls))) {
+            throw new UnsupportedClassException("class is serialized by specific serializer");
+        }
+        final List<ClassFile> hierarchy = checkClassHierarchy(cls);
+        final List<PropertyBuilder> propertyBuilders = collectProperties(cls);
+        final Set<String> ignoredNames = getIgnoredPropertyNames(hierarchy);
+
+        // resolve everything before any type is added to the queue so reflection can be used for unsupported classes
+        final List<PropertyDescription> descriptions = new ArrayList<>();
+        for (PropertyBuilder propertyBuilder : propertyBuilders) {
+            if (ignoredNames.contains(propertyBuilder.name)) {
+                continue;
+            }
+            final Accessor accessor = propertyBuilder.getAccessor();
+            final Type type = accessor.isField
+                    ? TypeSignatureParser.parseFieldType(accessor.member.getSignatureOrDescriptor(), accessor.declaringClass)
+                    : TypeSignatureParser.parseReturnType(accessor.member.getSignatureOrDescriptor(), accessor.declaringClass);
+            if (type == null) {
+                throw new UnsupportedClassException("unsupported generic signature of '" + accessor.member.name + "'");
+            }
+            checkPropertyType(type);
+            descriptions.add(new PropertyDescription(propertyBuilder.name, type, accessor, propertyBuilder.getMergedAnnotations()));
+        }
+
+        final List<PropertyModel> properties = new ArrayList<>();
+        for (PropertyDescription description : descriptions) {
+            if (!isPropertyIncluded(annotationClass -> hasAnnotation(description.annotations, annotationClass.getName()), cls.getName() + "." + description.name)) {
+                continue;
+            }
+            final ClassFile.Annotation jsonProperty = findAnnotation(description.annotations, JsonProperty.class.getName());
+            final boolean optional = settings.optionalProperties == OptionalProperties.useLibraryDefinition
+                    ? jsonProperty == null || !jsonProperty.getValue("required", Boolean.class, false)
+                    : isPropertyOptional(annotationClass -> hasAnnotation(description.accessor.member.annotations, annotationClass.getName())
+                            || hasAnnotation(description.accessor.member.typeAnnotations, annotationClass.getName()));
+            properties.add(processTypeAndCreateProperty(description.name, description.type, null, optional, cls,
+                    description.accessor.declaringClass, getOriginalMember(description.accessor), null, getDescription(description.annotations)));
+        }
+
+        final Type superclass = cls.getGenericSuperclass() == Object.class ? null : cls.getGenericSuperclass();
+        if (superclass != null) {
+            addBeanToQueue(new SourceType<>(superclass, cls, "<superClass>"));
+        }
+        final List<Type> interfaces = ReflectionCache.getGenericInterfaces(cls);
+        for (Type aInterface : interfaces) {
+            addBeanToQueue(new SourceType<>(aInterface, cls, "<interface>"));
+        }
+        return new BeanModel(cls, superclass, null, null, null, interfaces, properties, getClassDescription(hierarchy.get(0)));
+    }
+
+    /**
+     * Returns class files of class and its supertypes in order used by Jackson2 (class itself first)
+     * and checks that they don't use unsupported annotations.
+     */
+    private List<ClassFile> checkClassHierarchy(Class<?> cls) throws UnsupportedClassException {
+        final List<ClassFile> hierarchy = new ArrayList<>();
+        for (Class<?> type : getSuperTypes(cls)) {
+            if (isJdkClass(type)) {
+                if (!IgnoredJdkSuperTypes.contains(type)) {
+                    throw new UnsupportedClassException("supertype '" + type.getName() + "' is not supported");
+                }
+                continue;
+            }
+            final ClassFile classFile = getClassFile(type);
+            checkAnnotations(type, classFile.annotations, SupportedClassAnnotations);
+            for (ClassFile.Member member : Utils.concat(classFile.fields, classFile.methods)) {
+                if (member.isSynthetic()) {
+                    continue;
+                }
+                checkAnnotations(type, member.annotations, SupportedMemberAnnotations);
+                for (List<ClassFile.Annotation> parameterAnnotations : member.parameterAnnotations) {
+                    checkAnnotations(type, parameterAnnotations, Collections.emptySet());
+                }
+                if (member.name.equals("getCallbacks") || member.name.equals("getMetaClass")) {
+                    throw new UnsupportedClassException("method '" + member.name + "' may be generated by proxy library");
+                }
+            }
+            hierarchy.add(classFile);
+        }
+        return hierarchy;
+    }
+
+    private void checkAnnotations(Class<?> cls, List<ClassFile.Annotation> annotations, Set<String> supportedAnnotations) throws UnsupportedClassException {
+        for (ClassFile.Annotation annotation : annotations) {
+            final String name = annotation.typeName;
+            if (supportedAnnotations.contains(name)) {
+                final ClassFile.EnumConstant access = annotation.getValue("access", ClassFile.EnumConstant.class, null);
+                if (access != null && !access.name.equals(JsonProperty.Access.AUTO.name())) {
+                    throw new UnsupportedClassException("@JsonProperty access is not supported");
+                }
+                continue;
+            }
+            if (name.startsWith("com.fasterxml.jackson.")
+                    || UnsupportedAnnotations.contains(name)
+                    || !settings.ignoreSwaggerAnnotations && name.startsWith("io.swagger.")
+                    || isAnnotationBundle(cls.getClassLoader(), name)) {
+                throw new UnsupportedClassException("annotation @" + name + " is not supported");
+            }
+        }
+    }
+
+    private boolean isAnnotationBundle(ClassLoader classLoader, String annotationName) {
+        if (annotationName.startsWith("java.") || annotationName.startsWith("javax.")) {
+            return false;
+        }
+        return annotationBundles.computeIfAbsent(annotationName, name -> {
+            final ClassFile classFile = findClassFile(classLoader, name);
+            return classFile != null && classFile.getAnnotation(JacksonAnnotationsInside.class.getName()) != null;
+        });
+    }
+
+    /**
+     * Property types with identity references and ignored types are processed using reflection.
+     * Map entries require Jackson2 type context.
+     */
+    private void checkPropertyType(Type type) throws UnsupportedClassException {
+        final Class<?> rawClass = Utils.getRawClassOrNull(type);
+        if (rawClass != null && !rawClass.isPrimitive() && !rawClass.isArray() && !isJdkClass(rawClass)) {
+            for (Class<?> superType : getSuperTypes(rawClass)) {
+                final ClassFile classFile = isJdkClass(superType) ? null : findClassFile(superType.getClassLoader(), superType.getName());
+                if (classFile != null && (classFile.getAnnotation(JsonIgnoreType.class.getName()) != null
+                        || classFile.getAnnotation(JsonIdentityInfo.class.getName()) != null
+                        || classFile.getAnnotation(JsonIdentityReference.class.getName()) != null)) {
+                    throw new UnsupportedClassException("property type '" + rawClass.getName() + "' is not supported");
+                }
+            }
+        }
+        if (Utils.containsClass(type, cls -> Map.Entry.class.isAssignableFrom(cls))) {
+            throw new UnsupportedClassException("Map.Entry property type is not supported");
+        }
+    }
+
+    /**
+     * Collects serializable properties like Jackson2 POJOPropertiesCollector with default configuration.
+     */
+    private List<PropertyBuilder> collectProperties(Class<?> cls) throws UnsupportedClassException {
+        final Map<String, PropertyBuilder> properties = new LinkedHashMap<>();
+
+        // fields of superclasses first, field in subclass replaces field with the same name
+        final List<Class<?>> superclasses = new ArrayList<>();
+        for (Class<?> c = cls; c != null && c != Object.class; c = c.getSuperclass()) {
+            superclasses.add(0, c);
+        }
+        final Map<String, Accessor> fields = new LinkedHashMap<>();
+        for (Class<?> c : superclasses) {
+            for (ClassFile.Member field : getClassFile(c).fields) {
+                if (!field.isStatic() && !field.isSynthetic()) {
+                    fields.put(field.name, createFieldAccessor(c, field));
+                }
+            }
+        }
+        for (Accessor field : fields.values()) {
+            getPropertyBuilder(properties, field.member.name).fields.add(field);
+        }
+
+        // methods of class first, then methods of supertypes (overridden methods only contribute annotations)
+        final Map<String, MethodEntry> methods = new LinkedHashMap<>();
+        for (Class<?> c : getSuperTypes(cls)) {
+            if (isJdkClass(c)) {
+                continue;
+            }
+            for (ClassFile.Member method : getClassFile(c).methods) {
+                if (method.isStatic() || method.isSynthetic() || method.isBridge() || method.name.startsWith("<")) {
+                    continue;
+                }
+                final String key = method.name + method.descriptor.substring(0, method.descriptor.indexOf(')') + 1);
+                final MethodEntry entry = methods.get(key);
+                if (entry == null) {
+                    methods.put(key, new MethodEntry(c, method));
+                } else {
+                    entry.addAnnotations(method.annotations);
+                    if (entry.method.isAbstract() && !method.isAbstract()) {
+                        entry.declaringClass = c;
+                        entry.method = method;
+                    }
+                }
+            }
+        }
+        for (MethodEntry entry : methods.values()) {
+            final int parameterCount = entry.method.getParameterDescriptors().size();
+            if (parameterCount == 0) {
+                addGetter(properties, entry);
+            } else if (parameterCount == 1) {
+                addSetter(properties, entry);
+            }
+        }
+
+        removeUnwantedProperties(properties);
+        renameProperties(properties);
+        // setter-only properties are not serialized, see Jackson2 BeanSerializerFactory.findBeanProperties
+        properties.values().removeIf(property -> property.getters.isEmpty() && property.fields.isEmpty());
+        return new ArrayList<>(properties.values());
+    }
+
+    private static Accessor createFieldAccessor(Class<?> declaringClass, ClassFile.Member field) {
+        final boolean annotated = findAnnotation(field.annotations, JsonProperty.class.getName()) != null;
+        final boolean visible = annotated || field.isPublic() && !field.isTransient();
+        return new Accessor(true, declaringClass, field, field.annotations, getJsonPropertyName(field.annotations), annotated, visible, isIgnored(field.annotations));
+    }
+
+    private static void addGetter(Map<String, PropertyBuilder> properties, MethodEntry entry) {
+        final ClassFile.Member method = entry.method;
+        final String returnDescriptor = method.getReturnDescriptor();
+        if (returnDescriptor.equals("V")) {
+            return;
+        }
+        final boolean annotated = findAnnotation(entry.annotations, JsonProperty.class.getName()) != null;
+        String implicitName = okNameForRegularGetter(method.name);
+        if (implicitName == null) {
+            implicitName = okNameForIsGetter(method.name, returnDescriptor);
+        }
+        if (implicitName == null) {
+            if (!annotated) {
+                return;
+            }
+            implicitName = method.name;
+        }
+        final boolean visible = annotated || method.isPublic();
+        getPropertyBuilder(properties, implicitName).getters.add(new Accessor(false, entry.declaringClass, method, entry.annotations,
+                getJsonPropertyName(entry.annotations), annotated, visible, isIgnored(entry.annotations)));
+    }
+
+    private static void addSetter(Map<String, PropertyBuilder> properties, MethodEntry entry) {
+        final ClassFile.Member method = entry.method;
+        final boolean annotated = findAnnotation(entry.annotations, JsonProperty.class.getName()) != null;
+        String implicitName = method.name.startsWith("set") ? mangleName(method.name, 3) : null;
+        if (implicitName == null) {
+            if (!annotated) {
+                return;
+            }
+            implicitName = method.name;
+        }
+        // setters of any visibility are detected
+        getPropertyBuilder(properties, implicitName).setters.add(new Accessor(false, entry.declaringClass, method, entry.annotations,
+                getJsonPropertyName(entry.annotations), annotated, true, isIgnored(entry.annotations)));
+    }
+
+    private static PropertyBuilder getPropertyBuilder(Map<String, PropertyBuilder> properties, String implicitName) {
+        return properties.computeIfAbsent(implicitName, PropertyBuilder::new);
+    }
+
+    private static void removeUnwantedProperties(Map<String, PropertyBuilder> properties) {
+        for (Iterator<PropertyBuilder> iterator = properties.values().iterator(); iterator.hasNext(); ) {
+            final PropertyBuilder property = iterator.next();
+            final List<Accessor> accessors = property.getAllAccessors();
+            if (accessors.stream().noneMatch(accessor -> accessor.visible)) {
+                iterator.remove();
+                continue;
+            }
+            if (accessors.stream().anyMatch(accessor -> accessor.ignored)) {
+                // ignored property can be explicitly included by other accessor
+                if (accessors.stream().noneMatch(accessor -> accessor.annotated)) {
+                    iterator.remove();
+                    continue;
+                }
+                property.fields.removeIf(accessor -> accessor.ignored);
+                property.getters.removeIf(accessor -> accessor.ignored);
+                property.setters.removeIf(accessor -> accessor.ignored);
+            }
+            // non-visible fields and setters are only kept if property has visible getter
+            property.getters.removeIf(accessor -> !accessor.visible);
+            if (property.getters.isEmpty()) {
+                property.fields.removeIf(accessor -> !accessor.visible);
+                property.setters.removeIf(accessor -> !accessor.visible);
+            }
+        }
+    }
+
+    private static void renameProperties(Map<String, PropertyBuilder> properties) throws UnsupportedClassException {
+        final List<PropertyBuilder> renamed = new ArrayList<>();
+        for (Iterator<PropertyBuilder> iterator = properties.values().iterator(); iterator.hasNext(); ) {
+            final PropertyBuilder property = iterator.next();
+            final Set<String> explicitNames = property.getAllAccessors().stream()
+                    .map(accessor -> accessor.explicitName)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            if (explicitNames.isEmpty()) {
+                continue;
+            }
+            if (explicitNames.size() > 1) {
+                throw new UnsupportedClassException("property '" + property.name + "' has multiple names " + explicitNames);
+            }
+            // renamed properties are moved to the end
+            iterator.remove();
+            property.name = explicitNames.iterator().next();
+            renamed.add(property);
+        }
+        final Map<String, PropertyBuilder> byName = new LinkedHashMap<>();
+        for (PropertyBuilder property : properties.values()) {
+            byName.put(property.name, property);
+        }
+        for (PropertyBuilder property : renamed) {
+            final PropertyBuilder existing = byName.get(property.name);
+            if (existing != null) {
+                existing.fields.addAll(property.fields);
+                existing.getters.addAll(property.getters);
+                existing.setters.addAll(property.setters);
+            } else {
+                byName.put(property.name, property);
+            }
+        }
+        properties.clear();
+        properties.putAll(byName);
+    }
+
+    private static Set<String> getIgnoredPropertyNames(List<ClassFile> hierarchy) {
+        // the first annotation in hierarchy is used
+        for (ClassFile classFile : hierarchy) {
+            final ClassFile.Annotation jsonIgnoreProperties = classFile.getAnnotation(JsonIgnoreProperties.class.getName());
+            if (jsonIgnoreProperties != null) {
+                return jsonIgnoreProperties.getValue("allowGetters", Boolean.class, false)
+                        ? Collections.emptySet()
+                        : new HashSet<>(jsonIgnoreProperties.getStringValues("value"));
+            }
+        }
+        return Collections.emptySet();
+    }
+
+    private Member getOriginalMember(Accessor accessor) {
+        // reflection members are only needed to find Javadoc comments
+        if (settings.javadocXmlFiles == null || settings.javadocXmlFiles.isEmpty()) {
+            return null;
+        }
+        try {
+            return accessor.isField
+                    ? accessor.declaringClass.getDeclaredField(accessor.member.name)
+                    : accessor.declaringClass.getDeclaredMethod(accessor.member.name);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(String.format("Cannot find member '%s' in class '%s'", accessor.member.name, accessor.declaringClass.getName()), e);
+        }
+    }
+
+    /**
+     * See Jackson2 BeanUtil.okNameForRegularGetter.
+     */
+    private static String okNameForRegularGetter(String methodName) {
+        return methodName.startsWith("get") ? mangleName(methodName, 3) : null;
+    }
+
+    /**
+     * See Jackson2 BeanUtil.okNameForIsGetter.
+     */
+    private static String okNameForIsGetter(String methodName, String returnDescriptor) {
+        if (methodName.startsWith("is") && (returnDescriptor.equals("Z") || returnDescriptor.equals("Ljava/lang/Boolean;"))) {
+            return mangleName(methodName, 2);
+        }
+        return null;
+    }
+
+    /**
+     * Lower-cases leading upper-case characters, see Jackson2 BeanUtil.legacyManglePropertyName.
+     */
+    private static String mangleName(String methodName, int offset) {
+        if (methodName.length() == offset) {
+            return null;
+        }
+        final StringBuilder sb = new StringBuilder(methodName.length() - offset);
+        int i = offset;
+        for (; i < methodName.length(); i++) {
+            final char c = methodName.charAt(i);
+            final char lower = Character.toLowerCase(c);
+            if (c == lower) {
+                break;
+            }
+            sb.append(lower);
+        }
+        sb.append(methodName, i, methodName.length());
+        return sb.toString();
+    }
+
+    private static String getJsonPropertyName(List<ClassFile.Annotation> annotations) {
+        final ClassFile.Annotation jsonProperty = findAnnotation(annotations, JsonProperty.class.getName());
+        final String value = jsonProperty != null ? jsonProperty.getValue("value", String.class, "") : "";
+        return value.isEmpty() ? null : value;
+    }
+
+    private static boolean isIgnored(List<ClassFile.Annotation> annotations) {
+        final ClassFile.Annotation jsonIgnore = findAnnotation(annotations, JsonIgnore.class.getName());
+        return jsonIgnore != null && jsonIgnore.getValue("value", Boolean.class, true);
+    }
+
+    private static List<String> getDescription(List<ClassFile.Annotation> annotations) {
+        final ClassFile.Annotation description = findAnnotation(annotations, JsonPropertyDescription.class.getName());
+        return Utils.splitMultiline(description != null ? description.getValue("value", String.class, null) : null, false);
+    }
+
+    private static List<String> getClassDescription(ClassFile classFile) {
+        final ClassFile.Annotation description = classFile.getAnnotation(JsonClassDescription.class.getName());
+        return Utils.splitMultiline(description != null ? description.getValue("value", String.class, null) : null, false);
+    }
+
+    private static ClassFile.Annotation findAnnotation(List<ClassFile.Annotation> annotations, String annotationClassName) {
+        for (ClassFile.Annotation annotation : annotations) {
+            if (annotation.typeName.equals(annotationClassName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasAnnotation(List<ClassFile.Annotation> annotations, String annotationClassName) {
+        return findAnnotation(annotations, annotationClassName) != null;
+    }
+
+    private ClassFile getClassFile(Class<?> cls) throws UnsupportedClassException {
+        final ClassFile classFile = findClassFile(cls.getClassLoader(), cls.getName());
+        if (classFile == null) {
+            throw new UnsupportedClassException("class file of '" + cls.getName() + "' not found");
+        }
+        return classFile;
+    }
+
+    private ClassFile findClassFile(ClassLoader classLoader, String className) {
+        return classFiles.computeIfAbsent(className, name -> Optional.ofNullable(ClassFile.load(classLoader, name))).orElse(null);
+    }
+
+    /**
+     * Class and its supertypes except {@link Object}, see Jackson2 ClassUtil.findSuperTypes.
+     */
+    private static List<Class<?>> getSuperTypes(Class<?> cls) {
+        final List<Class<?>> result = new ArrayList<>();
+        addSuperTypes(cls, result);
+        return result;
+    }
+
+    private static void addSuperTypes(Class<?> cls, List<Class<?>> result) {
+        if (cls == null || cls == Object.class || result.contains(cls)) {
+            return;
+        }
+        result.add(cls);
+        for (Class<?> aInterface : cls.getInterfaces()) {
+            addSuperTypes(aInterface, result);
+        }
+        addSuperTypes(cls.getSuperclass(), result);
+    }
+
+    private static boolean isJdkClass(Class<?> cls) {
+        final String name = cls.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("org.w3c.dom.");
+    }
+
+    private static class UnsupportedClassException extends Exception {
+        private static final long serialVersionUID = 1;
+
+        public UnsupportedClassException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private static class MethodEntry {
+        public Class<?> declaringClass;
+        public ClassFile.Member method;
+        public final List<ClassFile.Annotation> annotations;
+
+        public MethodEntry(Class<?> declaringClass, ClassFile.Member method) {
+            this.declaringClass = declaringClass;
+            this.method = method;
+            this.annotations = new ArrayList<>(method.annotations);
+        }
+
+        // annotations of overriding method have precedence
+        public void addAnnotations(List<ClassFile.Annotation> inheritedAnnotations) {
+            for (ClassFile.Annotation annotation : inheritedAnnotations) {
+                if (!hasAnnotation(annotations, annotation.typeName)) {
+                    annotations.add(annotation);
+                }
+            }
+        }
+    }
+
+    private static class Accessor {
+        public final boolean isField;
+        public final Class<?> declaringClass;
+        public final ClassFile.Member member;
+        public final List<ClassFile.Annotation> annotations;
+        public final String explicitName;
+        public final boolean annotated;
+        public final boolean visible;
+        public final boolean ignored;
+
+        public Accessor(boolean isField, Class<?> declaringClass, ClassFile.Member member, List<ClassFile.Annotation> annotations,
+                String explicitName, boolean annotated, boolean visible, boolean ignored) {
+            this.isField = isField;
+            this.declaringClass = declaringClass;
+            this.member = member;
+            this.annotations = annotations;
+            this.explicitName = explicitName;
+            this.annotated = annotated;
+            this.visible = visible;
+            this.ignored = ignored;
+        }
+    }
+
+    private static class PropertyBuilder {
+        public String name;
+        public final List<Accessor> fields = new ArrayList<>();
+        public final List<Accessor> getters = new ArrayList<>();
+        public final List<Accessor> setters = new ArrayList<>();
+
+        public PropertyBuilder(String name) {
+            this.name = name;
+        }
+
+        public List<Accessor> getAllAccessors() {
+            return Stream.of(fields, getters, setters)
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Annotations of all accessors, getter annotations have precedence over field and setter annotations.
+         */
+        public List<ClassFile.Annotation> getMergedAnnotations() {
+            final List<ClassFile.Annotation> merged = new ArrayList<>();
+            final List<Accessor> accessors = getters.isEmpty()
+                    ? Utils.concat(fields, setters)
+                    : Utils.concat(Utils.concat(getters, fields), setters);
+            for (Accessor accessor : accessors) {
+                for (ClassFile.Annotation annotation : accessor.annotations) {
+                    if (!hasAnnotation(merged, annotation.typeName)) {
+                        merged.add(annotation);
+                    }
+                }
+            }
+            return merged;
+        }
+
+        /**
+         * Getter (or field if there is no getter) used for serialization, see Jackson2 POJOPropertyBuilder.getAccessor.
+         */
+        public Accessor getAccessor() throws UnsupportedClassException {
+            final List<Accessor> accessors = trimByVisibility(!getters.isEmpty() ? getters : fields);
+            Accessor result = accessors.get(0);
+            for (Accessor next : accessors.subList(1, accessors.size())) {
+                if (result.declaringClass != next.declaringClass) {
+                    if (result.declaringClass.isAssignableFrom(next.declaringClass)) {
+                        result = next;
+                        continue;
+                    }
+                    if (next.declaringClass.isAssignableFrom(result.declaringClass)) {
+                        continue;
+                    }
+                }
+                final int resultPriority = getterPriority(result);
+                final int nextPriority = getterPriority(next);
+                if (!result.isField && resultPriority != nextPriority) {
+                    if (nextPriority < resultPriority) {
+                        result = next;
+                    }
+                    continue;
+                }
+                throw new UnsupportedClassException("property '" + name + "' has conflicting accessors");
+            }
+            return result;
+        }
+
+        // explicitly annotated accessors have precedence over visible accessors
+        private static List<Accessor> trimByVisibility(List<Accessor> accessors) {
+            final List<Accessor> annotated = accessors.stream().filter(accessor -> accessor.annotated).collect(Collectors.toList());
+            if (!annotated.isEmpty()) {
+                return annotated;
+            }
+            final List<Accessor> visible = accessors.stream().filter(accessor -> accessor.visible).collect(Collectors.toList());
+            return !visible.isEmpty() ? visible : accessors;
+        }
+
+        private static int getterPriority(Accessor getter) {
+            final String name = getter.member.name;
+            if (name.startsWith("get") && name.length() > 3) {
+                return 1;
+            }
+            if (name.startsWith("is") && name.length() > 2) {
+                return 2;
+            }
+            return 3;
+        }
+    }
+
+    private static class PropertyDescription {
+        public final String name;
+        public final Type type;
+        public final Accessor accessor;
+        public final List<ClassFile.Annotation> annotations;
+
+        public PropertyDescription(String name, Type type, Accessor accessor, List<ClassFile.Annotation> annotations) {
+            this.name = name;
+            this.type = type;
+            this.accessor = accessor;
+            this.annotations = annotations;
+        }
+    }
+
+}
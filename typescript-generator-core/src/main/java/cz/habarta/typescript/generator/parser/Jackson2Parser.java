@@ -41,6 +41,7 @@ import cz.habarta.typescript.generator.TypeScriptGenerator;
 import cz.habarta.typescript.generator.compiler.EnumKind;
 import cz.habarta.typescript.generator.compiler.EnumMemberModel;
 import cz.habarta.typescript.generator.util.PropertyMember;
+import cz.habarta.typescript.generator.util.ReflectionCache;
 import cz.habarta.typescript.generator.util.UnionType;
 import cz.habarta.typescript.generator.util.Utils;
 import java.lang.annotation.Annotation;
@@ -55,6 +56,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -95,6 +97,12 @@ public class Jackson2Parser extends ModelParser {
     }
 
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Class<?>, Optional<BeanPropertyWriter[]>> beanPropertiesCache = new ConcurrentHashMap<>();
+    // serializer providers are not thread-safe
+    private final ThreadLocal<DefaultSerializerProvider> serializerProvider = ThreadLocal.withInitial(() -> {
+        final DefaultSerializerProvider.Impl serializerProvider = (DefaultSerializerProvider.Impl) objectMapper.getSerializerProvider();
+        return serializerProvider.createInstance(objectMapper.getSerializationConfig(), objectMapper.getSerializerFactory());
+    });
 
     public Jackson2Parser(Settings settings, TypeProcessor typeProcessor) {
         this(settings, typeProcessor, Collections.emptyList(), false);
@@ -184,6 +192,25 @@ public class Jackson2Parser extends ModelParser {
         );
     }
 
+    // type context is only used for object identity and Map.Entry (see createSpecificTypeProcessor)
+    @Override
+    protected boolean isTypeContextRequired(PropertyModel property) {
+        if (!(property.getContext() instanceof Jackson2TypeContext)) {
+            return super.isTypeContextRequired(property);
+        }
+        final BeanPropertyWriter beanPropertyWriter = ((Jackson2TypeContext) property.getContext()).beanPropertyWriter;
+        return beanPropertyWriter.getAnnotation(JsonIdentityInfo.class) != null
+                || beanPropertyWriter.getAnnotation(JsonIdentityReference.class) != null
+                || isTypeContextRequired(beanPropertyWriter.getType().getRawClass())
+                || Utils.containsClass(property.getType(), Jackson2Parser::isTypeContextRequired);
+    }
+
+    private static boolean isTypeContextRequired(Class<?> cls) {
+        return Map.Entry.class.isAssignableFrom(cls)
+                || cls.getAnnotation(JsonIdentityInfo.class) != null
+                || cls.getAnnotation(JsonIdentityReference.class) != null;
+    }
+
     private static class Jackson2TypeContext {
         public final Jackson2Parser parser;
         public final BeanPropertyWriter beanPropertyWriter;
@@ -194,6 +221,34 @@ public class Jackson2Parser extends ModelParser {
             this.beanPropertyWriter = beanPropertyWriter;
             this.disableObjectIdentityFeature = disableObjectIdentityFeature;
         }
+
+        // contexts are equal if type processing gives the same result (see processIdentity), used by CachingTypeProcessor
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 31 * hash + System.identityHashCode(parser);
+            hash = 31 * hash + Boolean.hashCode(disableObjectIdentityFeature);
+            hash = 31 * hash + beanPropertyWriter.getType().getRawClass().hashCode();
+            hash = 31 * hash + Objects.hashCode(beanPropertyWriter.getAnnotation(JsonIdentityInfo.class));
+            hash = 31 * hash + Objects.hashCode(beanPropertyWriter.getAnnotation(JsonIdentityReference.class));
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Jackson2TypeContext other = (Jackson2TypeContext) obj;
+            return parser == other.parser
+                    && disableObjectIdentityFeature == other.disableObjectIdentityFeature
+                    && beanPropertyWriter.getType().getRawClass() == other.beanPropertyWriter.getType().getRawClass()
+                    && Objects.equals(beanPropertyWriter.getAnnotation(JsonIdentityInfo.class), other.beanPropertyWriter.getAnnotation(JsonIdentityInfo.class))
+                    && Objects.equals(beanPropertyWriter.getAnnotation(JsonIdentityReference.class), other.beanPropertyWriter.getAnnotation(JsonIdentityReference.class));
+        }
     }
 
     @Override
@@ -209,9 +264,9 @@ public class Jackson2Parser extends ModelParser {
     private BeanModel parseBean(SourceType<Class<?>> sourceClass, List<String> classComments) {
         final List<PropertyModel> properties = new ArrayList<>();
 
-        final BeanHelper beanHelper = getBeanHelper(sourceClass.type);
-        if (beanHelper != null) {
-            for (final BeanPropertyWriter beanPropertyWriter : beanHelper.getProperties()) {
+        final BeanPropertyWriter[] beanPropertyWriters = getBeanProperties(sourceClass.type);
+        if (beanPropertyWriters != null) {
+            for (final BeanPropertyWriter beanPropertyWriter : beanPropertyWriters) {
                 final Member member = beanPropertyWriter.getMember().getMember();
                 final PropertyMember propertyMember = wrapMember(member, beanPropertyWriter.getName(), sourceClass.type);
                 Type propertyType = propertyMember.getType();
@@ -282,7 +337,7 @@ public class Jackson2Parser extends ModelParser {
         if (superclass != null) {
             addBeanToQueue(new SourceType<>(superclass, sourceClass.type, "<superClass>"));
         }
-        final List<Type> interfaces = Arrays.asList(sourceClass.type.getGenericInterfaces());
+        final List<Type> interfaces = ReflectionCache.getGenericInterfaces(sourceClass.type);
         for (Type aInterface : interfaces) {
             addBeanToQueue(new SourceType<>(aInterface, sourceClass.type, "<interface>"));
         }
@@ -312,11 +367,10 @@ public class Jackson2Parser extends ModelParser {
             if (identityInfo.generator() == ObjectIdGenerators.None.class) {
                 return null;
             } else if (identityInfo.generator() == ObjectIdGenerators.PropertyGenerator.class) {
-                final BeanHelper beanHelper = getBeanHelper(cls);
-                if (beanHelper == null) {
+                final BeanPropertyWriter[] properties = getBeanProperties(cls);
+                if (properties == null) {
                     return null;
                 }
-                final BeanPropertyWriter[] properties = beanHelper.getProperties();
                 final Optional<BeanPropertyWriter> idProperty = Stream.of(properties)
                         .filter(p -> p.getName().equals(identityInfo.property()))
                         .findFirst();
@@ -420,25 +474,24 @@ public class Jackson2Parser extends ModelParser {
         return null;
     }
 
-    private BeanHelper getBeanHelper(Class<?> beanClass) {
+    private BeanPropertyWriter[] getBeanProperties(Class<?> beanClass) {
         if (beanClass == null) {
             return null;
         }
         if (beanClass == Enum.class) {
             return null;
         }
+        return beanPropertiesCache.computeIfAbsent(beanClass, this::createBeanProperties).orElse(null);
+    }
+
+    private Optional<BeanPropertyWriter[]> createBeanProperties(Class<?> beanClass) {
         try {
-            final DefaultSerializerProvider.Impl serializerProvider1 = (DefaultSerializerProvider.Impl) objectMapper.getSerializerProvider();
-            final DefaultSerializerProvider.Impl serializerProvider2 = serializerProvider1.createInstance(objectMapper.getSerializationConfig(), objectMapper.getSerializerFactory());
             final JavaType simpleType = objectMapper.constructType(beanClass);
-            final JsonSerializer<?> jsonSerializer = BeanSerializerFactory.instance.createSerializer(serializerProvider2, simpleType);
-            if (jsonSerializer == null) {
-                return null;
-            }
+            final JsonSerializer<?> jsonSerializer = BeanSerializerFactory.instance.createSerializer(serializerProvider.get(), simpleType);
             if (jsonSerializer instanceof BeanSerializer) {
-                return new BeanHelper((BeanSerializer) jsonSerializer);
+                return Optional.of(new BeanHelper((BeanSerializer) jsonSerializer).getProperties());
             } else {
-                return null;
+                return Optional.empty();
             }
         } catch (JsonMappingException e) {
             throw new RuntimeException(e);
@@ -471,13 +524,14 @@ public class Jackson2Parser extends ModelParser {
         final List<EnumMemberModel> enumMembers = new ArrayList<>();
         if (sourceClass.type.isEnum()) {
             final Class<?> enumClass = (Class<?>) sourceClass.type;
-            final Field[] allEnumFields = enumClass.getDeclaredFields();
-            final List<Field> constants = Arrays.stream(allEnumFields).filter(Field::isEnumConstant).collect(Collectors.toList());
+            final List<Field> constants = ReflectionCache.getDeclaredFields(enumClass).stream().filter(Field::isEnumConstant).collect(Collectors.toList());
             for (Field constant : constants) {
                 Object value;
                 try {
-                    constant.setAccessible(true);
-                    final String enumJson = objectMapper.writeValueAsString(constant.get(null));
+                    // private copy, cached field is shared
+                    final Field accessibleConstant = enumClass.getDeclaredField(constant.getName());
+                    accessibleConstant.setAccessible(true);
+                    final String enumJson = objectMapper.writeValueAsString(accessibleConstant.get(null));
                     value = objectMapper.readValue(enumJson, new TypeReference<Object>(){});
                 } catch (Throwable e) {
                     TypeScriptGenerator.getLogger().error(String.format("Cannot get enum value for constant '%s.%s'", enumClass.getName(), constant.getName()));
@@ -16,103 +16,145 @@ import cz.habarta.typescript.generator.xmldoclet.Root;
 import cz.habarta.typescript.generator.xmldoclet.TagInfo;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import javax.xml.bind.JAXB;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 public class Javadoc {
 
+    private static final List<Pattern> HtmlLineBreaks = Arrays.asList(
+            Pattern.compile("\\s*<br>\\s*"),
+            Pattern.compile("\\s*<br/>\\s*"),
+            Pattern.compile("\\s*<br />\\s*"),
+            Pattern.compile("\\s*<p>\\s*"),
+            Pattern.compile("\\s*</p>\\s*")
+    );
+
     private final String newline;
-    private final List<Root> dRoots;
+    private final List<File> javadocXmlFiles;
+    private Set<String> loadedTypeNames;
+    private Index index;
 
     public Javadoc(Settings settings) {
         Objects.requireNonNull(settings, "settings");
         this.newline = settings.newline;
-        this.dRoots = loadJavadocXmlFiles(settings.javadocXmlFiles);
+        this.javadocXmlFiles = settings.javadocXmlFiles != null ? settings.javadocXmlFiles : Collections.emptyList();
     }
 
-    private static List<Root> loadJavadocXmlFiles(List<File> javadocXmlFiles) {
-        final List<Root> dRoots = new ArrayList<>();
-        if (javadocXmlFiles != null) {
-            for (File file : javadocXmlFiles) {
-                TypeScriptGenerator.getLogger().info("Loading Javadoc XML file: " + file);
-                final Root dRoot = JAXB.unmarshal(file, Root.class);
-                dRoots.add(dRoot);
+    /**
+     * Loads javadoc only for types present in the model, reuses already loaded javadoc if possible.
+     */
+    private synchronized Index getIndex(Model model) {
+        final Set<String> typeNames = new HashSet<>();
+        for (BeanModel bean : model.getBeans()) {
+            typeNames.add(Index.getQualifiedName(bean.getOrigin()));
+        }
+        for (EnumModel enumModel : model.getEnums()) {
+            typeNames.add(Index.getQualifiedName(enumModel.getOrigin()));
+        }
+        for (RestApplicationModel restApplication : model.getRestApplications()) {
+            for (RestMethodModel restMethod : restApplication.getMethods()) {
+                typeNames.add(Index.getQualifiedName(restMethod.getOriginClass()));
             }
         }
-        return dRoots;
+        if (index == null || !loadedTypeNames.containsAll(typeNames)) {
+            index = new Index(loadJavadocXmlFiles(javadocXmlFiles, typeNames));
+            loadedTypeNames = typeNames;
+        }
+        return index;
+    }
+
+    private static List<Root> loadJavadocXmlFiles(List<File> javadocXmlFiles, Set<String> typeNames) {
+        final JavadocXmlLoader loader = new JavadocXmlLoader(typeNames::contains);
+        final Stream<File> files = javadocXmlFiles.size() > 1 ? javadocXmlFiles.parallelStream() : javadocXmlFiles.stream();
+        return files
+                .map(file -> {
+                    TypeScriptGenerator.getLogger().info("Loading Javadoc XML file: " + file);
+                    return loader.load(file);
+                })
+                .collect(Collectors.toList());
     }
 
     // enrichers
 
     public Model enrichModel(Model model) {
+        final Index index = getIndex(model);
         final List<BeanModel> dBeans = new ArrayList<>();
         for (BeanModel bean : model.getBeans()) {
-            final BeanModel dBean = enrichBean(bean);
+            final BeanModel dBean = enrichBean(index, bean);
             dBeans.add(dBean);
         }
         final List<EnumModel> dEnums = new ArrayList<>();
         for (EnumModel enumModel : model.getEnums()) {
-            final EnumModel dEnumModel = enrichEnum(enumModel);
+            final EnumModel dEnumModel = enrichEnum(index, enumModel);
             dEnums.add(dEnumModel);
         }
         final List<RestApplicationModel> dRestApplications = new ArrayList<>();
         for (RestApplicationModel restApplication : model.getRestApplications()) {
-            final RestApplicationModel dRestApplication = enrichRestApplication(restApplication);
+            final RestApplicationModel dRestApplication = enrichRestApplication(index, restApplication);
             dRestApplications.add(dRestApplication);
         }
         return new Model(dBeans, dEnums, dRestApplications);
     }
 
-    private BeanModel enrichBean(BeanModel bean) {
+    private BeanModel enrichBean(Index index, BeanModel bean) {
         if (bean.getOrigin().isInterface()) {
-            final Interface dInterface = findJavadocInterface(bean.getOrigin(), dRoots);
+            final Interface dInterface = index.findInterface(bean.getOrigin());
             if (dInterface != null) {
-                return enrichBean(bean, dInterface.getComment(), dInterface.getTag(), dInterface.getField(), dInterface.getMethod());
+                return enrichBean(bean, dInterface.getComment(), dInterface.getTag(), index.getMembers(dInterface));
             }
         } else {
-            final Class dClass = findJavadocClass(bean.getOrigin(), dRoots);
+            final Class dClass = index.findClass(bean.getOrigin());
             if (dClass != null) {
-                return enrichBean(bean, dClass.getComment(), dClass.getTag(), dClass.getField(), dClass.getMethod());
+                return enrichBean(bean, dClass.getComment(), dClass.getTag(), index.getMembers(dClass));
             }
         }
         return bean;
     }
 
-    private BeanModel enrichBean(BeanModel bean, String beanComment, List<TagInfo> tags, List<Field> dFields, List<Method> dMethods) {
+    private BeanModel enrichBean(BeanModel bean, String beanComment, List<TagInfo> tags, Members dMembers) {
         final List<PropertyModel> enrichedProperties = new ArrayList<>();
         for (PropertyModel property : bean.getProperties()) {
-            final PropertyModel enrichedProperty = enrichProperty(property, dFields, dMethods);
+            final PropertyModel enrichedProperty = enrichProperty(property, dMembers);
             enrichedProperties.add(enrichedProperty);
         }
         return bean.withProperties(enrichedProperties).withComments(Utils.concat(getComments(beanComment, tags), bean.getComments()));
     }
 
-    private PropertyModel enrichProperty(PropertyModel property, List<Field> dFields, List<Method> dMethods) {
+    private PropertyModel enrichProperty(PropertyModel property, Members dMembers) {
         final String propertyComment;
         final List<TagInfo> tags;
         if (property.getOriginalMember() instanceof java.lang.reflect.Method) {
-            final Method dMethod = findJavadocMethod(property.getOriginalMember().getName(), dMethods);
+            final Method dMethod = dMembers.methods.get(property.getOriginalMember().getName());
             propertyComment = dMethod != null ? dMethod.getComment() : null;
             tags = dMethod != null ? dMethod.getTag() : null;
         } else if (property.getOriginalMember() instanceof java.lang.reflect.Field) {
-            final Field dField = findJavadocField(property.getOriginalMember().getName(), dFields);
+            final Field dField = dMembers.fields.get(property.getOriginalMember().getName());
             propertyComment = dField != null ? dField.getComment() : null;
             tags = dField != null ? dField.getTag() : null;
         } else {
-            final Field dField = findJavadocField(property.getName(), dFields);
+            final Field dField = dMembers.fields.get(property.getName());
             propertyComment = dField != null ? dField.getComment() : null;
             tags = dField != null ? dField.getTag() : null;
         }
         return property.withComments(getComments(propertyComment, tags));
     }
 
-    private EnumModel enrichEnum(EnumModel enumModel) {
-        final Enum dEnum = findJavadocEnum(enumModel.getOrigin(), dRoots);
+    private EnumModel enrichEnum(Index index, EnumModel enumModel) {
+        final Enum dEnum = index.findEnum(enumModel.getOrigin());
         final List<EnumMemberModel> enrichedMembers = new ArrayList<>();
         for (EnumMemberModel member : enumModel.getMembers()) {
-            final EnumMemberModel enrichedMember = enrichEnumMember(member, dEnum);
+            final EnumMemberModel enrichedMember = enrichEnumMember(index, member, dEnum);
             enrichedMembers.add(enrichedMember);
         }
         final String enumComment = dEnum != null ? dEnum.getComment() : null;
@@ -120,116 +162,119 @@ public class Javadoc {
         return enumModel.withMembers(enrichedMembers).withComments(Utils.concat(getComments(enumComment, tags), enumModel.getComments()));
     }
 
-    private EnumMemberModel enrichEnumMember(EnumMemberModel enumMember, Enum dEnum) {
-        final EnumConstant dConstant = findJavadocEnumConstant(enumMember.getPropertyName(), dEnum);
+    private EnumMemberModel enrichEnumMember(Index index, EnumMemberModel enumMember, Enum dEnum) {
+        final EnumConstant dConstant = dEnum != null ? index.getConstants(dEnum).get(enumMember.getPropertyName()) : null;
         final List<TagInfo> tags = dConstant != null ? dConstant.getTag(): null;
         final String memberComment = dConstant != null ? dConstant.getComment() : null;
         return enumMember.withComments(Utils.concat(getComments(memberComment, tags), enumMember.getComments()));
     }
 
-    private RestApplicationModel enrichRestApplication(RestApplicationModel restApplicationModel) {
+    private RestApplicationModel enrichRestApplication(Index index, RestApplicationModel restApplicationModel) {
         final List<RestMethodModel> enrichedRestMethods = new ArrayList<>();
         for (RestMethodModel restMethod : restApplicationModel.getMethods()) {
-            final RestMethodModel enrichedRestMethod = enrichRestMethod(restMethod);
+            final RestMethodModel enrichedRestMethod = enrichRestMethod(index, restMethod);
             enrichedRestMethods.add(enrichedRestMethod);
         }
         return restApplicationModel.withMethods(enrichedRestMethods);
     }
 
-    private RestMethodModel enrichRestMethod(RestMethodModel method) {
-        final Method dMethod = findJavadocMethod(method.getOriginClass(), method.getName(), dRoots);
+    private RestMethodModel enrichRestMethod(Index index, RestMethodModel method) {
+        final Method dMethod = index.findMethod(method.getOriginClass(), method.getName());
         return dMethod != null
                 ? method.withComments(getComments(dMethod.getComment(), dMethod.getTag()))
                 : method;
     }
 
-    // finders
+    // index
 
-    private static Method findJavadocMethod(java.lang.Class<?> cls, String name, List<Root> dRoots) {
-        final Class dClass = findJavadocClass(cls, dRoots);
-        final Interface dInterface = findJavadocInterface(cls, dRoots);
-        if (dClass != null) {
-            return findJavadocMethod(name, dClass.getMethod());
-        } else if (dInterface != null) {
-            return findJavadocMethod(name, dInterface.getMethod());
-        } else {
-            return null;
-        }
-    }
+    /**
+     * Hash index of javadoc classes, interfaces and enums by qualified name
+     * and of their members by name, built once for all loaded roots.
+     * When there are more elements with the same name the first one wins (same as linear search).
+     */
+    private static class Index {
+        private final Map<String, Class> dClasses = new HashMap<>();
+        private final Map<String, Interface> dInterfaces = new HashMap<>();
+        private final Map<String, Enum> dEnums = new HashMap<>();
+        private final Map<Object, Members> dMembers = new IdentityHashMap<>();
+        private final Map<Enum, Map<String, EnumConstant>> dConstants = new IdentityHashMap<>();
 
-    private static Class findJavadocClass(java.lang.Class<?> cls, List<Root> dRoots) {
-        final String name = cls.getName().replace('$', '.');
-        for (Root dRoot : dRoots) {
-            for (Package dPackage : dRoot.getPackage()) {
-                for (Class dClass : dPackage.getClazz()) {
-                    if (dClass.getQualified().equals(name)) {
-                        return dClass;
+        public Index(List<Root> dRoots) {
+            for (Root dRoot : dRoots) {
+                for (Package dPackage : dRoot.getPackage()) {
+                    for (Class dClass : dPackage.getClazz()) {
+                        dClasses.putIfAbsent(dClass.getQualified(), dClass);
+                        dMembers.put(dClass, new Members(dClass.getField(), dClass.getMethod()));
+                    }
+                    for (Interface dInterface : dPackage.getInterface()) {
+                        dInterfaces.putIfAbsent(dInterface.getQualified(), dInterface);
+                        dMembers.put(dInterface, new Members(dInterface.getField(), dInterface.getMethod()));
+                    }
+                    for (Enum dEnum : dPackage.getEnum()) {
+                        dEnums.putIfAbsent(dEnum.getQualified(), dEnum);
+                        final Map<String, EnumConstant> constants = new HashMap<>();
+                        for (EnumConstant dEnumConstant : dEnum.getConstant()) {
+                            constants.putIfAbsent(dEnumConstant.getName(), dEnumConstant);
+                        }
+                        dConstants.put(dEnum, constants);
                     }
                 }
             }
         }
-        return null;
-    }
 
-    private static Interface findJavadocInterface(java.lang.Class<?> cls, List<Root> dRoots) {
-        final String name = cls.getName().replace('$', '.');
-        for (Root dRoot : dRoots) {
-            for (Package dPackage : dRoot.getPackage()) {
-                for (Interface dInterface : dPackage.getInterface()) {
-                    if (dInterface.getQualified().equals(name)) {
-                        return dInterface;
-                    }
-                }
-            }
+        public Class findClass(java.lang.Class<?> cls) {
+            return dClasses.get(getQualifiedName(cls));
         }
-        return null;
-    }
 
-    private static Field findJavadocField(String name, List<Field> dFields) {
-        if (dFields != null) {
-            for (Field dField : dFields) {
-                if (dField.getName().equals(name)) {
-                    return dField;
-                }
-            }
+        public Interface findInterface(java.lang.Class<?> cls) {
+            return dInterfaces.get(getQualifiedName(cls));
         }
-        return null;
-    }
 
-    private static Method findJavadocMethod(String name, List<Method> dMethods) {
-        if (dMethods != null) {
-            for (Method dMethod : dMethods) {
-                if (dMethod.getName().equals(name)) {
-                    return dMethod;
-                }
-            }
+        public Enum findEnum(java.lang.Class<?> cls) {
+            return dEnums.get(getQualifiedName(cls));
         }
-        return null;
-    }
 
-    private static Enum findJavadocEnum(java.lang.Class<?> cls, List<Root> dRoots) {
-        final String name = cls.getName().replace('$', '.');
-        for (Root dRoot : dRoots) {
-            for (Package dPackage : dRoot.getPackage()) {
-                for (Enum dEnum : dPackage.getEnum()) {
-                    if (dEnum.getQualified().equals(name)) {
-                        return dEnum;
-                    }
-                }
+        public Method findMethod(java.lang.Class<?> cls, String name) {
+            final Class dClass = findClass(cls);
+            if (dClass != null) {
+                return getMembers(dClass).methods.get(name);
             }
+            final Interface dInterface = findInterface(cls);
+            if (dInterface != null) {
+                return getMembers(dInterface).methods.get(name);
+            }
+            return null;
+        }
+
+        public Members getMembers(Object dClassOrInterface) {
+            return dMembers.get(dClassOrInterface);
+        }
+
+        public Map<String, EnumConstant> getConstants(Enum dEnum) {
+            return dConstants.get(dEnum);
+        }
+
+        public static String getQualifiedName(java.lang.Class<?> cls) {
+            return cls.getName().replace('$', '.');
         }
-        return null;
     }
 
-    private static EnumConstant findJavadocEnumConstant(String name, Enum dEnum) {
-        if (dEnum != null) {
-            for (EnumConstant dEnumConstant : dEnum.getConstant()) {
-                if (dEnumConstant.getName().equals(name)) {
-                    return dEnumConstant;
+    private static class Members {
+        public final Map<String, Field> fields = new HashMap<>();
+        public final Map<String, Method> methods = new HashMap<>();
+
+        public Members(List<Field> dFields, List<Method> dMethods) {
+            if (dFields != null) {
+                for (Field dField : dFields) {
+                    fields.putIfAbsent(dField.getName(), dField);
+                }
+            }
+            if (dMethods != null) {
+                for (Method dMethod : dMethods) {
+                    methods.putIfAbsent(dMethod.getName(), dMethod);
                 }
             }
         }
-        return null;
     }
 
     private List<String> getComments(String dComments, List<TagInfo> tags) {
@@ -239,12 +284,10 @@ public class Javadoc {
         final List<String> result = new ArrayList<>();
         if (dComments != null) {
             final String nn = newline + newline;
-            final String replacedHtmlLines = dComments
-                    .replaceAll("\\s*<br>\\s*", nn)
-                    .replaceAll("\\s*<br/>\\s*", nn)
-                    .replaceAll("\\s*<br />\\s*", nn)
-                    .replaceAll("\\s*<p>\\s*", nn)
-                    .replaceAll("\\s*</p>\\s*", nn);
+            String replacedHtmlLines = dComments;
+            for (Pattern htmlLineBreak : HtmlLineBreaks) {
+                replacedHtmlLines = htmlLineBreak.matcher(replacedHtmlLines).replaceAll(nn);
+            }
             result.addAll(Utils.splitMultiline(replacedHtmlLines, true));
         }
         if (tags != null) {
@@ -0,0 +1,227 @@
+
+package cz.habarta.typescript.generator.parser;
+
+import cz.habarta.typescript.generator.xmldoclet.Class;
+import cz.habarta.typescript.generator.xmldoclet.Enum;
+import cz.habarta.typescript.generator.xmldoclet.EnumConstant;
+import cz.habarta.typescript.generator.xmldoclet.Field;
+import cz.habarta.typescript.generator.xmldoclet.Interface;
+import cz.habarta.typescript.generator.xmldoclet.Method;
+import cz.habarta.typescript.generator.xmldoclet.Package;
+import cz.habarta.typescript.generator.xmldoclet.Root;
+import cz.habarta.typescript.generator.xmldoclet.TagInfo;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+
+/**
+ * Streaming (StAX) loader of xml-doclet files.
+ * Unlike JAXB unmarshalling it reads only comments and tags of classes, interfaces, enums and their fields, methods and constants
+ * (annotations, types, parameters etc. are skipped)
+ * and only for types accepted by the filter so memory consumption doesn't depend on size of javadoc but on size of generated model.
+ */
+class JavadocXmlLoader {
+
+    private final Predicate<String> isTypeIncluded;
+
+    /**
+     * @param isTypeIncluded filter of qualified type names (nested classes separated by dot) or <code>null</code> to load all types
+     */
+    public JavadocXmlLoader(Predicate<String> isTypeIncluded) {
+        this.isTypeIncluded = isTypeIncluded;
+    }
+
+    public Root load(File file) {
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+            return load(inputStream);
+        } catch (IOException | XMLStreamException e) {
+            throw new RuntimeException(String.format("Cannot load Javadoc XML file '%s'", file), e);
+        }
+    }
+
+    public Root load(InputStream inputStream) throws XMLStreamException {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        final XMLStreamReader reader = factory.createXMLStreamReader(inputStream);
+        try {
+            final Root dRoot = new Root();
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    if (reader.getLocalName().equals("root")) {
+                        readRoot(reader, dRoot);
+                    } else {
+                        skipElement(reader);
+                    }
+                }
+            }
+            return dRoot;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void readRoot(XMLStreamReader reader, Root dRoot) throws XMLStreamException {
+        while (nextChildElement(reader)) {
+            if (reader.getLocalName().equals("package")) {
+                final Package dPackage = new Package();
+                dPackage.setName(reader.getAttributeValue(null, "name"));
+                readPackage(reader, dPackage);
+                dRoot.getPackage().add(dPackage);
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private void readPackage(XMLStreamReader reader, Package dPackage) throws XMLStreamException {
+        while (nextChildElement(reader)) {
+            final String element = reader.getLocalName();
+            final String qualified = reader.getAttributeValue(null, "qualified");
+            final boolean isType = element.equals("class") || element.equals("interface") || element.equals("enum");
+            if (!isType || (isTypeIncluded != null && (qualified == null || !isTypeIncluded.test(qualified)))) {
+                skipElement(reader);
+                continue;
+            }
+            final String name = reader.getAttributeValue(null, "name");
+            switch (element) {
+                case "class": {
+                    final Class dClass = new Class();
+                    dClass.setName(name);
+                    dClass.setQualified(qualified);
+                    readType(reader, dClass::setComment, dClass.getTag(), dClass.getField(), dClass.getMethod(), null);
+                    dPackage.getClazz().add(dClass);
+                    break;
+                }
+                case "interface": {
+                    final Interface dInterface = new Interface();
+                    dInterface.setName(name);
+                    dInterface.setQualified(qualified);
+                    readType(reader, dInterface::setComment, dInterface.getTag(), dInterface.getField(), dInterface.getMethod(), null);
+                    dPackage.getInterface().add(dInterface);
+                    break;
+                }
+                case "enum": {
+                    final Enum dEnum = new Enum();
+                    dEnum.setName(name);
+                    dEnum.setQualified(qualified);
+                    readType(reader, dEnum::setComment, dEnum.getTag(), null, null, dEnum.getConstant());
+                    dPackage.getEnum().add(dEnum);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static void readType(XMLStreamReader reader, Consumer<String> commentSetter, List<TagInfo> dTags,
+            List<Field> dFields, List<Method> dMethods, List<EnumConstant> dConstants) throws XMLStreamException {
+        while (nextChildElement(reader)) {
+            switch (reader.getLocalName()) {
+                case "comment":
+                    commentSetter.accept(reader.getElementText());
+                    break;
+                case "tag":
+                    dTags.add(readTag(reader));
+                    break;
+                case "field":
+                    if (dFields != null) {
+                        final Field dField = new Field();
+                        dField.setName(reader.getAttributeValue(null, "name"));
+                        readMember(reader, dField::setComment, dField.getTag());
+                        dFields.add(dField);
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                case "method":
+                    if (dMethods != null) {
+                        final Method dMethod = new Method();
+                        dMethod.setName(reader.getAttributeValue(null, "name"));
+                        readMember(reader, dMethod::setComment, dMethod.getTag());
+                        dMethods.add(dMethod);
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                case "constant":
+                    if (dConstants != null) {
+                        final EnumConstant dConstant = new EnumConstant();
+                        dConstant.setName(reader.getAttributeValue(null, "name"));
+                        readMember(reader, dConstant::setComment, dConstant.getTag());
+                        dConstants.add(dConstant);
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+    }
+
+    private static void readMember(XMLStreamReader reader, Consumer<String> commentSetter, List<TagInfo> dTags) throws XMLStreamException {
+        while (nextChildElement(reader)) {
+            switch (reader.getLocalName()) {
+                case "comment":
+                    commentSetter.accept(reader.getElementText());
+                    break;
+                case "tag":
+                    dTags.add(readTag(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+    }
+
+    private static TagInfo readTag(XMLStreamReader reader) throws XMLStreamException {
+        final TagInfo dTag = new TagInfo();
+        dTag.setName(reader.getAttributeValue(null, "name"));
+        dTag.setText(reader.getAttributeValue(null, "text"));
+        skipElement(reader);
+        return dTag;
+    }
+
+    /**
+     * Moves to the next child element of current element.
+     * @return <code>false</code> if end of current element was reached
+     */
+    private static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Skips current element including its content.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+}
@@ -7,6 +7,7 @@ import cz.habarta.typescript.generator.TsType;
 import cz.habarta.typescript.generator.TypeProcessor;
 import cz.habarta.typescript.generator.TypeScriptGenerator;
 import cz.habarta.typescript.generator.util.GenericsResolver;
+import cz.habarta.typescript.generator.util.ReflectionCache;
 import cz.habarta.typescript.generator.util.Utils;
 import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
@@ -111,7 +112,7 @@ public class JaxrsApplicationParser extends RestApplicationParser {
     private void parseResource(Result result, ResourceContext context, Class<?> resourceClass) {
         // subContext
         final Map<String, Type> pathParamTypes = new LinkedHashMap<>();
-        for (Field field : resourceClass.getDeclaredFields()) {
+        for (Field field : ReflectionCache.getDeclaredFields(resourceClass)) {
             final PathParam pathParamAnnotation = field.getAnnotation(PathParam.class);
             if (pathParamAnnotation != null) {
                 pathParamTypes.put(pathParamAnnotation.value(), field.getType());
@@ -119,7 +120,7 @@ public class JaxrsApplicationParser extends RestApplicationParser {
         }
         final ResourceContext subContext = context.subPathParamTypes(pathParamTypes);
         // parse resource methods
-        final List<Method> methods = Arrays.asList(resourceClass.getMethods());
+        final List<Method> methods = new ArrayList<>(ReflectionCache.getMethods(resourceClass));
         Collections.sort(methods, Utils.methodComparator());
         for (Method method : methods) {
             parseResourceMethod(result, subContext, resourceClass, method);
@@ -235,7 +236,7 @@ public class JaxrsApplicationParser extends RestApplicationParser {
     }
 
     private static HttpMethod getHttpMethod(Method method) {
-        for (Annotation annotation : method.getAnnotations()) {
+        for (Annotation annotation : ReflectionCache.getAnnotations(method)) {
             final HttpMethod httpMethodAnnotation = annotation.annotationType().getAnnotation(HttpMethod.class);
             if (httpMethodAnnotation != null) {
                 return httpMethodAnnotation;
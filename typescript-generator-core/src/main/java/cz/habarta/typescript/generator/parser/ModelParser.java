@@ -10,7 +10,7 @@ import cz.habarta.typescript.generator.compiler.EnumKind;
 import cz.habarta.typescript.generator.compiler.EnumMemberModel;
 import cz.habarta.typescript.generator.util.GenericsResolver;
 import cz.habarta.typescript.generator.util.PropertyMember;
-import cz.habarta.typescript.generator.util.Utils;
+import cz.habarta.typescript.generator.util.TypeKey;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
@@ -18,11 +18,19 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 
@@ -33,6 +41,9 @@ public abstract class ModelParser {
     private final Queue<SourceType<? extends Type>> typeQueue;
     private final TypeProcessor commonTypeProcessor;
     private final List<RestApplicationParser> restApplicationParsers;
+    private final ThreadLocal<List<SourceType<? extends Type>>> currentDiscoveredTypes = new ThreadLocal<>();
+    private final ParsedModelCache modelCache;
+    private final ThreadLocal<List<ParsedModelCache.QueuedType>> currentQueuedTypes = new ThreadLocal<>();
         
     public static abstract class Factory {
 
@@ -50,6 +61,9 @@ public abstract class ModelParser {
         this.typeQueue = new LinkedList<>();
         this.restApplicationParsers = restApplicationParsers;
         this.commonTypeProcessor = commonTypeProcessor;
+        this.modelCache = settings.parsedModelCacheFile != null
+                ? ParsedModelCache.load(settings.parsedModelCacheFile, settings, this::isTypeContextRequired)
+                : null;
     }
 
     public Model parseModel(Type type) {
@@ -59,6 +73,9 @@ public abstract class ModelParser {
     public Model parseModel(List<SourceType<Type>> types) {
         typeQueue.addAll(types);
         Model model = parseQueue();
+        if (modelCache != null) {
+            modelCache.save();
+        }
         if (!settings.ignoreSwaggerAnnotations) {
             model = Swagger.enrichModel(model);
         }
@@ -67,53 +84,204 @@ public abstract class ModelParser {
     }
 
     private Model parseQueue() {
-        final Collection<Type> parsedTypes = new ArrayList<>();  // do not use hashcodes, we can only count on `equals` since we use custom `ParameterizedType`s
+        final Set<TypeKey> parsedTypes = new HashSet<>();  // TypeKey is needed because of custom `ParameterizedType`s
         final List<BeanModel> beans = new ArrayList<>();
         final List<EnumModel> enums = new ArrayList<>();
-        SourceType<? extends Type> sourceType;
-        while ((sourceType = typeQueue.poll()) != null) {
-            if (parsedTypes.contains(sourceType.type)) {
-                continue;
+        if (settings.parallelParsing) {
+            parseQueueInParallel(parsedTypes, beans, enums);
+        } else {
+            SourceType<? extends Type> sourceType;
+            while ((sourceType = typeQueue.poll()) != null) {
+                if (!parsedTypes.add(TypeKey.of(sourceType.type))) {
+                    continue;
+                }
+                if (parseRestResource(sourceType)) {
+                    continue;
+                }
+                addDeclarationModel(parseSourceType(sourceType), beans, enums);
             }
-            parsedTypes.add(sourceType.type);
-
-            // REST resource
-            boolean parsedByRestApplicationParser = false;
-            for (RestApplicationParser restApplicationParser : restApplicationParsers) {
-                final JaxrsApplicationParser.Result jaxrsResult = restApplicationParser.tryParse(sourceType);
-                if (jaxrsResult != null) {
-                    typeQueue.addAll(jaxrsResult.discoveredTypes);
-                    parsedByRestApplicationParser = true;
+        }
+        final List<RestApplicationModel> restModels = restApplicationParsers.stream()
+                .map(RestApplicationParser::getModel)
+                .collect(Collectors.toList());
+        return new Model(beans, enums, restModels);
+    }
+
+    /**
+     * Parses types in waves. Each wave consists of all types currently in the queue.
+     * REST resources are parsed sequentially, other types are parsed in parallel.
+     * Results and newly discovered types are then processed in queue order
+     * so the resulting model is the same as when types are parsed sequentially.
+     */
+    private void parseQueueInParallel(Set<TypeKey> parsedTypes, List<BeanModel> beans, List<EnumModel> enums) {
+        final ForkJoinPool pool = new ForkJoinPool(settings.getParallelism());
+        try {
+            while (!typeQueue.isEmpty()) {
+                final List<QueuedType> wave = new ArrayList<>();
+                final List<Callable<Void>> tasks = new ArrayList<>();
+                SourceType<? extends Type> sourceType;
+                while ((sourceType = typeQueue.poll()) != null) {
+                    if (!parsedTypes.add(TypeKey.of(sourceType.type))) {
+                        continue;
+                    }
+                    final QueuedType queuedType = new QueuedType(sourceType);
+                    wave.add(queuedType);
+                    final boolean restResource = withDiscoveredTypes(queuedType.discoveredTypes, () -> parseRestResource(queuedType.sourceType));
+                    if (!restResource) {
+                        tasks.add(() -> {
+                            queuedType.model = withDiscoveredTypes(queuedType.discoveredTypes, () -> parseSourceType(queuedType.sourceType));
+                            return null;
+                        });
+                    }
+                }
+                for (Future<Void> future : pool.invokeAll(tasks)) {
+                    future.get();
                 }
+                for (QueuedType queuedType : wave) {
+                    addDeclarationModel(queuedType.model, beans, enums);
+                    typeQueue.addAll(queuedType.discoveredTypes);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-            if (parsedByRestApplicationParser) {
-                continue;
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static class QueuedType {
+        public final SourceType<? extends Type> sourceType;
+        public final List<SourceType<? extends Type>> discoveredTypes = new ArrayList<>();
+        public DeclarationModel model;
+
+        public QueuedType(SourceType<? extends Type> sourceType) {
+            this.sourceType = sourceType;
+        }
+    }
+
+    private <T> T withDiscoveredTypes(List<SourceType<? extends Type>> discoveredTypes, Supplier<T> action) {
+        currentDiscoveredTypes.set(discoveredTypes);
+        try {
+            return action.get();
+        } finally {
+            currentDiscoveredTypes.remove();
+        }
+    }
+
+    private boolean parseRestResource(SourceType<? extends Type> sourceType) {
+        boolean parsedByRestApplicationParser = false;
+        for (RestApplicationParser restApplicationParser : restApplicationParsers) {
+            final JaxrsApplicationParser.Result jaxrsResult = tryParseRestResourceUsingCache(restApplicationParser, sourceType);
+            if (jaxrsResult != null) {
+                for (SourceType<Type> discoveredType : jaxrsResult.discoveredTypes) {
+                    addBeanToQueue(discoveredType);
+                }
+                parsedByRestApplicationParser = true;
             }
+        }
+        return parsedByRestApplicationParser;
+    }
 
-            final TypeProcessor.Result result = commonTypeProcessor.processTypeInTemporaryContext(sourceType.type, null, settings);
-            if (result != null) {
-                if (sourceType.type instanceof Class<?> && result.getTsType() instanceof TsType.ReferenceType) {
-                    final Class<?> cls = (Class<?>) sourceType.type;
-                    TypeScriptGenerator.getLogger().verbose("Parsing '" + cls.getName() + "'" +
-                            (sourceType.usedInClass != null ? " used in '" + sourceType.usedInClass.getSimpleName() + "." + sourceType.usedInMember + "'" : ""));
-                    final DeclarationModel model = parseClass(sourceType.asSourceClass());
-                    if (model instanceof EnumModel) {
-                        enums.add((EnumModel) model);
-                    } else if (model instanceof BeanModel) {
-                        beans.add((BeanModel) model);
-                    } else {
-                        throw new RuntimeException();
-                    }
+    /**
+     * Only results which added some REST methods (resources, controllers) are cached,
+     * results of applications (which scan classes or change application path and name) are not.
+     */
+    private RestApplicationParser.Result tryParseRestResourceUsingCache(RestApplicationParser restApplicationParser, SourceType<? extends Type> sourceType) {
+        if (modelCache == null || !(sourceType.type instanceof Class<?>)) {
+            return restApplicationParser.tryParse(sourceType);
+        }
+        final Class<?> cls = (Class<?>) sourceType.type;
+        final RestApplicationModel restModel = restApplicationParser.getModel();
+        final ParsedModelCache.RestResourceResult cached = modelCache.getRestResource(cls, restModel.getType());
+        if (cached != null) {
+            restModel.getMethods().addAll(cached.methods);
+            return restApplicationParser.createResult(cached.foundTypes);
+        }
+        final int originalMethodCount = restModel.getMethods().size();
+        final String originalApplicationPath = restModel.getApplicationPath();
+        final String originalApplicationName = restModel.getApplicationName();
+        final List<SourceType<Type>> foundTypes = new ArrayList<>();
+        final RestApplicationParser.Result result = restApplicationParser.tryParse(sourceType, foundTypes);
+        if (result != null
+                && restModel.getMethods().size() > originalMethodCount
+                && Objects.equals(originalApplicationPath, restModel.getApplicationPath())
+                && Objects.equals(originalApplicationName, restModel.getApplicationName())) {
+            final List<RestMethodModel> methods = new ArrayList<>(restModel.getMethods().subList(originalMethodCount, restModel.getMethods().size()));
+            modelCache.putRestResource(cls, restModel.getType(), methods, foundTypes);
+        }
+        return result;
+    }
+
+    private DeclarationModel parseSourceType(SourceType<? extends Type> sourceType) {
+        DeclarationModel model = null;
+        final TypeProcessor.Result result = commonTypeProcessor.processTypeInTemporaryContext(sourceType.type, null, settings);
+        if (result != null) {
+            if (sourceType.type instanceof Class<?> && result.getTsType() instanceof TsType.ReferenceType) {
+                final Class<?> cls = (Class<?>) sourceType.type;
+                TypeScriptGenerator.getLogger().verbose("Parsing '" + cls.getName() + "'" +
+                        (sourceType.usedInClass != null ? " used in '" + sourceType.usedInClass.getSimpleName() + "." + sourceType.usedInMember + "'" : ""));
+                model = parseClassUsingCache(sourceType.asSourceClass());
+                if (!(model instanceof EnumModel) && !(model instanceof BeanModel)) {
+                    throw new RuntimeException();
                 }
-                for (Class<?> cls : result.getDiscoveredClasses()) {
-                    typeQueue.add(new SourceType<>(cls, sourceType.usedInClass, sourceType.usedInMember));
+            }
+            for (Class<?> cls : result.getDiscoveredClasses()) {
+                addBeanToQueue(new SourceType<>(cls, sourceType.usedInClass, sourceType.usedInMember));
+            }
+        }
+        return model;
+    }
+
+    private DeclarationModel parseClassUsingCache(SourceType<Class<?>> sourceClass) {
+        if (modelCache == null) {
+            return parseClass(sourceClass);
+        }
+        final ParsedModelCache.Result cached = modelCache.get(sourceClass.type);
+        if (cached != null) {
+            for (ParsedModelCache.QueuedType queuedType : cached.queuedTypes) {
+                if (queuedType.discoverUsedClasses) {
+                    queueClassesUsedInType(queuedType.sourceType.type, null, queuedType.sourceType.usedInClass, queuedType.sourceType.usedInMember);
+                } else {
+                    enqueue(queuedType.sourceType);
                 }
             }
+            return cached.model;
+        }
+        final List<ParsedModelCache.QueuedType> queuedTypes = new ArrayList<>();
+        currentQueuedTypes.set(queuedTypes);
+        final DeclarationModel model;
+        try {
+            model = parseClass(sourceClass);
+        } finally {
+            currentQueuedTypes.remove();
+        }
+        modelCache.put(sourceClass.type, model, queuedTypes);
+        return model;
+    }
+
+    /**
+     * Returns <code>true</code> if processing of property type depends on its type context
+     * so the property cannot be restored from {@link ParsedModelCache} (where type context is not stored).
+     */
+    protected boolean isTypeContextRequired(PropertyModel property) {
+        return property.getContext() != null;
+    }
+
+    private static void addDeclarationModel(DeclarationModel model, List<BeanModel> beans, List<EnumModel> enums) {
+        if (model instanceof EnumModel) {
+            enums.add((EnumModel) model);
+        } else if (model instanceof BeanModel) {
+            beans.add((BeanModel) model);
         }
-        final List<RestApplicationModel> restModels = restApplicationParsers.stream()
-                .map(RestApplicationParser::getModel)
-                .collect(Collectors.toList());
-        return new Model(beans, enums, restModels);
     }
 
     protected abstract DeclarationModel parseClass(SourceType<Class<?>> sourceClass);
@@ -135,13 +303,17 @@ public abstract class ModelParser {
     }
 
     protected boolean isAnnotatedPropertyIncluded(Function<Class<? extends Annotation>, Annotation> getAnnotationFunction, String propertyDescription) {
+        return isPropertyIncluded(annotationClass -> getAnnotationFunction.apply(annotationClass) != null, propertyDescription);
+    }
+
+    protected boolean isPropertyIncluded(Predicate<Class<? extends Annotation>> hasAnnotation, String propertyDescription) {
         boolean isIncluded = settings.includePropertyAnnotations.isEmpty()
-                || Utils.hasAnyAnnotation(getAnnotationFunction, settings.includePropertyAnnotations);
+                || settings.includePropertyAnnotations.stream().anyMatch(hasAnnotation);
         if (!isIncluded) {
             TypeScriptGenerator.getLogger().verbose("Skipping '" + propertyDescription + "' because it doesn't have any annotation from 'includePropertyAnnotations'");
             return false;
         }
-        boolean isExcluded = Utils.hasAnyAnnotation(getAnnotationFunction, settings.excludePropertyAnnotations);
+        boolean isExcluded = settings.excludePropertyAnnotations.stream().anyMatch(hasAnnotation);
         if (isExcluded) {
             TypeScriptGenerator.getLogger().verbose("Skipping '" + propertyDescription + "' because it has some annotation from 'excludePropertyAnnotations'");
             return false;
@@ -150,11 +322,15 @@ public abstract class ModelParser {
     }
 
     protected boolean isPropertyOptional(PropertyMember propertyMember) {
+        return isPropertyOptional(annotationClass -> propertyMember.getAnnotation(annotationClass) != null);
+    }
+
+    protected boolean isPropertyOptional(Predicate<Class<? extends Annotation>> hasAnnotation) {
         if (settings.optionalProperties == OptionalProperties.all) {
             return true;
         }
         if (settings.optionalProperties == null || settings.optionalProperties == OptionalProperties.useSpecifiedAnnotations) {
-            return Utils.hasAnyAnnotation(propertyMember::getAnnotation, settings.optionalAnnotations);
+            return settings.optionalAnnotations.stream().anyMatch(hasAnnotation);
         }
         return false;
     }
@@ -172,18 +348,46 @@ public abstract class ModelParser {
     }
 
     protected void addBeanToQueue(SourceType<? extends Type> sourceType) {
-        typeQueue.add(sourceType);
+        final List<ParsedModelCache.QueuedType> queuedTypes = currentQueuedTypes.get();
+        if (queuedTypes != null) {
+            queuedTypes.add(new ParsedModelCache.QueuedType(sourceType, false));
+        }
+        enqueue(sourceType);
+    }
+
+    private void enqueue(SourceType<? extends Type> sourceType) {
+        final List<SourceType<? extends Type>> discoveredTypes = currentDiscoveredTypes.get();
+        if (discoveredTypes != null) {
+            discoveredTypes.add(sourceType);
+        } else {
+            typeQueue.add(sourceType);
+        }
     }
 
     protected PropertyModel processTypeAndCreateProperty(String name, Type type, Object typeContext, boolean optional, Class<?> usedInClass, Member originalMember, PropertyModel.PullProperties pullProperties, List<String> comments) {
-        final Type resolvedType = GenericsResolver.resolveType(usedInClass, type, originalMember.getDeclaringClass());
-        final List<Class<?>> classes = commonTypeProcessor.discoverClassesUsedInType(resolvedType, typeContext, settings);
-        for (Class<?> cls : classes) {
-            typeQueue.add(new SourceType<>(cls, usedInClass, name));
+        return processTypeAndCreateProperty(name, type, typeContext, optional, usedInClass, originalMember.getDeclaringClass(), originalMember, pullProperties, comments);
+    }
+
+    /**
+     * @param originalMember reflection member of the property, can be <code>null</code> if property was not parsed using reflection
+     */
+    protected PropertyModel processTypeAndCreateProperty(String name, Type type, Object typeContext, boolean optional, Class<?> usedInClass, Class<?> declaringClass, Member originalMember, PropertyModel.PullProperties pullProperties, List<String> comments) {
+        final Type resolvedType = GenericsResolver.resolveType(usedInClass, type, declaringClass);
+        final List<ParsedModelCache.QueuedType> queuedTypes = currentQueuedTypes.get();
+        if (queuedTypes != null) {
+            queuedTypes.add(new ParsedModelCache.QueuedType(new SourceType<>(resolvedType, usedInClass, name), true));
         }
+        queueClassesUsedInType(resolvedType, typeContext, usedInClass, name);
         return new PropertyModel(name, resolvedType, optional, originalMember, pullProperties, typeContext, comments);
     }
 
+    private void queueClassesUsedInType(Type type, Object typeContext, Class<?> usedInClass, String usedInMember) {
+        final List<Class<?>> classes = commonTypeProcessor.discoverClassesUsedInType(type, typeContext, settings);
+        for (Class<?> cls : classes) {
+            enqueue(new SourceType<>(cls, usedInClass, usedInMember));
+        }
+    }
+
     public static boolean containsProperty(List<PropertyModel> properties, String propertyName) {
         for (PropertyModel property : properties) {
             if (property.getName().equals(propertyName)) {
@@ -0,0 +1,805 @@
+
+package cz.habarta.typescript.generator.parser;
+
+import cz.habarta.typescript.generator.Jackson2ConfigurationResolved;
+import cz.habarta.typescript.generator.Settings;
+import cz.habarta.typescript.generator.TypeScriptGenerator;
+import cz.habarta.typescript.generator.compiler.EnumKind;
+import cz.habarta.typescript.generator.compiler.EnumMemberModel;
+import cz.habarta.typescript.generator.util.GenericTypes;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Persistent cache of parsed classes ({@link BeanModel}s and {@link EnumModel}s) and REST resources ({@link RestMethodModel}s) stored in cache file.
+ * Cached model is used if class files of the class, its supertypes and classes referenced from the model
+ * have the same content hash as when the model was parsed and settings affecting parsing didn't change.
+ * Types queued for parsing by parser are cached with the model so they can be queued again,
+ * types found in REST resources are cached before they are filtered by exclusion settings,
+ * classes used in property types are discovered again using current type processor.
+ * Models which cannot be restored (custom type implementations, type context required by type processor, ...) are not cached.
+ * Only entries used in the last run are saved.
+ */
+class ParsedModelCache {
+
+    private static final int FormatVersion = 2;
+    private static final Map<String, Class<?>> PrimitiveClasses = Stream
+            .of(boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class, void.class)
+            .collect(Collectors.toMap(Class::getName, cls -> cls));
+
+    private final File cacheFile;
+    private final Predicate<PropertyModel> typeContextRequired;
+    private final String settingsHash;
+    private final Map<String, String> cachedHashes;
+    private final Map<String, CachedEntry> cachedEntries;
+    private final Map<String, Optional<String>> currentHashes = new ConcurrentHashMap<>();
+    private final Map<String, CachedEntry> usedEntries = new ConcurrentHashMap<>();
+    private final AtomicInteger loadedCount = new AtomicInteger();
+    private final AtomicInteger parsedCount = new AtomicInteger();
+    private volatile boolean modified = false;
+
+    private ParsedModelCache(File cacheFile, Predicate<PropertyModel> typeContextRequired, String settingsHash, Map<String, String> cachedHashes, Map<String, CachedEntry> cachedEntries) {
+        this.cacheFile = cacheFile;
+        this.typeContextRequired = typeContextRequired;
+        this.settingsHash = settingsHash;
+        this.cachedHashes = cachedHashes;
+        this.cachedEntries = cachedEntries;
+    }
+
+    /**
+     * Type queued for parsing while parsing a class.
+     */
+    public static class QueuedType {
+        public final SourceType<? extends Type> sourceType;
+        public final boolean discoverUsedClasses;
+
+        /**
+         * @param discoverUsedClasses if <code>true</code> classes used in the type are discovered and queued instead of the type itself
+         */
+        public QueuedType(SourceType<? extends Type> sourceType, boolean discoverUsedClasses) {
+            this.sourceType = sourceType;
+            this.discoverUsedClasses = discoverUsedClasses;
+        }
+    }
+
+    public static class Result {
+        public final DeclarationModel model;
+        public final List<QueuedType> queuedTypes;
+
+        public Result(DeclarationModel model, List<QueuedType> queuedTypes) {
+            this.model = model;
+            this.queuedTypes = queuedTypes;
+        }
+    }
+
+    public static class RestResourceResult {
+        public final List<RestMethodModel> methods;
+        public final List<SourceType<Type>> foundTypes;
+
+        public RestResourceResult(List<RestMethodModel> methods, List<SourceType<Type>> foundTypes) {
+            this.methods = methods;
+            this.foundTypes = foundTypes;
+        }
+    }
+
+    /**
+     * @param typeContextRequired returns <code>true</code> for properties which cannot be cached because type processor needs their type context
+     */
+    public static ParsedModelCache load(File cacheFile, Settings settings, Predicate<PropertyModel> typeContextRequired) {
+        final String settingsHash = computeHash(getSettingsKey(settings).getBytes(StandardCharsets.UTF_8));
+        final Map<String, String> hashes = new HashMap<>();
+        final Map<String, CachedEntry> entries = new HashMap<>();
+        if (cacheFile.isFile()) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(cacheFile))))) {
+                if (input.readInt() == FormatVersion && input.readUTF().equals(settingsHash)) {
+                    final int hashCount = input.readInt();
+                    for (int i = 0; i < hashCount; i++) {
+                        hashes.put(input.readUTF(), input.readUTF());
+                    }
+                    final int entryCount = input.readInt();
+                    for (int i = 0; i < entryCount; i++) {
+                        final String className = input.readUTF();
+                        final List<String> dependencies = readStrings(input);
+                        final byte[] data = new byte[input.readInt()];
+                        input.readFully(data);
+                        entries.put(className, new CachedEntry(dependencies, data));
+                    }
+                }
+            } catch (IOException e) {
+                TypeScriptGenerator.getLogger().warning(String.format("Cannot read parsed model cache file '%s': %s", cacheFile, e.getMessage()));
+                hashes.clear();
+                entries.clear();
+            }
+        }
+        return new ParsedModelCache(cacheFile, typeContextRequired, settingsHash, hashes, entries);
+    }
+
+    /**
+     * Returns cached model of the class or <code>null</code> if the class needs to be parsed.
+     */
+    public Result get(Class<?> cls) {
+        return read(cls.getName(), cls, reader -> reader.readResult(cls));
+    }
+
+    public void put(Class<?> cls, DeclarationModel model, List<QueuedType> queuedTypes) {
+        write(cls.getName(), cls, writer -> writer.writeResult(model, queuedTypes));
+    }
+
+    /**
+     * Returns cached methods and found types of REST resource or <code>null</code> if the resource needs to be parsed.
+     */
+    public RestResourceResult getRestResource(Class<?> cls, RestApplicationType type) {
+        return read(getRestResourceKey(cls, type), cls, ModelReader::readRestResource);
+    }
+
+    public void putRestResource(Class<?> cls, RestApplicationType type, List<RestMethodModel> methods, List<SourceType<Type>> foundTypes) {
+        write(getRestResourceKey(cls, type), cls, writer -> writer.writeRestResource(methods, foundTypes));
+    }
+
+    private static String getRestResourceKey(Class<?> cls, RestApplicationType type) {
+        return type + " resource " + cls.getName();
+    }
+
+    private <T> T read(String key, Class<?> cls, EntryReader<T> entryReader) {
+        final CachedEntry entry = cachedEntries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        for (String dependency : entry.dependencies) {
+            final Optional<String> currentHash = getCurrentHash(cls.getClassLoader(), dependency);
+            if (!currentHash.isPresent() || !currentHash.get().equals(cachedHashes.get(dependency))) {
+                return null;
+            }
+        }
+        try {
+            final T result = entryReader.read(new ModelReader(entry.data, cls.getClassLoader()));
+            usedEntries.put(key, entry);
+            loadedCount.incrementAndGet();
+            return result;
+        } catch (IOException | ReflectiveOperationException | LinkageError e) {
+            TypeScriptGenerator.getLogger().verbose(String.format("Cannot restore cached model of '%s': %s", key, e));
+            return null;
+        }
+    }
+
+    private void write(String key, Class<?> cls, EntryWriter entryWriter) {
+        parsedCount.incrementAndGet();
+        try {
+            final ModelWriter writer = new ModelWriter();
+            entryWriter.write(writer);
+            final List<String> dependencies = new ArrayList<>();
+            for (Class<?> dependency : writer.getDependencies(cls)) {
+                if (!getCurrentHash(dependency.getClassLoader(), dependency.getName()).isPresent()) {
+                    return;
+                }
+                dependencies.add(dependency.getName());
+            }
+            usedEntries.put(key, new CachedEntry(dependencies, writer.toByteArray()));
+            modified = true;
+        } catch (UncacheableModelException | IOException e) {
+            TypeScriptGenerator.getLogger().verbose(String.format("Model of '%s' is not cached: %s", key, e.getMessage()));
+        }
+    }
+
+    public void save() {
+        TypeScriptGenerator.getLogger().info(String.format("Parsed model cache: %d classes loaded from cache, %d classes parsed.", loadedCount.get(), parsedCount.get()));
+        if (!modified && usedEntries.size() == cachedEntries.size()) {
+            return;
+        }
+        try {
+            final File directory = cacheFile.getAbsoluteFile().getParentFile();
+            directory.mkdirs();
+            final File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", directory);
+            final Map<String, CachedEntry> entries = new LinkedHashMap<>(usedEntries);
+            final Set<String> dependencies = new LinkedHashSet<>();
+            for (CachedEntry entry : entries.values()) {
+                dependencies.addAll(entry.dependencies);
+            }
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tempFile))))) {
+                output.writeInt(FormatVersion);
+                output.writeUTF(settingsHash);
+                output.writeInt(dependencies.size());
+                for (String dependency : dependencies) {
+                    output.writeUTF(dependency);
+                    output.writeUTF(currentHashes.get(dependency).get());
+                }
+                output.writeInt(entries.size());
+                for (Map.Entry<String, CachedEntry> entry : entries.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    writeStrings(output, entry.getValue().dependencies);
+                    output.writeInt(entry.getValue().data.length);
+                    output.write(entry.getValue().data);
+                }
+            }
+            // replaced atomically so concurrent builds don't see partially written file
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            TypeScriptGenerator.getLogger().warning(String.format("Cannot write parsed model cache file '%s': %s", cacheFile, e.getMessage()));
+        }
+        modified = false;
+    }
+
+    private Optional<String> getCurrentHash(ClassLoader classLoader, String className) {
+        return currentHashes.computeIfAbsent(className, name -> {
+            final String resourceName = name.replace('.', '/') + ".class";
+            try (InputStream inputStream = classLoader != null
+                    ? classLoader.getResourceAsStream(resourceName)
+                    : ClassLoader.getSystemResourceAsStream(resourceName)) {
+                if (inputStream == null) {
+                    return Optional.empty();
+                }
+                final ByteArrayOutputStream content = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[8192];
+                int length;
+                while ((length = inputStream.read(buffer)) != -1) {
+                    content.write(buffer, 0, length);
+                }
+                return Optional.of(computeHash(content.toByteArray()));
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private static String computeHash(byte[] data) {
+        try {
+            final StringBuilder sb = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(data)) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Values of settings which affect models created by parsers.
+     * Settings used only by type processors don't need to be included since classes used in property types are discovered again.
+     */
+    private static String getSettingsKey(Settings settings) {
+        final Jackson2ConfigurationResolved jackson2Configuration = settings.jackson2Configuration;
+        final List<Object> values = Arrays.asList(
+                TypeScriptGenerator.Version,
+                settings.jsonLibrary,
+                jackson2Configuration == null ? null : Arrays.asList(
+                        jackson2Configuration.fieldVisibility,
+                        jackson2Configuration.getterVisibility,
+                        jackson2Configuration.isGetterVisibility,
+                        jackson2Configuration.setterVisibility,
+                        jackson2Configuration.creatorVisibility,
+                        getClassNames(jackson2Configuration.shapeConfigOverrides != null ? jackson2Configuration.shapeConfigOverrides.keySet() : null),
+                        jackson2Configuration.shapeConfigOverrides != null ? jackson2Configuration.shapeConfigOverrides.values() : null,
+                        jackson2Configuration.enumsUsingToString,
+                        jackson2Configuration.disableObjectIdentityFeature),
+                settings.jackson2ModuleDiscovery,
+                getClassNames(settings.jackson2Modules),
+                settings.optionalProperties,
+                getClassNames(settings.optionalAnnotations),
+                getClassNames(settings.includePropertyAnnotations),
+                getClassNames(settings.excludePropertyAnnotations),
+                settings.ignoreSwaggerAnnotations,
+                settings.javadocXmlFiles,
+                settings.bytecodeParsing
+        );
+        return values.toString();
+    }
+
+    private static List<String> getClassNames(Collection<? extends Class<?>> classes) {
+        return classes != null
+                ? classes.stream().map((Class<?> cls) -> cls.getName()).collect(Collectors.toList())
+                : null;
+    }
+
+    private static List<String> readStrings(DataInputStream input) throws IOException {
+        final int count = input.readInt();
+        final List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            strings.add(input.readUTF());
+        }
+        return strings;
+    }
+
+    private static void writeStrings(DataOutputStream output, List<String> strings) throws IOException {
+        output.writeInt(strings.size());
+        for (String string : strings) {
+            output.writeUTF(string);
+        }
+    }
+
+    private static boolean isJdkClass(Class<?> cls) {
+        final String name = cls.getName();
+        return cls.isPrimitive() || name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private static class CachedEntry {
+        public final List<String> dependencies;
+        public final byte[] data;
+
+        public CachedEntry(List<String> dependencies, byte[] data) {
+            this.dependencies = dependencies;
+            this.data = data;
+        }
+    }
+
+    private static class UncacheableModelException extends Exception {
+        private static final long serialVersionUID = 1;
+
+        public UncacheableModelException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private interface ItemWriter<T> {
+        public void write(T item) throws IOException, UncacheableModelException;
+    }
+
+    private interface ItemReader<T> {
+        public T read() throws IOException, ReflectiveOperationException;
+    }
+
+    private interface EntryWriter {
+        public void write(ModelWriter writer) throws IOException, UncacheableModelException;
+    }
+
+    private interface EntryReader<T> {
+        public T read(ModelReader reader) throws IOException, ReflectiveOperationException;
+    }
+
+    private class ModelWriter {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream output = new DataOutputStream(bytes);
+        private final Set<Class<?>> usedClasses = new LinkedHashSet<>();
+
+        public void writeResult(DeclarationModel model, List<QueuedType> queuedTypes) throws IOException, UncacheableModelException {
+            if (model instanceof BeanModel) {
+                output.writeByte('B');
+                writeBean((BeanModel) model);
+            } else if (model instanceof EnumModel) {
+                output.writeByte('E');
+                writeEnum((EnumModel) model);
+            } else {
+                throw new UncacheableModelException("unsupported model " + model);
+            }
+            output.writeInt(queuedTypes.size());
+            for (QueuedType queuedType : queuedTypes) {
+                writeSourceType(queuedType.sourceType);
+                output.writeBoolean(queuedType.discoverUsedClasses);
+            }
+        }
+
+        public void writeRestResource(List<RestMethodModel> methods, List<SourceType<Type>> foundTypes) throws IOException, UncacheableModelException {
+            writeNullableList(methods, this::writeRestMethod);
+            writeNullableList(foundTypes, this::writeSourceType);
+        }
+
+        private void writeSourceType(SourceType<? extends Type> sourceType) throws IOException, UncacheableModelException {
+            writeType(sourceType.type);
+            writeNullableString(sourceType.usedInClass != null ? sourceType.usedInClass.getName() : null);
+            writeNullableString(sourceType.usedInMember);
+        }
+
+        private void writeRestMethod(RestMethodModel method) throws IOException, UncacheableModelException {
+            if (method.getClass() != RestMethodModel.class) {
+                throw new UncacheableModelException("unsupported method model " + method.getClass().getName());
+            }
+            writeType(method.getOriginClass());
+            output.writeUTF(method.getName());
+            writeType(method.getReturnType());
+            writeType(method.getRootResource());
+            output.writeUTF(method.getHttpMethod());
+            writeNullableString(method.getPath());
+            writeNullableList(method.getPathParams(), this::writeMethodParameter);
+            writeNullableList(method.getQueryParams(), this::writeQueryParam);
+            output.writeBoolean(method.getEntityParam() != null);
+            if (method.getEntityParam() != null) {
+                writeMethodParameter(method.getEntityParam());
+            }
+            writeNullableList(method.getComments(), output::writeUTF);
+        }
+
+        private void writeMethodParameter(MethodParameterModel parameter) throws IOException, UncacheableModelException {
+            output.writeUTF(parameter.getName());
+            writeType(parameter.getType());
+        }
+
+        private void writeQueryParam(RestQueryParam queryParam) throws IOException, UncacheableModelException {
+            if (queryParam instanceof RestQueryParam.Single) {
+                output.writeByte('S');
+                writeMethodParameter(((RestQueryParam.Single) queryParam).getQueryParam());
+                output.writeBoolean(queryParam.required);
+            } else if (queryParam instanceof RestQueryParam.Bean) {
+                final BeanModel bean = ((RestQueryParam.Bean) queryParam).getBean();
+                output.writeByte('B');
+                writeType(bean.getOrigin());
+                writeBean(bean);
+            } else {
+                throw new UncacheableModelException("unsupported query parameter " + queryParam);
+            }
+        }
+
+        private void writeBean(BeanModel bean) throws IOException, UncacheableModelException {
+            writeNullableType(bean.getParent());
+            writeNullableList(bean.getTaggedUnionClasses(), this::writeType);
+            writeNullableString(bean.getDiscriminantProperty());
+            writeNullableString(bean.getDiscriminantLiteral());
+            writeNullableList(bean.getInterfaces(), this::writeType);
+            writeNullableList(bean.getProperties(), this::writeProperty);
+            writeNullableList(bean.getComments(), output::writeUTF);
+        }
+
+        private void writeProperty(PropertyModel property) throws IOException, UncacheableModelException {
+            if (typeContextRequired.test(property)) {
+                throw new UncacheableModelException("property '" + property.getName() + "' requires type context");
+            }
+            output.writeUTF(property.getName());
+            writeType(property.getType());
+            output.writeBoolean(property.isOptional());
+            writeMember(property.getOriginalMember());
+            final PropertyModel.PullProperties pullProperties = property.getPullProperties();
+            output.writeBoolean(pullProperties != null);
+            if (pullProperties != null) {
+                writeNullableString(pullProperties.prefix);
+                writeNullableString(pullProperties.suffix);
+            }
+            writeNullableList(property.getComments(), output::writeUTF);
+        }
+
+        private void writeMember(Member member) throws IOException, UncacheableModelException {
+            if (member == null) {
+                output.writeByte('N');
+            } else if (member instanceof Field) {
+                output.writeByte('F');
+                writeType(member.getDeclaringClass());
+                output.writeUTF(member.getName());
+            } else if (member instanceof Method) {
+                output.writeByte('M');
+                writeType(member.getDeclaringClass());
+                output.writeUTF(member.getName());
+                writeNullableList(Arrays.asList(((Method) member).getParameterTypes()), this::writeType);
+            } else {
+                throw new UncacheableModelException("unsupported member " + member);
+            }
+        }
+
+        private void writeEnum(EnumModel enumModel) throws IOException, UncacheableModelException {
+            output.writeUTF(enumModel.getKind().name());
+            writeNullableList(enumModel.getMembers(), member -> {
+                output.writeUTF(member.getPropertyName());
+                final Object value = member.getEnumValue();
+                if (value instanceof String) {
+                    output.writeByte('S');
+                    output.writeUTF((String) value);
+                } else if (value instanceof Integer) {
+                    output.writeByte('I');
+                    output.writeInt((Integer) value);
+                } else if (value instanceof Long) {
+                    output.writeByte('J');
+                    output.writeLong((Long) value);
+                } else if (value instanceof Double) {
+                    output.writeByte('D');
+                    output.writeDouble((Double) value);
+                } else if (value instanceof BigInteger || value instanceof BigDecimal) {
+                    output.writeByte(value instanceof BigInteger ? 'G' : 'L');
+                    output.writeUTF(value.toString());
+                } else {
+                    throw new UncacheableModelException("unsupported enum value " + value);
+                }
+                writeNullableList(member.getComments(), output::writeUTF);
+            });
+            writeNullableList(enumModel.getComments(), output::writeUTF);
+        }
+
+        private void writeNullableType(Type type) throws IOException, UncacheableModelException {
+            output.writeBoolean(type != null);
+            if (type != null) {
+                writeType(type);
+            }
+        }
+
+        private void writeType(Type type) throws IOException, UncacheableModelException {
+            if (type instanceof Class<?>) {
+                final Class<?> cls = (Class<?>) type;
+                output.writeByte('C');
+                output.writeUTF(cls.getName());
+                Class<?> componentClass = cls;
+                while (componentClass.isArray()) {
+                    componentClass = componentClass.getComponentType();
+                }
+                usedClasses.add(componentClass);
+            } else if (type instanceof ParameterizedType) {
+                final ParameterizedType parameterizedType = (ParameterizedType) type;
+                output.writeByte('P');
+                writeNullableType(parameterizedType.getOwnerType());
+                writeType(parameterizedType.getRawType());
+                writeNullableList(Arrays.asList(parameterizedType.getActualTypeArguments()), this::writeType);
+            } else if (type instanceof GenericArrayType) {
+                output.writeByte('A');
+                writeType(((GenericArrayType) type).getGenericComponentType());
+            } else if (type instanceof WildcardType) {
+                final WildcardType wildcardType = (WildcardType) type;
+                output.writeByte('W');
+                writeNullableList(Arrays.asList(wildcardType.getUpperBounds()), this::writeType);
+                writeNullableList(Arrays.asList(wildcardType.getLowerBounds()), this::writeType);
+            } else if (type instanceof TypeVariable<?> && ((TypeVariable<?>) type).getGenericDeclaration() instanceof Class<?>) {
+                final TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+                output.writeByte('V');
+                writeType((Class<?>) typeVariable.getGenericDeclaration());
+                output.writeUTF(typeVariable.getName());
+            } else {
+                throw new UncacheableModelException("unsupported type " + type);
+            }
+        }
+
+        private void writeNullableString(String string) throws IOException {
+            output.writeBoolean(string != null);
+            if (string != null) {
+                output.writeUTF(string);
+            }
+        }
+
+        private <T> void writeNullableList(List<T> list, ItemWriter<T> itemWriter) throws IOException, UncacheableModelException {
+            output.writeInt(list != null ? list.size() : -1);
+            if (list != null) {
+                for (T item : list) {
+                    itemWriter.write(item);
+                }
+            }
+        }
+
+        /**
+         * Classes whose class files affect the model: the parsed class, all used classes and their supertypes (except JDK classes).
+         */
+        public Set<Class<?>> getDependencies(Class<?> parsedClass) {
+            final Set<Class<?>> dependencies = new LinkedHashSet<>();
+            addDependency(parsedClass, dependencies);
+            for (Class<?> cls : usedClasses) {
+                addDependency(cls, dependencies);
+            }
+            return dependencies;
+        }
+
+        private void addDependency(Class<?> cls, Set<Class<?>> dependencies) {
+            if (cls == null || isJdkClass(cls) || !dependencies.add(cls)) {
+                return;
+            }
+            addDependency(cls.getSuperclass(), dependencies);
+            for (Class<?> aInterface : cls.getInterfaces()) {
+                addDependency(aInterface, dependencies);
+            }
+            addDependency(cls.getDeclaringClass(), dependencies);
+        }
+
+        public byte[] toByteArray() throws IOException {
+            output.flush();
+            return bytes.toByteArray();
+        }
+    }
+
+    private static class ModelReader {
+        private final DataInputStream input;
+        private final ClassLoader classLoader;
+
+        public ModelReader(byte[] data, ClassLoader classLoader) {
+            this.input = new DataInputStream(new ByteArrayInputStream(data));
+            this.classLoader = classLoader;
+        }
+
+        public Result readResult(Class<?> cls) throws IOException, ReflectiveOperationException {
+            final byte kind = input.readByte();
+            final DeclarationModel model = kind == 'B' ? readBean(cls) : readEnum(cls);
+            final int count = input.readInt();
+            final List<QueuedType> queuedTypes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final SourceType<Type> sourceType = readSourceType();
+                final boolean discoverUsedClasses = input.readBoolean();
+                queuedTypes.add(new QueuedType(sourceType, discoverUsedClasses));
+            }
+            return new Result(model, queuedTypes);
+        }
+
+        public RestResourceResult readRestResource() throws IOException, ReflectiveOperationException {
+            final List<RestMethodModel> methods = readNullableList(this::readRestMethod);
+            final List<SourceType<Type>> foundTypes = readNullableList(this::readSourceType);
+            return new RestResourceResult(methods, foundTypes);
+        }
+
+        private SourceType<Type> readSourceType() throws IOException, ReflectiveOperationException {
+            final Type type = readType();
+            final String usedInClass = readNullableString();
+            final String usedInMember = readNullableString();
+            return new SourceType<>(type, usedInClass != null ? loadClass(usedInClass) : null, usedInMember);
+        }
+
+        private RestMethodModel readRestMethod() throws IOException, ReflectiveOperationException {
+            final Class<?> originClass = (Class<?>) readType();
+            final String name = input.readUTF();
+            final Type returnType = readType();
+            final Class<?> rootResource = (Class<?>) readType();
+            final String httpMethod = input.readUTF();
+            final String path = readNullableString();
+            final List<MethodParameterModel> pathParams = readNullableList(this::readMethodParameter);
+            final List<RestQueryParam> queryParams = readNullableList(this::readQueryParam);
+            final MethodParameterModel entityParam = input.readBoolean() ? readMethodParameter() : null;
+            final List<String> comments = readNullableList(input::readUTF);
+            return new RestMethodModel(originClass, name, returnType, rootResource, httpMethod, path, pathParams, queryParams, entityParam, comments);
+        }
+
+        private MethodParameterModel readMethodParameter() throws IOException, ReflectiveOperationException {
+            final String name = input.readUTF();
+            return new MethodParameterModel(name, readType());
+        }
+
+        private RestQueryParam readQueryParam() throws IOException, ReflectiveOperationException {
+            final byte kind = input.readByte();
+            if (kind == 'S') {
+                final MethodParameterModel queryParam = readMethodParameter();
+                return new RestQueryParam.Single(queryParam, input.readBoolean());
+            }
+            final Class<?> beanClass = (Class<?>) readType();
+            return new RestQueryParam.Bean(readBean(beanClass));
+        }
+
+        private BeanModel readBean(Class<?> cls) throws IOException, ReflectiveOperationException {
+            final Type parent = readNullableType();
+            final List<Class<?>> taggedUnionClasses = readNullableList(() -> (Class<?>) readType());
+            final String discriminantProperty = readNullableString();
+            final String discriminantLiteral = readNullableString();
+            final List<Type> interfaces = readNullableList(this::readType);
+            final List<PropertyModel> properties = readNullableList(this::readProperty);
+            final List<String> comments = readNullableList(input::readUTF);
+            return new BeanModel(cls, parent, taggedUnionClasses, discriminantProperty, discriminantLiteral, interfaces, properties, comments);
+        }
+
+        private PropertyModel readProperty() throws IOException, ReflectiveOperationException {
+            final String name = input.readUTF();
+            final Type type = readType();
+            final boolean optional = input.readBoolean();
+            final Member originalMember = readMember();
+            final PropertyModel.PullProperties pullProperties = input.readBoolean()
+                    ? new PropertyModel.PullProperties(readNullableString(), readNullableString())
+                    : null;
+            final List<String> comments = readNullableList(input::readUTF);
+            return new PropertyModel(name, type, optional, originalMember, pullProperties, null, comments);
+        }
+
+        private Member readMember() throws IOException, ReflectiveOperationException {
+            final byte kind = input.readByte();
+            if (kind == 'F') {
+                final Class<?> declaringClass = (Class<?>) readType();
+                return declaringClass.getDeclaredField(input.readUTF());
+            }
+            if (kind == 'M') {
+                final Class<?> declaringClass = (Class<?>) readType();
+                final String name = input.readUTF();
+                final List<Class<?>> parameterTypes = readNullableList(() -> (Class<?>) readType());
+                return declaringClass.getDeclaredMethod(name, parameterTypes.toArray(new Class<?>[0]));
+            }
+            return null;
+        }
+
+        private EnumModel readEnum(Class<?> cls) throws IOException, ReflectiveOperationException {
+            final EnumKind kind = EnumKind.valueOf(input.readUTF());
+            final List<EnumMemberModel> members = readNullableList(() -> {
+                final String propertyName = input.readUTF();
+                final byte valueKind = input.readByte();
+                final Object value;
+                switch (valueKind) {
+                    case 'S': value = input.readUTF(); break;
+                    case 'I': value = input.readInt(); break;
+                    case 'J': value = input.readLong(); break;
+                    case 'D': value = input.readDouble(); break;
+                    case 'G': value = new BigInteger(input.readUTF()); break;
+                    default: value = new BigDecimal(input.readUTF()); break;
+                }
+                final List<String> comments = readNullableList(input::readUTF);
+                return value instanceof String
+                        ? new EnumMemberModel(propertyName, (String) value, comments)
+                        : new EnumMemberModel(propertyName, (Number) value, comments);
+            });
+            final List<String> comments = readNullableList(input::readUTF);
+            return new EnumModel(cls, kind, members, comments);
+        }
+
+        private Type readNullableType() throws IOException, ReflectiveOperationException {
+            return input.readBoolean() ? readType() : null;
+        }
+
+        private Type readType() throws IOException, ReflectiveOperationException {
+            final byte kind = input.readByte();
+            switch (kind) {
+                case 'C':
+                    return loadClass(input.readUTF());
+                case 'P': {
+                    final Type ownerType = readNullableType();
+                    final Type rawType = readType();
+                    final List<Type> arguments = readNullableList(this::readType);
+                    return GenericTypes.parameterizedType(ownerType, rawType, arguments.toArray(new Type[0]));
+                }
+                case 'A':
+                    return GenericTypes.genericArrayType(readType());
+                case 'W': {
+                    final List<Type> upperBounds = readNullableList(this::readType);
+                    final List<Type> lowerBounds = readNullableList(this::readType);
+                    return GenericTypes.wildcardType(upperBounds.toArray(new Type[0]), lowerBounds.toArray(new Type[0]));
+                }
+                case 'V': {
+                    final Class<?> declaringClass = (Class<?>) readType();
+                    final String name = input.readUTF();
+                    for (TypeVariable<?> typeVariable : declaringClass.getTypeParameters()) {
+                        if (typeVariable.getName().equals(name)) {
+                            return typeVariable;
+                        }
+                    }
+                    throw new NoSuchFieldException("Type variable " + name + " not found in " + declaringClass.getName());
+                }
+                default:
+                    throw new IOException("Unexpected type kind " + kind);
+            }
+        }
+
+        private Class<?> loadClass(String name) throws ClassNotFoundException {
+            final Class<?> primitiveClass = PrimitiveClasses.get(name);
+            return primitiveClass != null ? primitiveClass : Class.forName(name, false, classLoader);
+        }
+
+        private String readNullableString() throws IOException {
+            return input.readBoolean() ? input.readUTF() : null;
+        }
+
+        private <T> List<T> readNullableList(ItemReader<T> itemReader) throws IOException, ReflectiveOperationException {
+            final int size = input.readInt();
+            if (size == -1) {
+                return null;
+            }
+            final List<T> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(itemReader.read());
+            }
+            return list;
+        }
+    }
+
+}
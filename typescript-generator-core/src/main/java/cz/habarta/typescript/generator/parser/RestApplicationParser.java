@@ -17,6 +17,7 @@ public abstract class RestApplicationParser {
     protected final Predicate<String> isClassNameExcluded;
     protected final TypeProcessor commonTypeProcessor;
     protected final RestApplicationModel model;
+    private List<SourceType<Type>> recordedFoundTypes = null;
 
     public static abstract class Factory {
 
@@ -41,6 +42,30 @@ public abstract class RestApplicationParser {
 
     protected abstract Result tryParse(SourceType<?> sourceType);
 
+    /**
+     * Parses source type and records all found types (including excluded ones)
+     * so the result can be cached and later restored using {@link #createResult(List)}.
+     */
+    Result tryParse(SourceType<?> sourceType, List<SourceType<Type>> foundTypes) {
+        recordedFoundTypes = foundTypes;
+        try {
+            return tryParse(sourceType);
+        } finally {
+            recordedFoundTypes = null;
+        }
+    }
+
+    /**
+     * Creates result from recorded found types, types are filtered using current settings.
+     */
+    Result createResult(List<SourceType<Type>> foundTypes) {
+        final Result result = new Result();
+        for (SourceType<Type> foundType : foundTypes) {
+            foundType(result, foundType.type, foundType.usedInClass, foundType.usedInMember);
+        }
+        return result;
+    }
+
     public static class Result {
         public List<SourceType<Type>> discoveredTypes;
         public Result() {
@@ -52,6 +77,9 @@ public abstract class RestApplicationParser {
     }
 
     protected void foundType(Result result, Type type, Class<?> usedInClass, String usedInMember) {
+        if (recordedFoundTypes != null) {
+            recordedFoundTypes.add(new SourceType<>(type, usedInClass, usedInMember));
+        }
         if (!commonTypeProcessor.isTypeExcluded(type, null, settings)) {
             result.discoveredTypes.add(new SourceType<>(type, usedInClass, usedInMember));
         }
@@ -0,0 +1,519 @@
+
+package cz.habarta.typescript.generator.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Structure of Java class file (declared fields and methods, generic signatures and runtime visible annotations)
+ * read directly from bytecode without loading the class.
+ * Method bodies and other attributes are skipped.
+ */
+public final class ClassFile {
+
+    private static final int Magic = 0xCAFEBABE;
+    private static final int SyntheticFlag = 0x1000;
+    private static final int BridgeFlag = 0x0040;
+    private static final int EnumFlag = 0x4000;
+
+    public final String name;
+    public final int accessFlags;
+    public final String superclassName;
+    public final List<String> interfaceNames;
+    public final String signature;
+    public final List<Annotation> annotations;
+    public final List<Member> fields;
+    public final List<Member> methods;
+
+    private ClassFile(String name, int accessFlags, String superclassName, List<String> interfaceNames, String signature,
+            List<Annotation> annotations, List<Member> fields, List<Member> methods) {
+        this.name = name;
+        this.accessFlags = accessFlags;
+        this.superclassName = superclassName;
+        this.interfaceNames = interfaceNames;
+        this.signature = signature;
+        this.annotations = annotations;
+        this.fields = fields;
+        this.methods = methods;
+    }
+
+    /**
+     * Reads class file of the class with specified name using class loader resources.
+     * Returns <code>null</code> if class file is not found.
+     */
+    public static ClassFile load(ClassLoader classLoader, String className) {
+        final String resourceName = className.replace('.', '/') + ".class";
+        try (InputStream stream = classLoader != null
+                ? classLoader.getResourceAsStream(resourceName)
+                : ClassLoader.getSystemResourceAsStream(resourceName)) {
+            return stream != null ? read(stream) : null;
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Cannot read class file of '%s'", className), e);
+        }
+    }
+
+    public static ClassFile read(InputStream stream) throws IOException {
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+        if (input.readInt() != Magic) {
+            throw new IOException("Invalid class file");
+        }
+        input.readUnsignedShort();  // minor version
+        input.readUnsignedShort();  // major version
+        final ConstantPool constantPool = ConstantPool.read(input);
+        final int accessFlags = input.readUnsignedShort();
+        final String name = constantPool.getClassName(input.readUnsignedShort());
+        final int superclassIndex = input.readUnsignedShort();
+        final String superclassName = superclassIndex != 0 ? constantPool.getClassName(superclassIndex) : null;
+        final int interfaceCount = input.readUnsignedShort();
+        final List<String> interfaceNames = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaceNames.add(constantPool.getClassName(input.readUnsignedShort()));
+        }
+        final List<Member> fields = readMembers(input, constantPool);
+        final List<Member> methods = readMembers(input, constantPool);
+        final Attributes attributes = Attributes.read(input, constantPool);
+        return new ClassFile(name, accessFlags, superclassName, Collections.unmodifiableList(interfaceNames), attributes.signature,
+                attributes.annotations, fields, methods);
+    }
+
+    private static List<Member> readMembers(DataInputStream input, ConstantPool constantPool) throws IOException {
+        final int count = input.readUnsignedShort();
+        final List<Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int accessFlags = input.readUnsignedShort();
+            final String name = constantPool.getUtf8(input.readUnsignedShort());
+            final String descriptor = constantPool.getUtf8(input.readUnsignedShort());
+            final Attributes attributes = Attributes.read(input, constantPool);
+            members.add(new Member(name, accessFlags, descriptor, attributes.signature, attributes.annotations,
+                    attributes.typeAnnotations, attributes.parameterAnnotations));
+        }
+        return Collections.unmodifiableList(members);
+    }
+
+    public boolean isInterface() {
+        return Modifier.isInterface(accessFlags);
+    }
+
+    public boolean isAbstract() {
+        return Modifier.isAbstract(accessFlags);
+    }
+
+    public Annotation getAnnotation(String annotationClassName) {
+        return findAnnotation(annotations, annotationClassName);
+    }
+
+    private static Annotation findAnnotation(List<Annotation> annotations, String annotationClassName) {
+        for (Annotation annotation : annotations) {
+            if (annotation.typeName.equals(annotationClassName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassFile{" + name + "}";
+    }
+
+    /**
+     * Field or method (including constructors).
+     */
+    public static class Member {
+        public final String name;
+        public final int accessFlags;
+        public final String descriptor;
+        public final String signature;
+        public final List<Annotation> annotations;
+        /** Type annotations placed directly on field type or method return type. */
+        public final List<Annotation> typeAnnotations;
+        public final List<List<Annotation>> parameterAnnotations;
+
+        public Member(String name, int accessFlags, String descriptor, String signature, List<Annotation> annotations,
+                List<Annotation> typeAnnotations, List<List<Annotation>> parameterAnnotations) {
+            this.name = name;
+            this.accessFlags = accessFlags;
+            this.descriptor = descriptor;
+            this.signature = signature;
+            this.annotations = annotations;
+            this.typeAnnotations = typeAnnotations;
+            this.parameterAnnotations = parameterAnnotations;
+        }
+
+        public boolean isPublic() {
+            return Modifier.isPublic(accessFlags);
+        }
+
+        public boolean isStatic() {
+            return Modifier.isStatic(accessFlags);
+        }
+
+        public boolean isAbstract() {
+            return Modifier.isAbstract(accessFlags);
+        }
+
+        public boolean isTransient() {
+            return Modifier.isTransient(accessFlags);
+        }
+
+        public boolean isSynthetic() {
+            return (accessFlags & SyntheticFlag) != 0;
+        }
+
+        /**
+         * Only applicable to methods (for fields the same bit means volatile).
+         */
+        public boolean isBridge() {
+            return (accessFlags & BridgeFlag) != 0;
+        }
+
+        public boolean isEnumConstant() {
+            return (accessFlags & EnumFlag) != 0;
+        }
+
+        public boolean isConstructor() {
+            return name.equals("<init>");
+        }
+
+        /**
+         * Generic signature if present, otherwise descriptor.
+         */
+        public String getSignatureOrDescriptor() {
+            return signature != null ? signature : descriptor;
+        }
+
+        /**
+         * Descriptors of method parameters.
+         */
+        public List<String> getParameterDescriptors() {
+            final List<String> parameters = new ArrayList<>();
+            int index = 1;
+            while (descriptor.charAt(index) != ')') {
+                final int start = index;
+                while (descriptor.charAt(index) == '[') {
+                    index++;
+                }
+                if (descriptor.charAt(index) == 'L') {
+                    index = descriptor.indexOf(';', index);
+                }
+                index++;
+                parameters.add(descriptor.substring(start, index));
+            }
+            return parameters;
+        }
+
+        /**
+         * Descriptor of method return type.
+         */
+        public String getReturnDescriptor() {
+            return descriptor.substring(descriptor.indexOf(')') + 1);
+        }
+
+        public Annotation getAnnotation(String annotationClassName) {
+            return findAnnotation(annotations, annotationClassName);
+        }
+
+        @Override
+        public String toString() {
+            return "Member{" + name + descriptor + "}";
+        }
+    }
+
+    /**
+     * Annotation with its explicitly specified element values.
+     * Values are represented as boxed primitives, {@link String}s, {@link EnumConstant}s, {@link ClassReference}s,
+     * nested {@link Annotation}s and {@link List}s of these values (for arrays).
+     */
+    public static class Annotation {
+        public final String typeName;
+        public final Map<String, Object> elements;
+
+        public Annotation(String typeName, Map<String, Object> elements) {
+            this.typeName = typeName;
+            this.elements = elements;
+        }
+
+        public <T> T getValue(String elementName, Class<T> valueType, T defaultValue) {
+            final Object value = elements.get(elementName);
+            return valueType.isInstance(value) ? valueType.cast(value) : defaultValue;
+        }
+
+        public List<String> getStringValues(String elementName) {
+            final Object value = elements.get(elementName);
+            final List<String> result = new ArrayList<>();
+            if (value instanceof List) {
+                for (Object item : (List<?>) value) {
+                    if (item instanceof String) {
+                        result.add((String) item);
+                    }
+                }
+            } else if (value instanceof String) {
+                result.add((String) value);
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "@" + typeName + elements;
+        }
+    }
+
+    public static class EnumConstant {
+        public final String typeName;
+        public final String name;
+
+        public EnumConstant(String typeName, String name) {
+            this.typeName = typeName;
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return typeName + "." + name;
+        }
+    }
+
+    public static class ClassReference {
+        public final String descriptor;
+
+        public ClassReference(String descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public String toString() {
+            return descriptor;
+        }
+    }
+
+    private static class ConstantPool {
+        private final Object[] values;
+        private final int[] references;
+
+        private ConstantPool(int count) {
+            this.values = new Object[count];
+            this.references = new int[count];
+        }
+
+        public static ConstantPool read(DataInputStream input) throws IOException {
+            final int count = input.readUnsignedShort();
+            final ConstantPool constantPool = new ConstantPool(count);
+            for (int i = 1; i < count; i++) {
+                final int tag = input.readUnsignedByte();
+                switch (tag) {
+                    case 1:  // Utf8
+                        constantPool.values[i] = input.readUTF();
+                        break;
+                    case 3:  // Integer
+                        constantPool.values[i] = input.readInt();
+                        break;
+                    case 4:  // Float
+                        constantPool.values[i] = input.readFloat();
+                        break;
+                    case 5:  // Long
+                        constantPool.values[i++] = input.readLong();
+                        break;
+                    case 6:  // Double
+                        constantPool.values[i++] = input.readDouble();
+                        break;
+                    case 7:  // Class
+                    case 8:  // String
+                        constantPool.references[i] = input.readUnsignedShort();
+                        break;
+                    case 16:  // MethodType
+                    case 19:  // Module
+                    case 20:  // Package
+                        input.readUnsignedShort();
+                        break;
+                    case 15:  // MethodHandle
+                        input.readUnsignedByte();
+                        input.readUnsignedShort();
+                        break;
+                    case 9:  // Fieldref
+                    case 10:  // Methodref
+                    case 11:  // InterfaceMethodref
+                    case 12:  // NameAndType
+                    case 17:  // Dynamic
+                    case 18:  // InvokeDynamic
+                        input.readInt();
+                        break;
+                    default:
+                        throw new IOException("Invalid constant pool tag: " + tag);
+                }
+            }
+            return constantPool;
+        }
+
+        public String getUtf8(int index) {
+            return (String) values[index];
+        }
+
+        public String getClassName(int index) {
+            return getUtf8(references[index]).replace('/', '.');
+        }
+
+        public Object getValue(int index) {
+            return values[index];
+        }
+    }
+
+    private static class Attributes {
+        public String signature = null;
+        public List<Annotation> annotations = Collections.emptyList();
+        public List<Annotation> typeAnnotations = Collections.emptyList();
+        public List<List<Annotation>> parameterAnnotations = Collections.emptyList();
+
+        public static Attributes read(DataInputStream input, ConstantPool constantPool) throws IOException {
+            final Attributes attributes = new Attributes();
+            final int count = input.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                final String name = constantPool.getUtf8(input.readUnsignedShort());
+                final int length = input.readInt();
+                switch (name) {
+                    case "Signature":
+                        attributes.signature = constantPool.getUtf8(input.readUnsignedShort());
+                        break;
+                    case "RuntimeVisibleAnnotations":
+                        attributes.annotations = readAnnotations(input, constantPool);
+                        break;
+                    case "RuntimeVisibleTypeAnnotations":
+                        attributes.typeAnnotations = readTypeAnnotations(input, constantPool);
+                        break;
+                    case "RuntimeVisibleParameterAnnotations":
+                        final int parameterCount = input.readUnsignedByte();
+                        final List<List<Annotation>> parameterAnnotations = new ArrayList<>(parameterCount);
+                        for (int p = 0; p < parameterCount; p++) {
+                            parameterAnnotations.add(readAnnotations(input, constantPool));
+                        }
+                        attributes.parameterAnnotations = Collections.unmodifiableList(parameterAnnotations);
+                        break;
+                    default:
+                        skip(input, length);
+                }
+            }
+            return attributes;
+        }
+
+        private static void skip(DataInputStream input, int length) throws IOException {
+            int remaining = length;
+            while (remaining > 0) {
+                final int skipped = input.skipBytes(remaining);
+                if (skipped <= 0) {
+                    throw new IOException("Unexpected end of class file");
+                }
+                remaining -= skipped;
+            }
+        }
+
+        private static List<Annotation> readAnnotations(DataInputStream input, ConstantPool constantPool) throws IOException {
+            final int count = input.readUnsignedShort();
+            final List<Annotation> annotations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                annotations.add(readAnnotation(input, constantPool));
+            }
+            return Collections.unmodifiableList(annotations);
+        }
+
+        /**
+         * Reads only annotations targeting field type or method return type itself (with empty type path).
+         */
+        private static List<Annotation> readTypeAnnotations(DataInputStream input, ConstantPool constantPool) throws IOException {
+            final int count = input.readUnsignedShort();
+            final List<Annotation> annotations = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                final int targetType = input.readUnsignedByte();
+                switch (targetType) {
+                    case 0x00:  // class or method type parameter
+                    case 0x01:
+                    case 0x16:  // formal parameter
+                        input.readUnsignedByte();
+                        break;
+                    case 0x10:  // supertype
+                    case 0x17:  // throws
+                        input.readUnsignedShort();
+                        break;
+                    case 0x11:  // type parameter bound
+                    case 0x12:
+                        input.readUnsignedShort();
+                        break;
+                    case 0x13:  // field
+                    case 0x14:  // method return type
+                    case 0x15:  // receiver
+                        break;
+                    default:
+                        throw new IOException("Unexpected type annotation target: " + targetType);
+                }
+                final int pathLength = input.readUnsignedByte();
+                skip(input, 2 * pathLength);
+                final Annotation annotation = readAnnotation(input, constantPool);
+                if ((targetType == 0x13 || targetType == 0x14) && pathLength == 0) {
+                    annotations.add(annotation);
+                }
+            }
+            return Collections.unmodifiableList(annotations);
+        }
+
+        private static Annotation readAnnotation(DataInputStream input, ConstantPool constantPool) throws IOException {
+            final String typeName = descriptorToClassName(constantPool.getUtf8(input.readUnsignedShort()));
+            final int count = input.readUnsignedShort();
+            final Map<String, Object> elements = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                final String name = constantPool.getUtf8(input.readUnsignedShort());
+                elements.put(name, readElementValue(input, constantPool));
+            }
+            return new Annotation(typeName, Collections.unmodifiableMap(elements));
+        }
+
+        private static Object readElementValue(DataInputStream input, ConstantPool constantPool) throws IOException {
+            final char tag = (char) input.readUnsignedByte();
+            switch (tag) {
+                case 'B':
+                    return ((Integer) constantPool.getValue(input.readUnsignedShort())).byteValue();
+                case 'C':
+                    return (char) ((Integer) constantPool.getValue(input.readUnsignedShort())).intValue();
+                case 'S':
+                    return ((Integer) constantPool.getValue(input.readUnsignedShort())).shortValue();
+                case 'Z':
+                    return ((Integer) constantPool.getValue(input.readUnsignedShort())) != 0;
+                case 'I':
+                case 'J':
+                case 'F':
+                case 'D':
+                    return constantPool.getValue(input.readUnsignedShort());
+                case 's':
+                    return constantPool.getUtf8(input.readUnsignedShort());
+                case 'e':
+                    final String enumTypeName = descriptorToClassName(constantPool.getUtf8(input.readUnsignedShort()));
+                    return new EnumConstant(enumTypeName, constantPool.getUtf8(input.readUnsignedShort()));
+                case 'c':
+                    return new ClassReference(constantPool.getUtf8(input.readUnsignedShort()));
+                case '@':
+                    return readAnnotation(input, constantPool);
+                case '[':
+                    final int count = input.readUnsignedShort();
+                    final List<Object> values = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        values.add(readElementValue(input, constantPool));
+                    }
+                    return Collections.unmodifiableList(values);
+                default:
+                    throw new IOException("Invalid annotation element value tag: " + tag);
+            }
+        }
+
+        private static String descriptorToClassName(String descriptor) {
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+
+package cz.habarta.typescript.generator.util;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * Implementations of generic types which are equal (and have the same hash code)
+ * as JDK implementations returned by reflection for the same structure.
+ */
+public final class GenericTypes {
+
+    private GenericTypes() {
+    }
+
+    public static ParameterizedType parameterizedType(Type ownerType, Type rawType, Type... actualTypeArguments) {
+        return new ParameterizedTypeImpl(ownerType, rawType, actualTypeArguments);
+    }
+
+    public static GenericArrayType genericArrayType(Type genericComponentType) {
+        return new GenericArrayTypeImpl(genericComponentType);
+    }
+
+    public static WildcardType wildcardType(Type[] upperBounds, Type[] lowerBounds) {
+        return new WildcardTypeImpl(upperBounds, lowerBounds);
+    }
+
+    private static class ParameterizedTypeImpl implements ParameterizedType {
+        private final Type ownerType;
+        private final Type rawType;
+        private final Type[] actualTypeArguments;
+
+        public ParameterizedTypeImpl(Type ownerType, Type rawType, Type[] actualTypeArguments) {
+            this.ownerType = ownerType;
+            this.rawType = rawType;
+            this.actualTypeArguments = actualTypeArguments;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return actualTypeArguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return ownerType;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof ParameterizedType) {
+                final ParameterizedType that = (ParameterizedType) obj;
+                return Objects.equals(ownerType, that.getOwnerType())
+                        && Objects.equals(rawType, that.getRawType())
+                        && Arrays.equals(actualTypeArguments, that.getActualTypeArguments());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(actualTypeArguments) ^ Objects.hashCode(ownerType) ^ Objects.hashCode(rawType);
+        }
+
+        @Override
+        public String toString() {
+            return rawType.getTypeName() + "<" + joinTypeNames(actualTypeArguments, ", ") + ">";
+        }
+    }
+
+    private static class GenericArrayTypeImpl implements GenericArrayType {
+        private final Type genericComponentType;
+
+        public GenericArrayTypeImpl(Type genericComponentType) {
+            this.genericComponentType = genericComponentType;
+        }
+
+        @Override
+        public Type getGenericComponentType() {
+            return genericComponentType;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof GenericArrayType) {
+                final GenericArrayType that = (GenericArrayType) obj;
+                return Objects.equals(genericComponentType, that.getGenericComponentType());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(genericComponentType);
+        }
+
+        @Override
+        public String toString() {
+            return genericComponentType.getTypeName() + "[]";
+        }
+    }
+
+    private static class WildcardTypeImpl implements WildcardType {
+        private final Type[] upperBounds;
+        private final Type[] lowerBounds;
+
+        public WildcardTypeImpl(Type[] upperBounds, Type[] lowerBounds) {
+            this.upperBounds = upperBounds;
+            this.lowerBounds = lowerBounds;
+        }
+
+        @Override
+        public Type[] getUpperBounds() {
+            return upperBounds.clone();
+        }
+
+        @Override
+        public Type[] getLowerBounds() {
+            return lowerBounds.clone();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof WildcardType) {
+                final WildcardType that = (WildcardType) obj;
+                return Arrays.equals(lowerBounds, that.getLowerBounds())
+                        && Arrays.equals(upperBounds, that.getUpperBounds());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(lowerBounds) ^ Arrays.hashCode(upperBounds);
+        }
+
+        @Override
+        public String toString() {
+            if (lowerBounds.length > 0) {
+                return "? super " + joinTypeNames(lowerBounds, " & ");
+            }
+            if (upperBounds.length == 0 || upperBounds[0] == Object.class) {
+                return "?";
+            }
+            return "? extends " + joinTypeNames(upperBounds, " & ");
+        }
+    }
+
+    private static String joinTypeNames(Type[] types, String delimiter) {
+        return Stream.of(types)
+                .map(Type::getTypeName)
+                .collect(Collectors.joining(delimiter));
+    }
+
+}
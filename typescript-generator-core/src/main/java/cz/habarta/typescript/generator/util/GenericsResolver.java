@@ -12,28 +12,40 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
 public class GenericsResolver {
 
+    // descendant -> ancestor -> inheritance path (resolved ancestors), shared by all parsers (and threads)
+    // paths of JDK classes are not cached, see ReflectionCache
+    private static final ClassValue<Map<Class<?>, Optional<List<ResolvedClass>>>> inheritancePaths = new ClassValue<Map<Class<?>, Optional<List<ResolvedClass>>>>() {
+        @Override
+        protected Map<Class<?>, Optional<List<ResolvedClass>>> computeValue(Class<?> descendant) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     public static Type resolveField(Class<?> cls, Field field) {
         final Type fieldType = field.getGenericType();
         return resolveType(cls, fieldType, field.getDeclaringClass());
     }
 
     public static Type resolveType(Class<?> contextClass, Type type, Class<?> declaringClass) {
-        final List<ResolvedClass> path = traverseSomeInheritancePath(contextClass, declaringClass);
+        final List<ResolvedClass> path = getInheritancePath(contextClass, declaringClass);
         final ResolvedClass resolvedClass = path != null && !path.isEmpty() ? path.get(0) : null;
         return resolvedClass != null ? resolvedClass.resolveType(type) : type;
     }
 
     public static List<String> mapGenericVariablesToBase(Class<?> derivedClass, Class<?> baseClass) {
-        final List<ResolvedClass> path = traverseSomeInheritancePath(derivedClass, baseClass);
-        if (path == null) {
+        final List<ResolvedClass> cachedPath = getInheritancePath(derivedClass, baseClass);
+        if (cachedPath == null) {
             return null;
         }
+        final List<ResolvedClass> path = new ArrayList<>(cachedPath);
         Collections.reverse(path);
         List<String> result = Arrays.stream(derivedClass.getTypeParameters())
                 .map(TypeVariable::getName)
@@ -62,6 +74,19 @@ public class GenericsResolver {
         return null;
     }
 
+    /**
+     * Returns unmodifiable (cached unless descendant is JDK class) inheritance path or <code>null</code> if <code>ancestor</code> is not ancestor of <code>descendant</code>.
+     */
+    private static List<ResolvedClass> getInheritancePath(Class<?> descendant, Class<?> ancestor) {
+        if (descendant == null || ancestor == null || !ReflectionCache.isClassValueCacheable(descendant)) {
+            final List<ResolvedClass> path = traverseSomeInheritancePath(descendant, ancestor);
+            return path != null ? Collections.unmodifiableList(path) : null;
+        }
+        return inheritancePaths.get(descendant)
+                .computeIfAbsent(ancestor, a -> Optional.ofNullable(traverseSomeInheritancePath(descendant, a)).map(Collections::unmodifiableList))
+                .orElse(null);
+    }
+
     private static List<ResolvedClass> traverseSomeInheritancePath(Class<?> descendant, Class<?> ancestor) {
         return traverseSomeInheritancePath(new ResolvedClass(descendant, null, null), ancestor);
     }
@@ -97,7 +122,7 @@ public class GenericsResolver {
             if (cls.getSuperclass() != null) {
                 ancestors.add(cls.getGenericSuperclass());
             }
-            ancestors.addAll(Arrays.asList(cls.getGenericInterfaces()));
+            ancestors.addAll(ReflectionCache.getGenericInterfaces(cls));
             return ancestors.stream()
                     .map(this::resolveAncestor)
                     .filter(Objects::nonNull)
@@ -0,0 +1,181 @@
+
+package cz.habarta.typescript.generator.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+
+/**
+ * Per-class cache of reflection metadata (fields, methods, annotations, generic interfaces).
+ * JDK methods like {@link Class#getDeclaredFields()} return new copies on each call
+ * and the same classes are reflected by parsers, compiler and extensions many times.
+ * Data is stored in {@link ClassValue} so cached classes (and their class loaders) can still be unloaded.
+ * Classes loaded by bootstrap or platform class loader are not cached because storing metadata (loaded by generator class loader)
+ * in their {@link ClassValue} would keep generator class loader (Maven plugin realm, Gradle daemon build) alive.
+ * Returned lists are unmodifiable and this class is thread-safe.
+ */
+public final class ReflectionCache {
+
+    private ReflectionCache() {
+    }
+
+    private static final ClassValue<ClassMetadata> metadata = new ClassValue<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private static final ClassLoader PlatformClassLoader = ClassLoader.getSystemClassLoader().getParent();
+
+    /**
+     * Returns <code>true</code> if values loaded by generator class loader can be stored in {@link ClassValue} of specified class
+     * without keeping generator class loader alive (class is not loaded by bootstrap or platform class loader).
+     */
+    static boolean isClassValueCacheable(Class<?> cls) {
+        final ClassLoader classLoader = cls.getClassLoader();
+        return classLoader != null && classLoader != PlatformClassLoader;
+    }
+
+    private static ClassMetadata getMetadata(Class<?> cls) {
+        return isClassValueCacheable(cls)
+                ? metadata.get(cls)
+                : new ClassMetadata(cls);
+    }
+
+    public static List<Field> getDeclaredFields(Class<?> cls) {
+        return getMetadata(cls).declaredFields.get();
+    }
+
+    public static List<Method> getDeclaredMethods(Class<?> cls) {
+        return getMetadata(cls).declaredMethods.get();
+    }
+
+    /**
+     * Public methods including inherited ones, see {@link Class#getMethods()}.
+     */
+    public static List<Method> getMethods(Class<?> cls) {
+        return getMetadata(cls).methods.get();
+    }
+
+    /**
+     * Declared fields of class and all its superclasses, starting with {@link Object}.
+     */
+    public static List<Field> getAllFields(Class<?> cls) {
+        return getMetadata(cls).allFields.get();
+    }
+
+    /**
+     * Declared methods of class and all its superclasses, starting with {@link Object}.
+     */
+    public static List<Method> getAllMethods(Class<?> cls) {
+        return getMetadata(cls).allMethods.get();
+    }
+
+    /**
+     * Class and all its superclasses, starting with {@link Object}.
+     */
+    public static List<Class<?>> getInheritanceChain(Class<?> cls) {
+        return getMetadata(cls).inheritanceChain.get();
+    }
+
+    public static List<Type> getGenericInterfaces(Class<?> cls) {
+        return getMetadata(cls).genericInterfaces.get();
+    }
+
+    /**
+     * Annotations of class or of its field or method.
+     * For other elements annotations are not cached.
+     */
+    public static List<Annotation> getAnnotations(AnnotatedElement annotatedElement) {
+        if (annotatedElement instanceof Class<?>) {
+            return getMetadata((Class<?>) annotatedElement).annotations.get();
+        }
+        if (annotatedElement instanceof Field || annotatedElement instanceof Method) {
+            final Member member = (Member) annotatedElement;
+            return getMetadata(member.getDeclaringClass()).memberAnnotations
+                    .computeIfAbsent(annotatedElement, element -> unmodifiableList(element.getAnnotations()));
+        }
+        return unmodifiableList(annotatedElement.getAnnotations());
+    }
+
+    private static <T> List<T> unmodifiableList(T[] array) {
+        return array.length == 0 ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(array));
+    }
+
+    private static class ClassMetadata {
+        final Lazy<List<Field>> declaredFields;
+        final Lazy<List<Method>> declaredMethods;
+        final Lazy<List<Method>> methods;
+        final Lazy<List<Class<?>>> inheritanceChain;
+        final Lazy<List<Field>> allFields;
+        final Lazy<List<Method>> allMethods;
+        final Lazy<List<Type>> genericInterfaces;
+        final Lazy<List<Annotation>> annotations;
+        final Map<AnnotatedElement, List<Annotation>> memberAnnotations = new ConcurrentHashMap<>();
+
+        ClassMetadata(Class<?> cls) {
+            declaredFields = new Lazy<>(() -> unmodifiableList(cls.getDeclaredFields()));
+            declaredMethods = new Lazy<>(() -> unmodifiableList(cls.getDeclaredMethods()));
+            methods = new Lazy<>(() -> unmodifiableList(cls.getMethods()));
+            inheritanceChain = new Lazy<>(() -> {
+                final List<Class<?>> chain = new ArrayList<>();
+                final Class<?> superclass = cls.getSuperclass();
+                if (superclass != null) {
+                    chain.addAll(getInheritanceChain(superclass));
+                }
+                chain.add(cls);
+                return Collections.unmodifiableList(chain);
+            });
+            allFields = new Lazy<>(() -> {
+                final List<Field> fields = new ArrayList<>();
+                for (Class<?> c : inheritanceChain.get()) {
+                    fields.addAll(getDeclaredFields(c));
+                }
+                return Collections.unmodifiableList(fields);
+            });
+            allMethods = new Lazy<>(() -> {
+                final List<Method> methods = new ArrayList<>();
+                for (Class<?> c : inheritanceChain.get()) {
+                    methods.addAll(getDeclaredMethods(c));
+                }
+                return Collections.unmodifiableList(methods);
+            });
+            genericInterfaces = new Lazy<>(() -> unmodifiableList(cls.getGenericInterfaces()));
+            annotations = new Lazy<>(() -> unmodifiableList(cls.getAnnotations()));
+        }
+    }
+
+    /**
+     * Lazily computed value, concurrent computations are harmless since results are equal.
+     */
+    private static class Lazy<T> {
+        private final Supplier<T> supplier;
+        private volatile T value;
+
+        Lazy(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        T get() {
+            T result = value;
+            if (result == null) {
+                result = supplier.get();
+                value = result;
+            }
+            return result;
+        }
+    }
+
+}
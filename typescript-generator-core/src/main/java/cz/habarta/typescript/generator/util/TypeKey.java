@@ -0,0 +1,93 @@
+
+package cz.habarta.typescript.generator.util;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+
+/**
+ * Hashable wrapper of {@link Type} which can be used as key in hash based collections.
+ * Equality is given by {@link Type#equals(Object)} but hash code is computed from the structure of the type
+ * so custom {@link ParameterizedType}s (see {@link Utils#createParameterizedType(Type, Type...)})
+ * have the same hash code as equal JDK types.
+ */
+public final class TypeKey {
+
+    private final Type type;
+    private final int hashCode;
+
+    private TypeKey(Type type) {
+        this.type = type;
+        this.hashCode = hashCode(type);
+    }
+
+    public static TypeKey of(Type type) {
+        return new TypeKey(type);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final TypeKey other = (TypeKey) obj;
+        return this.hashCode == other.hashCode && this.type.equals(other.type);
+    }
+
+    @Override
+    public String toString() {
+        return type.getTypeName();
+    }
+
+    private static int hashCode(Type type) {
+        if (type == null) {
+            return 0;
+        }
+        if (type instanceof Class<?>) {
+            return type.hashCode();
+        }
+        if (type instanceof ParameterizedType) {
+            // owner type is not included, it is not normalized (custom ParameterizedTypes have no owner)
+            final ParameterizedType parameterizedType = (ParameterizedType) type;
+            return 31 * hashCode(parameterizedType.getRawType()) + hashCode(parameterizedType.getActualTypeArguments());
+        }
+        if (type instanceof GenericArrayType) {
+            final GenericArrayType genericArrayType = (GenericArrayType) type;
+            return 31 * hashCode(genericArrayType.getGenericComponentType()) + 1;
+        }
+        if (type instanceof WildcardType) {
+            final WildcardType wildcardType = (WildcardType) type;
+            return 31 * hashCode(wildcardType.getUpperBounds()) + hashCode(wildcardType.getLowerBounds());
+        }
+        if (type instanceof TypeVariable<?>) {
+            final TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+            return typeVariable.getName().hashCode();
+        }
+        // unknown implementation, rely on equals only
+        return 0;
+    }
+
+    private static int hashCode(Type[] types) {
+        int hash = 1;
+        for (Type type : types) {
+            hash = 31 * hash + hashCode(type);
+        }
+        return hash;
+    }
+
+}
@@ -0,0 +1,152 @@
+
+package cz.habarta.typescript.generator.util;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Converts generic signatures (or descriptors) of fields and methods from class files to {@link Type}s
+ * equal to types returned by reflection ({@link java.lang.reflect.Field#getGenericType()}, {@link java.lang.reflect.Method#getGenericReturnType()}).
+ * Referenced classes are loaded (without initialization) using class loader of declaring class.
+ * Parameterized types are created without owner type (see {@link Utils#createParameterizedType(Type, Type...)}).
+ * Signatures which cannot be represented this way (type variables of generic methods,
+ * parameterized types nested in other parameterized types) are not supported and <code>null</code> is returned for them.
+ */
+public class TypeSignatureParser {
+
+    private final String signature;
+    private final Class<?> declaringClass;
+    private int index;
+
+    private TypeSignatureParser(String signature, Class<?> declaringClass) {
+        this.signature = signature;
+        this.declaringClass = declaringClass;
+        this.index = 0;
+    }
+
+    public static Type parseFieldType(String signature, Class<?> declaringClass) {
+        final TypeSignatureParser parser = new TypeSignatureParser(signature, declaringClass);
+        try {
+            return parser.parseType();
+        } catch (UnsupportedSignatureException e) {
+            return null;
+        }
+    }
+
+    public static Type parseReturnType(String methodSignature, Class<?> declaringClass) {
+        if (methodSignature.startsWith("<")) {
+            // type variables of generic methods cannot be created without reflection
+            return null;
+        }
+        final TypeSignatureParser parser = new TypeSignatureParser(methodSignature, declaringClass);
+        parser.index = methodSignature.indexOf(')') + 1;
+        try {
+            return parser.parseType();
+        } catch (UnsupportedSignatureException e) {
+            return null;
+        }
+    }
+
+    private Type parseType() {
+        final char c = signature.charAt(index++);
+        switch (c) {
+            case 'Z': return boolean.class;
+            case 'B': return byte.class;
+            case 'C': return char.class;
+            case 'S': return short.class;
+            case 'I': return int.class;
+            case 'J': return long.class;
+            case 'F': return float.class;
+            case 'D': return double.class;
+            case 'V': return void.class;
+            case '[': return parseArrayType();
+            case 'T': return parseTypeVariable();
+            case 'L': return parseClassType();
+            default: throw new UnsupportedSignatureException();
+        }
+    }
+
+    private Type parseArrayType() {
+        final Type componentType = parseType();
+        if (componentType instanceof Class<?>) {
+            return Array.newInstance((Class<?>) componentType, 0).getClass();
+        } else {
+            return GenericTypes.genericArrayType(componentType);
+        }
+    }
+
+    private Type parseTypeVariable() {
+        final int end = signature.indexOf(';', index);
+        final String name = signature.substring(index, end);
+        index = end + 1;
+        // variables of enclosing classes can be used in inner classes
+        for (Class<?> cls = declaringClass; cls != null; cls = cls.getDeclaringClass()) {
+            for (TypeVariable<?> typeVariable : cls.getTypeParameters()) {
+                if (typeVariable.getName().equals(name)) {
+                    return typeVariable;
+                }
+            }
+        }
+        throw new UnsupportedSignatureException();
+    }
+
+    private Type parseClassType() {
+        final StringBuilder className = new StringBuilder();
+        List<Type> typeArguments = null;
+        while (true) {
+            final char c = signature.charAt(index++);
+            if (c == ';') {
+                break;
+            } else if (c == '<') {
+                typeArguments = parseTypeArguments();
+            } else if (c == '.') {
+                if (typeArguments != null) {
+                    throw new UnsupportedSignatureException();
+                }
+                className.append('$');
+            } else {
+                className.append(c == '/' ? '.' : c);
+            }
+        }
+        final Class<?> cls = loadClass(className.toString());
+        return typeArguments != null ? Utils.createParameterizedType(cls, typeArguments) : cls;
+    }
+
+    private List<Type> parseTypeArguments() {
+        final List<Type> typeArguments = new ArrayList<>();
+        while (signature.charAt(index) != '>') {
+            final char c = signature.charAt(index);
+            if (c == '*') {
+                index++;
+                typeArguments.add(GenericTypes.wildcardType(new Type[] {Object.class}, new Type[0]));
+            } else if (c == '+') {
+                index++;
+                typeArguments.add(GenericTypes.wildcardType(new Type[] {parseType()}, new Type[0]));
+            } else if (c == '-') {
+                index++;
+                typeArguments.add(GenericTypes.wildcardType(new Type[] {Object.class}, new Type[] {parseType()}));
+            } else {
+                typeArguments.add(parseType());
+            }
+        }
+        index++;
+        return typeArguments;
+    }
+
+    private Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, declaringClass.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new UnsupportedSignatureException();
+        }
+    }
+
+    private static class UnsupportedSignatureException extends RuntimeException {
+        private static final long serialVersionUID = 1;
+    }
+
+}
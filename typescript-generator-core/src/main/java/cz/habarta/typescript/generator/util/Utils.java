@@ -12,31 +12,28 @@ import java.io.StringWriter;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
-import java.util.Spliterator;
-import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 
 public class Utils {
@@ -101,21 +98,15 @@ public class Utils {
     }
 
     public static List<Method> getAllMethods(Class<?> cls) {
-        return getInheritanceChain(cls)
-                .flatMap(c -> Stream.of(c.getDeclaredMethods()))
-                .collect(Collectors.toList());
+        return ReflectionCache.getAllMethods(cls);
     }
 
     public static List<Field> getAllFields(Class<?> cls) {
-        return getInheritanceChain(cls)
-                .flatMap(c -> Stream.of(c.getDeclaredFields()))
-                .collect(Collectors.toList());
+        return ReflectionCache.getAllFields(cls);
     }
 
     public static Stream<Class<?>> getInheritanceChain(Class<?> cls) {
-        return generateStream(cls, c -> c != null, (Class<?> c) -> c.getSuperclass())
-                .collect(toReversedCollection())
-                .stream();
+        return ReflectionCache.getInheritanceChain(cls).stream();
     }
 
     public static <T> Collector<T, ?, Collection<T>> toReversedCollection() {
@@ -126,27 +117,6 @@ public class Utils {
                 deque -> deque);
     }
 
-    // remove on Java 9 and replace with Stream.iterate
-    private static <T> Stream<T> generateStream(T seed, Predicate<? super T> hasNext, UnaryOperator<T> next) {
-        final Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(new Iterator<T>() {
-            private T last = seed;
-
-            @Override
-            public boolean hasNext() {
-                return hasNext.test(last);
-            }
-
-            @Override
-            public T next() {
-                final T current = last;
-                last = next.apply(last);
-                return current;
-            }
-        }, Spliterator.ORDERED);
-
-        return StreamSupport.stream(spliterator, false);
-    }
-
     public static boolean hasAnyAnnotation(
             Function<Class<? extends Annotation>, Annotation> getAnnotationFunction,
             List<Class<? extends Annotation>> annotations) {
@@ -162,7 +132,7 @@ public class Utils {
 
     public static Annotation getAnnotation(AnnotatedElement annotatedElement, String annotationClassName) {
         if (annotatedElement != null) {
-            for (Annotation annotation : annotatedElement.getAnnotations()) {
+            for (Annotation annotation : ReflectionCache.getAnnotations(annotatedElement)) {
                 if (annotation.annotationType().getName().equals(annotationClassName)) {
                     return annotation;
                 }
@@ -190,6 +160,29 @@ public class Utils {
         }
     }
 
+    /**
+     * Returns <code>true</code> if some class used in the type (raw class, type argument, array component or wildcard bound) matches the predicate.
+     */
+    public static boolean containsClass(Type type, Predicate<Class<?>> predicate) {
+        if (type instanceof Class<?>) {
+            return predicate.test((Class<?>) type);
+        }
+        if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterizedType = (ParameterizedType) type;
+            return containsClass(parameterizedType.getRawType(), predicate)
+                    || Stream.of(parameterizedType.getActualTypeArguments()).anyMatch(argument -> containsClass(argument, predicate));
+        }
+        if (type instanceof GenericArrayType) {
+            return containsClass(((GenericArrayType) type).getGenericComponentType(), predicate);
+        }
+        if (type instanceof WildcardType) {
+            final WildcardType wildcardType = (WildcardType) type;
+            return Stream.concat(Stream.of(wildcardType.getUpperBounds()), Stream.of(wildcardType.getLowerBounds()))
+                    .anyMatch(bound -> containsClass(bound, predicate));
+        }
+        return false;
+    }
+
     public static Type replaceRawClassInType(Type type, Class<?> newClass) {
         if (type instanceof ParameterizedType) {
             final ParameterizedType parameterizedType = (ParameterizedType) type;
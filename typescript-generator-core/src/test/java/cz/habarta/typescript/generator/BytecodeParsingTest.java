@@ -0,0 +1,200 @@
+
+package cz.habarta.typescript.generator;
+
+import com.fasterxml.jackson.annotation.JsonClassDescription;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonValue;
+import cz.habarta.typescript.generator.util.ClassFile;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class BytecodeParsingTest {
+
+    private static final Class<?>[] TestClasses = {
+        SimpleBean.class, DerivedBean.class, StringBean.class, OuterClass.InnerBean.class, BeanInterface.class,
+        AnnotatedEnum.class, PolymorphicBean.class, ValueBean.class, SetterOnlyBean.class, SetterNamedMethodBean.class,
+        DummyBean.class, DummyEnum.class, Jackson2ParserTest.DummyBeanJackson2.class,
+    };
+
+    @Test
+    public void testSameOutputAsReflection() {
+        final Settings settings = TestUtils.settings();
+        final String reflectionOutput = new TypeScriptGenerator(settings).generateTypeScript(Input.from(TestClasses));
+        settings.bytecodeParsing = true;
+        final String bytecodeOutput = new TypeScriptGenerator(settings).generateTypeScript(Input.from(TestClasses));
+        Assert.assertEquals(reflectionOutput, bytecodeOutput);
+        Assert.assertTrue(bytecodeOutput.contains("renamed: string;"));
+        Assert.assertFalse(bytecodeOutput.contains("ignored"));
+    }
+
+    @Test
+    public void testSameOutputAsReflectionWithLibraryDefinition() {
+        final Settings settings = TestUtils.settings();
+        settings.optionalProperties = OptionalProperties.useLibraryDefinition;
+        final String reflectionOutput = new TypeScriptGenerator(settings).generateTypeScript(Input.from(TestClasses));
+        settings.bytecodeParsing = true;
+        final String bytecodeOutput = new TypeScriptGenerator(settings).generateTypeScript(Input.from(TestClasses));
+        Assert.assertEquals(reflectionOutput, bytecodeOutput);
+    }
+
+    @Test
+    public void testEnumNotInitialized() {
+        final Settings settings = TestUtils.settings();
+        settings.bytecodeParsing = true;
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(LazyEnum.class));
+        Assert.assertTrue(output.contains("type LazyEnum = \"A\" | \"B\";"));
+        Assert.assertFalse(lazyEnumInitialized);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testOnlyJackson2() {
+        final Settings settings = TestUtils.settings();
+        settings.jsonLibrary = JsonLibrary.gson;
+        settings.bytecodeParsing = true;
+        settings.validate();
+    }
+
+    @Test
+    public void testClassFile() {
+        final ClassFile classFile = ClassFile.load(getClass().getClassLoader(), SimpleBean.class.getName());
+        Assert.assertNotNull(classFile);
+        Assert.assertEquals(SimpleBean.class.getName(), classFile.name);
+        Assert.assertNotNull(classFile.getAnnotation(JsonClassDescription.class.getName()));
+        final ClassFile.Member renamed = classFile.fields.stream().filter(field -> field.name.equals("original")).findFirst().get();
+        Assert.assertEquals("renamed", renamed.getAnnotation(JsonProperty.class.getName()).getValue("value", String.class, null));
+        Assert.assertNull(ClassFile.load(getClass().getClassLoader(), "cz.habarta.NonExistingClass"));
+    }
+
+    private static volatile boolean lazyEnumInitialized = false;
+
+    enum LazyEnum {
+        A, B;
+        static {
+            lazyEnumInitialized = true;
+        }
+    }
+
+    @JsonClassDescription("Simple bean")
+    @JsonIgnoreProperties({"ignoredByClass"})
+    static class SimpleBean {
+        public String publicField;
+        public transient String transientField;
+        public static String staticField;
+        private int privateField;
+        private boolean active;
+        @JsonProperty("renamed")
+        private String original;
+        @JsonProperty
+        private String annotatedPrivateField;
+        @JsonProperty(required = true)
+        @JsonPropertyDescription("Required property")
+        public String requiredField;
+        private String ignored;
+        public String ignoredByClass;
+        public Optional<Long> optionalField;
+        public int[][] matrix;
+
+        public int getPrivateField() {
+            return privateField;
+        }
+        public void setPrivateField(int privateField) {
+            this.privateField = privateField;
+        }
+        public boolean isActive() {
+            return active;
+        }
+        @JsonIgnore
+        public String getIgnored() {
+            return ignored;
+        }
+        public String getOriginal() {
+            return original;
+        }
+    }
+
+    static class DerivedBean extends SimpleBean {
+        public String publicField;
+        public List<? extends Number> numbers;
+        public Map<String, List<? super Integer>> map;
+
+        @Override
+        public int getPrivateField() {
+            return 0;
+        }
+    }
+
+    static class GenericBean<T> {
+        public T value;
+        public List<T> values;
+        public T[] array;
+        public List<String>[] listArray;
+
+        public T getFirst() {
+            return values.get(0);
+        }
+    }
+
+    static class StringBean extends GenericBean<String> {
+        public GenericBean<Integer> integerBean;
+    }
+
+    static class OuterClass<T> {
+        class InnerBean {
+            public T outerTypeValue;
+        }
+    }
+
+    interface BeanInterface {
+        String getName();
+    }
+
+    enum AnnotatedEnum {
+        @JsonProperty("first") @JsonPropertyDescription("The first") First,
+        Second,
+        @JsonProperty("third") Third,
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "kind")
+    @JsonSubTypes({@JsonSubTypes.Type(value = PolymorphicSubBean.class, name = "sub")})
+    static class PolymorphicBean {
+        public String name;
+    }
+
+    static class PolymorphicSubBean extends PolymorphicBean {
+        public String subName;
+    }
+
+    static class SetterOnlyBean {
+        private String name;
+        public void setName(String name) {
+            this.name = name;
+        }
+        public String getId() {
+            return name;
+        }
+    }
+
+    static class SetterNamedMethodBean {
+        public String id;
+        public void setup(Object options) {
+        }
+    }
+
+    static class ValueBean {
+        public ValueBean nested;
+        @JsonValue
+        public String toValue() {
+            return "";
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.util.Utils;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class ClasspathScanIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testSameAsClassGraph() throws IOException {
+        final File jar = createJar(Fixtures.class, Fixtures.Ann.class, Fixtures.InheritedAnn.class, Fixtures.MetaAnn.class,
+                Fixtures.I.class, Fixtures.J.class, Fixtures.K.class, Fixtures.A.class, Fixtures.B.class, Fixtures.C.class,
+                Fixtures.D.class, Fixtures.E.class, Fixtures.En.class);
+        final File cacheFile = new File(temporaryFolder.getRoot(), "scan.cache");
+        final ClasspathScanIndex index = ClasspathScanIndex.load(cacheFile, Arrays.asList(jar), false);
+        Assert.assertTrue(cacheFile.exists());
+        final ClasspathScanIndex cachedIndex = ClasspathScanIndex.load(cacheFile, Arrays.asList(jar), false);
+        try (ScanResult scanResult = new ClassGraph().enableClassInfo().enableAnnotationInfo().ignoreClassVisibility().overrideClasspath(jar).scan()) {
+            for (ClasspathScanIndex i : Arrays.asList(index, cachedIndex)) {
+                Assert.assertEquals(13, i.size());
+                Assert.assertEquals(union(scanResult.getAllStandardClasses().getNames(), scanResult.getAllInterfaces().getNames()), i.getAllClassNames());
+                for (Class<?> cls : Arrays.asList(Fixtures.I.class, Fixtures.J.class, Fixtures.K.class)) {
+                    Assert.assertEquals(scanResult.getClassesImplementing(cls.getName()).getNames(), i.getClassesImplementing(cls.getName()));
+                }
+                for (Class<?> cls : Arrays.asList(Object.class, Fixtures.A.class, Fixtures.D.class)) {
+                    Assert.assertEquals(scanResult.getSubclasses(cls.getName()).getNames(), i.getSubclasses(cls.getName()));
+                }
+                for (Class<?> cls : Arrays.asList(Fixtures.Ann.class, Fixtures.InheritedAnn.class, Fixtures.MetaAnn.class, Retention.class)) {
+                    Assert.assertEquals(scanResult.getClassesWithAnnotation(cls.getName()).getNames(), i.getClassesWithAnnotation(cls.getName()));
+                }
+                for (ClassInfo classInfo : scanResult.getAllClasses()) {
+                    Assert.assertEquals(Input.isSyntheticOrAnonymous(classInfo), i.isSyntheticOrAnonymous(classInfo.getName()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testChangedJar() throws IOException {
+        final File jar = createJar(Fixtures.I.class, Fixtures.J.class, Fixtures.A.class);
+        final File cacheFile = new File(temporaryFolder.getRoot(), "scan.cache");
+        Assert.assertEquals(Arrays.asList(Fixtures.A.class.getName(), Fixtures.J.class.getName()),
+                ClasspathScanIndex.load(cacheFile, Arrays.asList(jar), false).getClassesImplementing(Fixtures.I.class.getName()));
+        Assert.assertTrue(jar.delete());
+        createJar(Fixtures.I.class, Fixtures.J.class);
+        Assert.assertEquals(Arrays.asList(Fixtures.J.class.getName()),
+                ClasspathScanIndex.load(cacheFile, Arrays.asList(jar), false).getClassesImplementing(Fixtures.I.class.getName()));
+    }
+
+    @Test
+    public void testInput() {
+        final Input.Parameters parameters = new Input.Parameters();
+        parameters.classesImplementingInterfaces = Arrays.asList(Fixtures.J.class.getName());
+        parameters.classpathScanCacheFile = new File(temporaryFolder.getRoot(), "scan.cache");
+        final List<String> expected = Arrays.asList(Fixtures.A.class, Fixtures.B.class, Fixtures.C.class, Fixtures.E.class, Fixtures.K.class).stream()
+                .map(Class::getName)
+                .collect(Collectors.toList());
+        Assert.assertEquals(expected, getNames(Input.from(parameters)));
+        Assert.assertEquals(expected, getNames(Input.from(parameters)));
+    }
+
+    private static List<String> getNames(Input input) {
+        return input.getSourceTypes().stream()
+                .map(sourceType -> ((Class<?>) sourceType.type).getName())
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> union(List<String> list1, List<String> list2) {
+        final List<String> result = Utils.concat(list1, list2);
+        Collections.sort(result);
+        return result;
+    }
+
+    private File createJar(Class<?>... classes) throws IOException {
+        final File jar = new File(temporaryFolder.getRoot(), "fixtures.jar");
+        try (JarOutputStream output = new JarOutputStream(new FileOutputStream(jar))) {
+            for (Class<?> cls : classes) {
+                final String resourceName = cls.getName().replace('.', '/') + ".class";
+                output.putNextEntry(new JarEntry(resourceName));
+                output.write(Files.readAllBytes(new File(cls.getProtectionDomain().getCodeSource().getLocation().getPath(), resourceName).toPath()));
+                output.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    public static class Fixtures {
+        @Retention(RetentionPolicy.RUNTIME) public @interface Ann {}
+        @Retention(RetentionPolicy.RUNTIME) @Inherited public @interface InheritedAnn {}
+        @Ann @Retention(RetentionPolicy.RUNTIME) public @interface MetaAnn {}
+        public interface I {}
+        public interface J extends I {}
+        @MetaAnn public interface K extends J {}
+        public static class A implements J {}
+        @Ann @InheritedAnn public static class B extends A {}
+        public static class C extends B {}
+        @MetaAnn public static class D {}
+        public static class E extends D implements K {}
+        public enum En implements I { X }
+    }
+
+}
@@ -3,6 +3,7 @@ package cz.habarta.typescript.generator;
 
 import cz.habarta.typescript.generator.util.GenericsResolver;
 import cz.habarta.typescript.generator.util.Utils;
+import java.lang.reflect.Field;
 import java.lang.reflect.GenericDeclaration;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
@@ -98,6 +99,26 @@ public class GenericsResolverTest {
         Assert.assertEquals(Arrays.asList("T", "S"), mappedTypeParameters);
     }
 
+    @Test
+    public void testCachedGenericVariableMapping() {
+        Assert.assertEquals(Arrays.asList(null, null, "T"), GenericsResolver.mapGenericVariablesToBase(R123.class, R1.class));
+        Assert.assertEquals(Arrays.asList(null, null, "T"), GenericsResolver.mapGenericVariablesToBase(R123.class, R1.class));
+        Assert.assertEquals(Arrays.asList("T", "S"), GenericsResolver.mapGenericVariablesToBase(R12.class, R1.class));
+        Assert.assertNull(GenericsResolver.mapGenericVariablesToBase(R1.class, R12.class));
+        Assert.assertNull(GenericsResolver.mapGenericVariablesToBase(R1.class, R12.class));
+    }
+
+    @Test
+    public void testJdkClassInheritancePathNotCached() throws Exception {
+        Assert.assertEquals(Arrays.asList(), GenericsResolver.mapGenericVariablesToBase(IllegalArgumentException.class, Throwable.class));
+        Assert.assertEquals(Arrays.asList("T", "S"), GenericsResolver.mapGenericVariablesToBase(R12.class, R1.class));
+        final Field field = GenericsResolver.class.getDeclaredField("inheritancePaths");
+        field.setAccessible(true);
+        final ClassValue<?> inheritancePaths = (ClassValue<?>) field.get(null);
+        Assert.assertTrue(((Map<?, ?>) inheritancePaths.get(IllegalArgumentException.class)).isEmpty());
+        Assert.assertTrue(((Map<?, ?>) inheritancePaths.get(R12.class)).containsKey(R1.class));
+    }
+
     static class R1<S, T> {
     }
     static class R12<U, V> extends R1<V, U> {
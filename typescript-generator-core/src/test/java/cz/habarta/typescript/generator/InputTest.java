@@ -1,11 +1,18 @@
 
 package cz.habarta.typescript.generator;
 
+import cz.habarta.typescript.generator.parser.SourceType;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ScanResult;
+import java.io.IOException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.junit.Assert;
 import org.junit.Test;
@@ -66,6 +73,27 @@ public class InputTest {
         Assert.assertTrue(!result3.contains("cz.habarta.CCC$Json"));
     }
 
+    @Test
+    public void testScannedPackages() {
+        Assert.assertNull(Input.ScannedPackages.fromClassNamePatterns(Arrays.asList("com.example.**", "**Json")));
+        Assert.assertNull(Input.ScannedPackages.fromClassNamePatterns(Arrays.asList("Json*")));
+        final Input.ScannedPackages packages = Input.ScannedPackages.fromClassNamePatterns(Arrays.asList(
+                "com.example.api.**", "com.example.ap*", "com.example.model.*", "cz.habarta.*.*$*", "cz.habarta.test.Json", "com.example.api.Outer$*"));
+        Assert.assertEquals(Arrays.asList("com.example.api", "cz.habarta"), new ArrayList<>(packages.recursivePackages));
+        Assert.assertEquals(Arrays.asList("com.example", "com.example.api", "com.example.model", "cz.habarta.test"), new ArrayList<>(packages.nonRecursivePackages));
+    }
+
+    @Test
+    public void testClassPatternsInScannedPackages() {
+        final Input.Parameters parameters = new Input.Parameters();
+        parameters.classNamePatterns = Arrays.asList("cz.habarta.typescript.generator.InputTest$MyJsonInterface*");
+        final Input input = Input.from(parameters);
+        Assert.assertEquals(3, input.getSourceTypes().size());
+        final String output = new TypeScriptGenerator(TestUtils.settings()).generateTypeScript(input);
+        Assert.assertTrue(output.contains("firstName: string;"));
+        Assert.assertTrue(output.contains("lastName: string;"));
+    }
+
     @Test
     public void testClassesWithAnnotations() {
         final Input.Parameters parameters = new Input.Parameters();
@@ -91,6 +119,64 @@ public class InputTest {
         Assert.assertTrue(output.contains("lastName: string;"));
     }
 
+    @Test
+    public void testAnonymousClassesSkippedBeforeLoading() throws IOException {
+        final MyMarkerInterface anonymous = createAnonymousMarker();
+        final MyMarkerInterface local = createLocalMarker();
+        try (ScanResult scanResult = new ClassGraph()
+                .enableClassInfo()
+                .ignoreClassVisibility()
+                .whitelistPackagesNonRecursive(InputTest.class.getPackage().getName())
+                .scan()) {
+            Assert.assertTrue(Input.isSyntheticOrAnonymous(scanResult.getClassInfo(anonymous.getClass().getName())));
+            Assert.assertFalse(Input.isSyntheticOrAnonymous(scanResult.getClassInfo(local.getClass().getName())));
+            Assert.assertFalse(Input.isSyntheticOrAnonymous(scanResult.getClassInfo(MyJsonInterfaceImpl.class.getName())));
+        }
+        final List<String> requestedClassNames = Collections.synchronizedList(new ArrayList<>());
+        final URL testClasses = InputTest.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {testClasses}, InputTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                requestedClassNames.add(name);
+                return super.loadClass(name, resolve);
+            }
+        }) {
+            final Input.Parameters parameters = new Input.Parameters();
+            parameters.classesImplementingInterfaces = Arrays.asList(MyMarkerInterface.class.getName());
+            parameters.classLoader = classLoader;
+            final List<SourceType<Type>> sourceTypes = Input.from(parameters).getSourceTypes();
+            Assert.assertEquals(1, sourceTypes.size());
+            Assert.assertEquals(local.getClass(), sourceTypes.get(0).type);
+        }
+        Assert.assertTrue(requestedClassNames.contains(local.getClass().getName()));
+        Assert.assertFalse(requestedClassNames.contains(anonymous.getClass().getName()));
+    }
+
+    @Test
+    public void testLoadClassesPreservesOrder() {
+        final List<String> classNames = Arrays.asList(
+                MyJsonInterfaceSubclass.class.getName(),
+                "cz.habarta.typescript.generator.NonExistingClass",
+                MyData.class.getName(),
+                MyJsonInterface.class.getName());
+        Assert.assertEquals(
+                Arrays.asList(MyJsonInterfaceSubclass.class, MyData.class, MyJsonInterface.class),
+                Input.loadClasses(classNames));
+    }
+
+    private static MyMarkerInterface createAnonymousMarker() {
+        return new MyMarkerInterface() {};
+    }
+
+    private static MyMarkerInterface createLocalMarker() {
+        class LocalMarker implements MyMarkerInterface {
+        }
+        return new LocalMarker();
+    }
+
+    private interface MyMarkerInterface {
+    }
+
     @Retention(RetentionPolicy.RUNTIME)
     private static @interface MyJsonClass {
     }
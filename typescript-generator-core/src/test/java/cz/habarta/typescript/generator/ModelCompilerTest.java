@@ -3,10 +3,14 @@ package cz.habarta.typescript.generator;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import cz.habarta.typescript.generator.compiler.ModelCompiler;
+import cz.habarta.typescript.generator.compiler.Symbol;
+import cz.habarta.typescript.generator.emitter.TsBeanCategory;
+import cz.habarta.typescript.generator.emitter.TsBeanModel;
 import cz.habarta.typescript.generator.emitter.TsModel;
 import cz.habarta.typescript.generator.parser.Jackson2Parser;
 import cz.habarta.typescript.generator.parser.Model;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -87,6 +91,48 @@ public class ModelCompilerTest {
 
     private static class Implementation implements WithTypeParam<Integer>, WithoutTypeParam {}
 
+    @Test
+    public void testTsModelLookups() {
+        final Symbol symbolA = new Symbol("A");
+        final Symbol symbolB = new Symbol("B");
+        final TsBeanModel beanA = new TsBeanModel(A.class, TsBeanCategory.Data, false, symbolA, null, null, null, null, null, null, null, null);
+        final TsBeanModel beanB = new TsBeanModel(Direction.class, TsBeanCategory.Data, false, symbolB, null, null, null, null, null, null, null, null);
+        final TsModel model = new TsModel().withBeans(new ArrayList<>(Arrays.asList(beanA)));
+        Assert.assertSame(beanA, model.getBean(A.class));
+        Assert.assertSame(beanA, model.getBean(symbolA));
+        Assert.assertNull(model.getBean(symbolB));
+        // beans added after lookup
+        model.getBeans().add(beanB);
+        Assert.assertSame(beanB, model.getBean(Direction.class));
+        Assert.assertSame(beanB, model.withEnums(Arrays.asList()).getBean(symbolB));
+        Assert.assertNull(model.withoutBeans(Arrays.asList(beanB)).getBean(symbolB));
+        Assert.assertNull(model.getBean((Class<?>) null));
+        Assert.assertNull(model.getTypeAlias(A.class));
+    }
+
+    @Test
+    public void testInternTsTypes() {
+        final Settings settings = getTestSettings();
+        final String expected = new TypeScriptGenerator(settings).generateTypeScript(Input.from(B.class));
+        settings.internTsTypes = true;
+        Assert.assertEquals(expected, new TypeScriptGenerator(settings).generateTypeScript(Input.from(B.class)));
+        final Model model = new TypeScriptGenerator(settings).getModelParser().parseModel(B.class);
+        final TsModel tsModel = new TypeScriptGenerator(settings).getModelCompiler().javaToTypeScript(model);
+        final TsBeanModel bean = tsModel.getBean(B.class);
+        Assert.assertSame(bean.getProperties().get(0).getTsType(), bean.getProperties().get(1).getTsType());
+        Assert.assertSame(bean.getProperties().get(2).getTsType(), bean.getProperties().get(3).getTsType());
+    }
+
+    @Test
+    public void testParallelCompilation() {
+        final Settings settings = getTestSettings();
+        final Input input = Input.from(A.class, B.class, Implementation.class, TaggedUnionsTest.IShape3.class, TaggedUnionsTest.IRectangle3.class, TaggedUnionsTest.ICircle3.class);
+        final String sequentialOutput = new TypeScriptGenerator(settings).generateTypeScript(input);
+        settings.parallelCompilation = true;
+        settings.parallelism = 4;
+        Assert.assertEquals(sequentialOutput, new TypeScriptGenerator(settings).generateTypeScript(input));
+    }
+
     private static Settings getTestSettings(String... excludedClassNames) {
         final Settings settings = TestUtils.settings();
         settings.mapDate = DateMapping.asString;
@@ -103,4 +149,11 @@ public class ModelCompilerTest {
         public Date timestamp;
     }
 
+    private static class B {
+        public List<String> names;
+        public List<String> aliases;
+        public Map<String, Direction> directions;
+        public Map<String, Direction> otherDirections;
+    }
+
 }
@@ -64,6 +64,31 @@ public class ModelParserTest {
         Assert.assertEquals(0, model.getBeans().size());
     }
 
+    @Test
+    public void testParallelParsing() {
+        final Settings settings = TestUtils.settings();
+        final String sequentialOutput = new TypeScriptGenerator(settings).generateTypeScript(Input.from(RootClass1.class, RootClass2.class, RootClass3.class, DummyBean.class, Jackson2ParserTest.DummyBeanJackson2.class));
+        settings.parallelParsing = true;
+        settings.parallelism = 4;
+        final String parallelOutput = new TypeScriptGenerator(settings).generateTypeScript(Input.from(RootClass1.class, RootClass2.class, RootClass3.class, DummyBean.class, Jackson2ParserTest.DummyBeanJackson2.class));
+        Assert.assertEquals(sequentialOutput, parallelOutput);
+    }
+
+    @Test
+    public void testTypeProcessorCache() {
+        final Settings settings = TestUtils.settings();
+        final TypeScriptGenerator generator = new TypeScriptGenerator(settings);
+        final String output = generator.generateTypeScript(Input.from(RootClass3.class, NodeClassB.class, DummyBean.class));
+        final CachingTypeProcessor cachingTypeProcessor = (CachingTypeProcessor) generator.getCommonTypeProcessor();
+        Assert.assertTrue(cachingTypeProcessor.getHits() > 0);
+
+        final Settings settingsWithoutCache = TestUtils.settings();
+        settingsWithoutCache.disableTypeProcessorCache = true;
+        final TypeScriptGenerator generatorWithoutCache = new TypeScriptGenerator(settingsWithoutCache);
+        Assert.assertFalse(generatorWithoutCache.getCommonTypeProcessor() instanceof CachingTypeProcessor);
+        Assert.assertEquals(output, generatorWithoutCache.generateTypeScript(Input.from(RootClass3.class, NodeClassB.class, DummyBean.class)));
+    }
+
     private Model parseModel(Type type, String... excludedClassNames) {
         final Settings settings = new Settings();
         settings.setExcludeFilter(Arrays.asList(excludedClassNames), null);
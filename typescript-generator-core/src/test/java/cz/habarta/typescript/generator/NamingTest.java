@@ -1,10 +1,16 @@
 
 package cz.habarta.typescript.generator;
 
+import cz.habarta.typescript.generator.compiler.Symbol;
 import cz.habarta.typescript.generator.compiler.SymbolTable;
 import cz.habarta.typescript.generator.yield.KeywordInPackage;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -49,6 +55,28 @@ public class NamingTest {
         }
     }
 
+    @Test
+    public void testSymbolReverseLookup() {
+        final SymbolTable symbolTable = new SymbolTable(TestUtils.settings());
+        final Symbol symbol = symbolTable.getSymbol(A.class);
+        Assert.assertSame(A.class, symbolTable.getSymbolClass(symbol));
+        final Symbol suffixed = symbolTable.addSuffixToSymbol(symbol, "Ref");
+        Assert.assertSame(symbolTable.getSymbol(A.class, "Ref"), suffixed);
+        Assert.assertSame(A.class, symbolTable.getSymbolClass(suffixed));
+        final Symbol synthetic = symbolTable.getSyntheticSymbol("Synthetic");
+        Assert.assertNull(symbolTable.getSymbolClass(synthetic));
+        Assert.assertSame(symbolTable.getSyntheticSymbol("SyntheticRef"), symbolTable.addSuffixToSymbol(synthetic, "Ref"));
+    }
+
+    @Test
+    public void testSymbolTableConcurrentAccess() {
+        final SymbolTable symbolTable = new SymbolTable(TestUtils.settings());
+        final Set<Symbol> symbols = IntStream.range(0, 1000).parallel()
+                .mapToObj(i -> symbolTable.getSymbol(i % 2 == 0 ? A.class : B.class, "Suffix" + (i % 10)))
+                .collect(Collectors.toCollection(() -> Collections.newSetFromMap(new ConcurrentHashMap<>())));
+        Assert.assertEquals(10, symbols.size());
+    }
+
     @Test
     public void testTypeNamingFunction() {
         final Settings settings = TestUtils.settings();
@@ -67,6 +95,49 @@ public class NamingTest {
         Assert.assertEquals("A", name);
     }
 
+    @Test
+    public void testTypeNamingFunctionMemoized() {
+        final Settings settings = TestUtils.settings();
+        settings.customTypeNamingFunction = "function(name, simpleName) { this.calls = (this.calls || 0) + 1; return simpleName + this.calls; }";
+        Assert.assertEquals("A1", new SymbolTable(settings).getMappedNamespacedName(A.class));
+        Assert.assertEquals("A1", new SymbolTable(settings).getMappedNamespacedName(A.class));
+        Assert.assertEquals("C2", new SymbolTable(settings).getMappedNamespacedName(C.class));
+        // results are not shared with other settings
+        final Settings otherSettings = TestUtils.settings();
+        otherSettings.customTypeNamingFunction = settings.customTypeNamingFunction;
+        Assert.assertEquals("C1", new SymbolTable(otherSettings).getMappedNamespacedName(C.class));
+        Assert.assertEquals("A1", new SymbolTable(settings).getMappedNamespacedName(A.class));
+    }
+
+    @Test
+    public void testTypeNamingRules() {
+        final Settings settings = TestUtils.settings();
+        settings.customTypeNamingRules = Arrays.asList(
+                "cz\\.habarta\\.typescript\\.generator\\.NamingTest\\$(\\w+):Rule$1",
+                ".*\\.(\\w+):Other$1");
+        settings.customTypeNaming = Collections.singletonMap("cz.habarta.typescript.generator.NamingTest$C", "NS.C");
+        settings.customTypeNamingFunction = "function(name, simpleName) { return 'Func' + simpleName; }";
+        final SymbolTable symbolTable = new SymbolTable(settings);
+        Assert.assertEquals("RuleA", symbolTable.getMappedNamespacedName(A.class));
+        Assert.assertEquals("NS.C", symbolTable.getMappedNamespacedName(C.class));
+        Assert.assertEquals("OtherObject", symbolTable.getMappedNamespacedName(Object.class));
+        Assert.assertEquals("FuncConflictingClass", symbolTable.getMappedNamespacedName(A.ConflictingClass.class));
+    }
+
+    @Test
+    public void testTypeNamingRuleMatchesWholeName() {
+        final Settings settings = TestUtils.settings();
+        settings.customTypeNamingRules = Arrays.asList("(.+?)(Dto)?:$1");
+        Assert.assertEquals("cz.habarta.typescript.generator.NamingTest$Foo", new SymbolTable(settings).getMappedNamespacedName(FooDto.class));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testInvalidTypeNamingRule() {
+        final Settings settings = TestUtils.settings();
+        settings.customTypeNamingRules = Arrays.asList("(unclosed:Name");
+        settings.validate();
+    }
+
     @Test
     public void testCombinations() {
         final Settings settings = TestUtils.settings();
@@ -107,4 +178,7 @@ public class NamingTest {
         public C objectC;
     }
 
+    private static class FooDto {
+    }
+
 }
@@ -0,0 +1,103 @@
+
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.emitter.Emitter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class OutputTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final long OldTimestamp = 1_000_000_000_000L;
+
+    @Test
+    public void testUnchangedFilesNotWritten() throws IOException {
+        final File outputFile = new File(temporaryFolder.getRoot(), "out/test.d.ts");
+        final File infoJsonFile = new File(outputFile.getParentFile(), "typescript-generator-info.json");
+        final File packageJsonFile = new File(outputFile.getParentFile(), "package.json");
+        final Settings settings = moduleSettings();
+
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(DummyBean.class), Output.to(outputFile));
+        final String content = TestUtils.readFile(outputFile.getPath());
+        Assert.assertTrue(content.contains("interface DummyBean"));
+        setOldTimestamp(outputFile, infoJsonFile, packageJsonFile);
+
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(DummyBean.class), Output.to(outputFile));
+        Assert.assertEquals(OldTimestamp, outputFile.lastModified());
+        Assert.assertEquals(OldTimestamp, infoJsonFile.lastModified());
+        Assert.assertEquals(OldTimestamp, packageJsonFile.lastModified());
+        Assert.assertEquals(content, TestUtils.readFile(outputFile.getPath()));
+        Assert.assertEquals(3, temporaryFolder.getRoot().toPath().resolve("out").toFile().list().length);
+
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(DummyBean.class, OtherBean.class), Output.to(outputFile));
+        Assert.assertNotEquals(OldTimestamp, outputFile.lastModified());
+        Assert.assertEquals(OldTimestamp, packageJsonFile.lastModified());
+        Assert.assertTrue(TestUtils.readFile(outputFile.getPath()).contains("interface OtherBean"));
+        Assert.assertEquals(3, temporaryFolder.getRoot().toPath().resolve("out").toFile().list().length);
+    }
+
+    @Test
+    public void testTimestampInFileCommentIgnored() throws IOException {
+        final File outputFile = new File(temporaryFolder.getRoot(), "test.d.ts");
+        final Settings settings = TestUtils.settings();
+        settings.noFileComment = false;
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(DummyBean.class), Output.to(outputFile));
+        final String content = new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8);
+        Assert.assertTrue(content.contains(Emitter.FileCommentPrefix));
+
+        final String oldContent = content.replaceFirst("on \\d{4}-\\d\\d-\\d\\d \\d\\d:\\d\\d:\\d\\d\\.", "on 2001-02-03 04:05:06.");
+        Assert.assertNotEquals(content, oldContent);
+        Files.write(outputFile.toPath(), oldContent.getBytes(StandardCharsets.UTF_8));
+        setOldTimestamp(outputFile);
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(DummyBean.class), Output.to(outputFile));
+        Assert.assertEquals(OldTimestamp, outputFile.lastModified());
+        Assert.assertEquals(oldContent, new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testNothingWrittenUntilClosed() throws IOException {
+        final File outputFile = new File(temporaryFolder.getRoot(), "out/test.d.ts");
+        final Output output = Output.to(outputFile);
+        output.getWriter().write("interface Partial {");
+        output.getWriter().flush();
+        Assert.assertFalse(outputFile.getParentFile().exists());
+
+        Files.createDirectories(outputFile.getParentFile().toPath());
+        Files.write(outputFile.toPath(), "interface Old {}\n".getBytes(StandardCharsets.UTF_8));
+        final Output failedOutput = Output.to(outputFile);
+        failedOutput.getWriter().write("interface Partial {");
+        failedOutput.getWriter().flush();
+        Assert.assertEquals("interface Old {}\n", new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+        Assert.assertEquals(1, outputFile.getParentFile().list().length);
+    }
+
+    private static Settings moduleSettings() {
+        final Settings settings = TestUtils.settings();
+        settings.outputKind = TypeScriptOutputKind.module;
+        settings.generateInfoJson = true;
+        settings.generateNpmPackageJson = true;
+        settings.npmName = "test";
+        settings.npmVersion = "1.0.0";
+        return settings;
+    }
+
+    private static void setOldTimestamp(File... files) {
+        for (File file : files) {
+            Assert.assertTrue(file.setLastModified(OldTimestamp));
+        }
+    }
+
+    private static class OtherBean {
+        public String name;
+    }
+
+}
@@ -10,6 +10,8 @@ import cz.habarta.typescript.generator.compiler.Symbol;
 import java.util.Arrays;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import org.junit.Test;
 
 public class TsTypeTest {
@@ -29,6 +31,35 @@ public class TsTypeTest {
         assertNotEquals(new TsType.ReferenceType(new Symbol("Foo")), null);
     }
 
+    @Test
+    public void testStructuralEquals() {
+        final Symbol foo = new Symbol("Foo");
+        final TsType type1 = new TsType.ObjectType(
+                new TsProperty("a", new UnionType(String, new BasicArrayType(new TsType.ReferenceType(foo)))),
+                new TsProperty("b", new IndexedArrayType(String, Number).optional()));
+        final TsType type2 = new TsType.ObjectType(
+                new TsProperty("a", new UnionType(String, new BasicArrayType(new TsType.ReferenceType(foo)))),
+                new TsProperty("b", new IndexedArrayType(String, Number).optional()));
+        assertEquals(type1, type2);
+        assertEquals(type1.hashCode(), type2.hashCode());
+        assertNotEquals(new UnionType(String, Number), new UnionType(Number, String));
+        assertNotEquals(String, String.optional());
+        assertNotEquals(new TsType.BasicType("T"), new TsType.GenericVariableType("T"));
+        assertEquals(new TsType.NumberLiteralType(1), new TsType.NumberLiteralType(1L));
+        assertNotEquals(new TsType.NumberLiteralType(1), new TsType.NumberLiteralType(1.0));
+    }
+
+    @Test
+    public void testHashCodeAfterSymbolRename() {
+        final Symbol symbol = new Symbol("$Foo$");
+        final TsType type = new BasicArrayType(new TsType.ReferenceType(symbol));
+        final int temporaryHashCode = type.hashCode();
+        symbol.setFullName(null, "Foo");
+        assertEquals(new BasicArrayType(new TsType.ReferenceType(new Symbol("Foo"))), type);
+        assertEquals(new BasicArrayType(new TsType.ReferenceType(new Symbol("Foo"))).hashCode(), type.hashCode());
+        assertNotEquals(temporaryHashCode, type.hashCode());
+    }
+
     @Test
     public void testTypeParentheses() {
         final Settings settings = TestUtils.settings();
@@ -52,4 +83,49 @@ public class TsTypeTest {
         )).format(settings));
     }
 
+    @Test
+    public void testTransformerAndThen() {
+        final TsType.Transformer numberToString = (context, tsType) -> tsType == Number ? String : tsType;
+        final TsType.Transformer stringToAny = (context, tsType) -> tsType == String ? TsType.Any : tsType;
+        final TsType type = new UnionType(Arrays.asList(Number, new IndexedArrayType(String, Number)));
+        final TsType transformed = TsType.transformTsType(new TsType.Context(), type, numberToString.andThen(stringToAny));
+        assertEquals("any | { [index: any]: any }", transformed.toString());
+    }
+
+    @Test
+    public void testTransformKeepsUnchangedInstances() {
+        final TsType unchanged = new ObjectType(new TsProperty("a", new BasicArrayType(String)), new TsProperty("b", new TsType.FunctionType(Arrays.asList(new TsParameter("p", String)), Number)));
+        final TsType changed = new UnionType(Arrays.asList(unchanged, new BasicArrayType(Number)));
+        final TsType.Transformer numberToString = (context, tsType) -> tsType == Number ? String : tsType;
+        assertSame(unchanged, TsType.transformTsType(new TsType.Context(), unchanged, (context, tsType) -> tsType));
+        final UnionType transformed = (UnionType) TsType.transformTsType(new TsType.Context(), changed, numberToString);
+        assertNotSame(changed, transformed);
+        assertNotSame(unchanged, transformed.types.get(0));
+        assertEquals(new BasicArrayType(String), transformed.types.get(1));
+        final TsType unchangedByNumberToString = new BasicArrayType(new IndexedArrayType(String, TsType.Boolean));
+        assertSame(unchangedByNumberToString, TsType.transformTsType(new TsType.Context(), unchangedByNumberToString, numberToString));
+    }
+
+    @Test
+    public void testInterner() {
+        final TsTypeInterner interner = new TsTypeInterner();
+        final Symbol foo = new Symbol("Foo");
+        final TsType type1 = interner.intern(new ObjectType(
+                new TsProperty("a", new UnionType(new TsType.BasicType("string"), new BasicArrayType(new TsType.ReferenceType(foo)))),
+                new TsProperty("b", new IndexedArrayType(String, Number).optional())));
+        final TsType type2 = interner.intern(new ObjectType(
+                new TsProperty("a", new UnionType(String, new BasicArrayType(new TsType.ReferenceType(foo)))),
+                new TsProperty("b", new IndexedArrayType(String, Number).optional())));
+        assertSame(type1, type2);
+        assertSame(String, ((UnionType) ((ObjectType) type1).properties.get(0).tsType).types.get(0));
+        assertSame(interner.intern(new BasicArrayType(new TsType.ReferenceType(foo))), ((UnionType) ((ObjectType) type1).properties.get(0).tsType).types.get(1));
+        assertNotSame(interner.intern(new TsType.ReferenceType(foo)), interner.intern(new TsType.ReferenceType(new Symbol("Foo"))));
+        assertNotSame(interner.intern(new TsType.GenericVariableType("string")), interner.intern(new TsType.BasicType("string")));
+        assertNotSame(interner.intern(new TsType.GenericBasicType("A", String, Number)), interner.intern(new TsType.GenericBasicType("A", String)));
+        // renaming symbol doesn't break interning
+        final TsType reference = interner.intern(new TsType.ReferenceType(foo));
+        foo.setFullName(null, "Bar");
+        assertSame(reference, interner.intern(new TsType.ReferenceType(foo)));
+    }
+
 }
@@ -1,9 +1,18 @@
 
 package cz.habarta.typescript.generator;
 
+import cz.habarta.typescript.generator.util.ReflectionCache;
+import cz.habarta.typescript.generator.util.TypeKey;
 import cz.habarta.typescript.generator.util.Utils;
 import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -22,4 +31,43 @@ public class UtilsTest {
         Assert.assertEquals("\\Qcz.habarta.test.\\E[^.\\$]*\\Q\\E", Utils.globsToRegexps(Arrays.asList("cz.habarta.test.*")).get(0).toString());
     }
 
+    @Test
+    public void testTypeKey() throws Exception {
+        final Type jdkType = TypeKeyBean.class.getField("list").getGenericType();
+        final Type customType = Utils.createParameterizedType(List.class, String.class);
+        Assert.assertEquals(TypeKey.of(jdkType), TypeKey.of(customType));
+        Assert.assertEquals(TypeKey.of(jdkType).hashCode(), TypeKey.of(customType).hashCode());
+        final Set<TypeKey> keys = new HashSet<>();
+        Assert.assertTrue(keys.add(TypeKey.of(jdkType)));
+        Assert.assertFalse(keys.add(TypeKey.of(customType)));
+        Assert.assertTrue(keys.add(TypeKey.of(TypeKeyBean.class.getField("map").getGenericType())));
+        Assert.assertTrue(keys.add(TypeKey.of(Utils.createParameterizedType(List.class, Integer.class))));
+        Assert.assertFalse(keys.add(TypeKey.of(Utils.createParameterizedType(Map.class, String.class, Utils.createParameterizedType(List.class, String.class)))));
+    }
+
+    public static class TypeKeyBean {
+        public List<String> list;
+        public Map<String, List<String>> map;
+    }
+
+    @Test
+    public void testReflectionCache() {
+        Assert.assertEquals(Arrays.asList(Object.class, TypeKeyBean.class, TypeKeyBeanDerived.class), Utils.getInheritanceChain(TypeKeyBeanDerived.class).collect(Collectors.toList()));
+        Assert.assertEquals(Arrays.asList("list", "map", "set"), Utils.getAllFields(TypeKeyBeanDerived.class).stream().map(Field::getName).collect(Collectors.toList()));
+        Assert.assertSame(ReflectionCache.getAllFields(TypeKeyBeanDerived.class), ReflectionCache.getAllFields(TypeKeyBeanDerived.class));
+        // JDK classes are not cached so that generator class loader is not kept alive
+        Assert.assertNotSame(ReflectionCache.getDeclaredMethods(Object.class), ReflectionCache.getDeclaredMethods(Object.class));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(TypeKeyBeanDerived.class.getMethods())), new HashSet<>(ReflectionCache.getMethods(TypeKeyBeanDerived.class)));
+        try {
+            ReflectionCache.getDeclaredFields(TypeKeyBean.class).clear();
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    public static class TypeKeyBeanDerived extends TypeKeyBean {
+        public Set<String> set;
+    }
+
 }
@@ -0,0 +1,78 @@
+
+package cz.habarta.typescript.generator.parser;
+
+import cz.habarta.typescript.generator.xmldoclet.Class;
+import cz.habarta.typescript.generator.xmldoclet.Enum;
+import cz.habarta.typescript.generator.xmldoclet.Field;
+import cz.habarta.typescript.generator.xmldoclet.Interface;
+import cz.habarta.typescript.generator.xmldoclet.Method;
+import cz.habarta.typescript.generator.xmldoclet.Package;
+import cz.habarta.typescript.generator.xmldoclet.Root;
+import cz.habarta.typescript.generator.xmldoclet.TagInfo;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.bind.JAXB;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JavadocXmlLoaderTest {
+
+    private static final File JavadocXmlFile = new File("target/test-javadoc.xml");
+
+    @Test
+    public void testSameAsJaxb() {
+        final Root expected = JAXB.unmarshal(JavadocXmlFile, Root.class);
+        final Root actual = new JavadocXmlLoader(null).load(JavadocXmlFile);
+        Assert.assertEquals(describe(expected), describe(actual));
+    }
+
+    @Test
+    public void testFilter() {
+        final String className = "cz.habarta.typescript.generator.JavadocTest.ClassWithJavadoc";
+        final Root root = new JavadocXmlLoader(className::equals).load(JavadocXmlFile);
+        final List<String> classes = new ArrayList<>();
+        for (Package dPackage : root.getPackage()) {
+            Assert.assertTrue(dPackage.getInterface().isEmpty());
+            Assert.assertTrue(dPackage.getEnum().isEmpty());
+            for (Class dClass : dPackage.getClazz()) {
+                classes.add(dClass.getQualified());
+            }
+        }
+        Assert.assertEquals(1, classes.size());
+        Assert.assertEquals(className, classes.get(0));
+    }
+
+    private static List<String> describe(Root root) {
+        final List<String> result = new ArrayList<>();
+        for (Package dPackage : root.getPackage()) {
+            for (Class dClass : dPackage.getClazz()) {
+                result.add("class " + dClass.getQualified() + ": " + dClass.getComment() + describe(dClass.getTag()));
+                describe(result, dClass.getField(), dClass.getMethod());
+            }
+            for (Interface dInterface : dPackage.getInterface()) {
+                result.add("interface " + dInterface.getQualified() + ": " + dInterface.getComment() + describe(dInterface.getTag()));
+                describe(result, dInterface.getField(), dInterface.getMethod());
+            }
+            for (Enum dEnum : dPackage.getEnum()) {
+                result.add("enum " + dEnum.getQualified() + ": " + dEnum.getComment() + describe(dEnum.getTag()));
+                dEnum.getConstant().forEach(dConstant -> result.add("  constant " + dConstant.getName() + ": " + dConstant.getComment() + describe(dConstant.getTag())));
+            }
+        }
+        return result;
+    }
+
+    private static void describe(List<String> result, List<Field> dFields, List<Method> dMethods) {
+        dFields.forEach(dField -> result.add("  field " + dField.getName() + ": " + dField.getComment() + describe(dField.getTag())));
+        dMethods.forEach(dMethod -> result.add("  method " + dMethod.getName() + ": " + dMethod.getComment() + describe(dMethod.getTag())));
+    }
+
+    private static String describe(List<TagInfo> dTags) {
+        final StringBuilder sb = new StringBuilder();
+        for (TagInfo dTag : dTags) {
+            sb.append(" ").append(dTag.getName()).append("=").append(dTag.getText());
+        }
+        return sb.toString();
+    }
+
+}
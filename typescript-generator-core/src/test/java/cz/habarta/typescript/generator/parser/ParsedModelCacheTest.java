@@ -0,0 +1,160 @@
+
+package cz.habarta.typescript.generator.parser;
+
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import cz.habarta.typescript.generator.DummyBean;
+import cz.habarta.typescript.generator.DummyEnum;
+import cz.habarta.typescript.generator.Input;
+import cz.habarta.typescript.generator.JaxrsApplicationTest;
+import cz.habarta.typescript.generator.OptionalProperties;
+import cz.habarta.typescript.generator.Settings;
+import cz.habarta.typescript.generator.TestUtils;
+import cz.habarta.typescript.generator.TypeScriptFileType;
+import cz.habarta.typescript.generator.TypeScriptGenerator;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class ParsedModelCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final Class<?>[] TestClasses = {
+        GenericBean.class, StringBean.class, Shape.class, UnwrappedBean.class, IdentityBean.class, DummyBean.class, DummyEnum.class,
+    };
+
+    @Test
+    public void testSameOutputAsWithoutCache() {
+        final Settings settings = TestUtils.settings();
+        final String expected = new TypeScriptGenerator(settings).generateTypeScript(Input.from(TestClasses));
+        settings.parsedModelCacheFile = new File(temporaryFolder.getRoot(), "model.cache");
+        final String firstOutput = new TypeScriptGenerator(settings).generateTypeScript(Input.from(TestClasses));
+        Assert.assertTrue(settings.parsedModelCacheFile.isFile());
+        final String cachedOutput = new TypeScriptGenerator(settings).generateTypeScript(Input.from(TestClasses));
+        Assert.assertEquals(expected, firstOutput);
+        Assert.assertEquals(expected, cachedOutput);
+    }
+
+    @Test
+    public void testCachedModel() {
+        final Settings settings = TestUtils.settings();
+        settings.parsedModelCacheFile = new File(temporaryFolder.getRoot(), "model.cache");
+        final Model model = new TypeScriptGenerator(settings).getModelParser().parseModel(StringBean.class);
+
+        final ParsedModelCache cache = ParsedModelCache.load(settings.parsedModelCacheFile, settings, property -> false);
+        final ParsedModelCache.Result cached = cache.get(StringBean.class);
+        Assert.assertNotNull(cached);
+        Assert.assertEquals(model.getBean(StringBean.class).toString(), cached.model.toString());
+        final List<Class<?>> queuedClasses = new ArrayList<>();
+        for (ParsedModelCache.QueuedType queuedType : cached.queuedTypes) {
+            if (queuedType.sourceType.type instanceof Class<?>) {
+                queuedClasses.add((Class<?>) queuedType.sourceType.type);
+            }
+        }
+        Assert.assertTrue(queuedClasses.contains(DummyEnum.class));
+
+        final BeanModel cachedGenericBean = (BeanModel) ParsedModelCache.load(settings.parsedModelCacheFile, settings, property -> false).get(GenericBean.class).model;
+        Assert.assertEquals(model.getBean(GenericBean.class).getProperty("values").getType(), cachedGenericBean.getProperty("values").getType());
+        Assert.assertEquals(model.getBean(GenericBean.class).getProperty("map").getType(), cachedGenericBean.getProperty("map").getType());
+        Assert.assertEquals(model.getBean(GenericBean.class).getProperty("value").getComments(), cachedGenericBean.getProperty("value").getComments());
+        Assert.assertEquals(model.getBean(GenericBean.class).getProperty("value").getOriginalMember(), cachedGenericBean.getProperty("value").getOriginalMember());
+    }
+
+    @Test
+    public void testChangedSettings() {
+        final Settings settings = TestUtils.settings();
+        settings.parsedModelCacheFile = new File(temporaryFolder.getRoot(), "model.cache");
+        new TypeScriptGenerator(settings).getModelParser().parseModel(StringBean.class);
+        Assert.assertNotNull(ParsedModelCache.load(settings.parsedModelCacheFile, settings, property -> false).get(StringBean.class));
+        settings.optionalProperties = OptionalProperties.all;
+        Assert.assertNull(ParsedModelCache.load(settings.parsedModelCacheFile, settings, property -> false).get(StringBean.class));
+    }
+
+    @Test
+    public void testTypeContextNotCached() {
+        final Settings settings = TestUtils.settings();
+        settings.parsedModelCacheFile = new File(temporaryFolder.getRoot(), "model.cache");
+        new TypeScriptGenerator(settings).getModelParser().parseModel(IdentityBean.class);
+        final ParsedModelCache cache = ParsedModelCache.load(settings.parsedModelCacheFile, settings, property -> false);
+        Assert.assertNull(cache.get(IdentityBean.class));
+        Assert.assertNotNull(cache.get(IdentityNode.class));
+    }
+
+    @Test
+    public void testCachedRestResources() {
+        final Class<?>[] resources = {
+            JaxrsApplicationTest.OrganizationsResource.class, JaxrsApplicationTest.BeanParamResource.class, JaxrsApplicationTest.AccountResource.class,
+        };
+        final Settings settings = TestUtils.settings();
+        settings.generateJaxrsApplicationInterface = true;
+        settings.generateJaxrsApplicationClient = true;
+        settings.outputFileType = TypeScriptFileType.implementationFile;
+        final String expected = new TypeScriptGenerator(settings).generateTypeScript(Input.from(resources));
+        settings.parsedModelCacheFile = new File(temporaryFolder.getRoot(), "model.cache");
+        final String firstOutput = new TypeScriptGenerator(settings).generateTypeScript(Input.from(resources));
+        final ParsedModelCache cache = ParsedModelCache.load(settings.parsedModelCacheFile, settings, property -> false);
+        final ParsedModelCache.RestResourceResult cached = cache.getRestResource(JaxrsApplicationTest.OrganizationsResource.class, RestApplicationType.Jaxrs);
+        Assert.assertNotNull(cached);
+        Assert.assertEquals(3, cached.methods.size());
+        Assert.assertNotNull(cache.getRestResource(JaxrsApplicationTest.BeanParamResource.class, RestApplicationType.Jaxrs));
+        final String cachedOutput = new TypeScriptGenerator(settings).generateTypeScript(Input.from(resources));
+        Assert.assertEquals(expected, firstOutput);
+        Assert.assertEquals(expected, cachedOutput);
+    }
+
+    static class GenericBean<T> {
+        @JsonPropertyDescription("The value")
+        public T value;
+        public List<? extends T> values;
+        public Map<String, T[]> map;
+    }
+
+    static class StringBean extends GenericBean<String> {
+        public DummyEnum dummyEnum;
+        public GenericBean<Integer>[] integerBeans;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "kind")
+    @JsonSubTypes({
+        @JsonSubTypes.Type(value = Circle.class, name = "circle"),
+        @JsonSubTypes.Type(value = Square.class, name = "square"),
+    })
+    static abstract class Shape {
+    }
+
+    static class Circle extends Shape {
+        public double radius;
+    }
+
+    static class Square extends Shape {
+        public double size;
+    }
+
+    static class UnwrappedBean {
+        @JsonUnwrapped(prefix = "inner_")
+        public Circle circle;
+    }
+
+    static class IdentityBean {
+        public IdentityNode node;
+        public List<IdentityNode> nodes;
+    }
+
+    @JsonIdentityInfo(generator = ObjectIdGenerators.IntSequenceGenerator.class)
+    static class IdentityNode {
+        public String name;
+    }
+
+}
@@ -49,6 +49,7 @@ public class GenerateTask extends DefaultTask {
     public List<String> classesExtendingClasses;
     public String classesFromJaxrsApplication;
     public boolean classesFromAutomaticJaxrsApplication;
+    public String classpathScanCacheFile;
     public List<String> excludeClasses;
     public List<String> excludeClassPatterns;
     public List<String> includePropertyAnnotations;
@@ -65,6 +66,7 @@ public class GenerateTask extends DefaultTask {
     public String addTypeNameSuffix;
     public List<String> customTypeNaming;
     public String customTypeNamingFunction;
+    public List<String> customTypeNamingRules;
     public List<String> referencedFiles;
     public List<String> importDeclarations;
     public List<String> customTypeMappings;
@@ -89,6 +91,8 @@ public class GenerateTask extends DefaultTask {
     public String restResponseType;
     public String restOptionsType;
     public String customTypeProcessor;
+    public boolean disableTypeProcessorCache;
+    public boolean internTsTypes;
     public boolean sortDeclarations;
     public boolean sortTypeDeclarations;
     public boolean noFileComment;
@@ -106,10 +110,17 @@ public class GenerateTask extends DefaultTask {
     public String npmBuildScript;
     public StringQuotes stringQuotes;
     public String indentString;
+    public Integer outputBufferSize;
+    public boolean flushAfterEachDeclaration;
     @Deprecated public boolean displaySerializerWarning;
     @Deprecated public boolean disableJackson2ModuleDiscovery;
     public boolean jackson2ModuleDiscovery;
     public List<String> jackson2Modules;
+    public boolean parallelParsing;
+    public boolean bytecodeParsing;
+    public String parsedModelCacheFile;
+    public boolean parallelCompilation;
+    public int parallelism;
     @Deprecated public boolean debug;
     public Logger.Level loggingLevel;
 
@@ -163,6 +174,7 @@ public class GenerateTask extends DefaultTask {
             settings.addTypeNameSuffix = addTypeNameSuffix;
             settings.customTypeNaming = Settings.convertToMap(customTypeNaming);
             settings.customTypeNamingFunction = customTypeNamingFunction;
+            settings.customTypeNamingRules = customTypeNamingRules;
             settings.referencedFiles = referencedFiles;
             settings.importDeclarations = importDeclarations;
             settings.customTypeMappings = Settings.convertToMap(customTypeMappings);
@@ -187,6 +199,8 @@ public class GenerateTask extends DefaultTask {
             settings.restResponseType = restResponseType;
             settings.setRestOptionsType(restOptionsType);
             settings.loadCustomTypeProcessor(classLoader, customTypeProcessor);
+            settings.disableTypeProcessorCache = disableTypeProcessorCache;
+            settings.internTsTypes = internTsTypes;
             settings.sortDeclarations = sortDeclarations;
             settings.sortTypeDeclarations = sortTypeDeclarations;
             settings.noFileComment = noFileComment;
@@ -204,12 +218,19 @@ public class GenerateTask extends DefaultTask {
             settings.npmBuildScript = npmBuildScript;
             settings.setStringQuotes(stringQuotes);
             settings.setIndentString(indentString);
+            settings.setOutputBufferSize(outputBufferSize);
+            settings.flushAfterEachDeclaration = flushAfterEachDeclaration;
             settings.displaySerializerWarning = displaySerializerWarning;
             settings.debug = debug;
             settings.disableJackson2ModuleDiscovery = disableJackson2ModuleDiscovery;
             settings.jackson2ModuleDiscovery = jackson2ModuleDiscovery;
             settings.loadJackson2Modules(classLoader, jackson2Modules);
             settings.classLoader = classLoader;
+            settings.parallelParsing = parallelParsing;
+            settings.bytecodeParsing = bytecodeParsing;
+            settings.parsedModelCacheFile = parsedModelCacheFile != null ? getProject().file(parsedModelCacheFile) : null;
+            settings.parallelCompilation = parallelCompilation;
+            settings.parallelism = parallelism;
 
             final Input.Parameters parameters = new Input.Parameters();
             parameters.classNames = classes;
@@ -221,6 +242,7 @@ public class GenerateTask extends DefaultTask {
             parameters.automaticJaxrsApplication = classesFromAutomaticJaxrsApplication;
             parameters.isClassNameExcluded = settings.getExcludeFilter();
             parameters.classLoader = classLoader;
+            parameters.classpathScanCacheFile = classpathScanCacheFile != null ? getProject().file(classpathScanCacheFile) : null;
             parameters.debug = loggingLevel == Logger.Level.Debug;
 
             final File output = outputFile != null
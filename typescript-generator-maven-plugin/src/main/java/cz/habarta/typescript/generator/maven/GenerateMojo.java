@@ -20,12 +20,23 @@ import cz.habarta.typescript.generator.TypeScriptGenerator;
 import cz.habarta.typescript.generator.TypeScriptOutputKind;
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -165,6 +176,16 @@ public class GenerateMojo extends AbstractMojo {
     @Parameter
     private boolean classesFromAutomaticJaxrsApplication;
 
+    /**
+     * File where index of classes on classpath is cached between builds.
+     * When specified classpath scanning (used by {@link #classPatterns}, {@link #classesWithAnnotations}, {@link #classesImplementingInterfaces},
+     * {@link #classesExtendingClasses} and {@link #classesFromAutomaticJaxrsApplication} parameters)
+     * scans only jar files which changed since previous build (and all directories).
+     * For example <code>${project.build.directory}/typescript-generator/classpath-scan.cache</code>.
+     */
+    @Parameter
+    private File classpathScanCacheFile;
+
     /**
      * List of classes excluded from processing.
      */
@@ -303,6 +324,17 @@ public class GenerateMojo extends AbstractMojo {
     @Parameter
     private String customTypeNamingFunction;
 
+    /**
+     * Specifies rules for getting custom TypeScript names for Java classes without need of JavaScript engine.
+     * Multiple rules can be specified, each using this format: <code>regex:replacement</code> (separated by the last colon).
+     * Regular expression must match whole Java class name and replacement can refer to its capturing groups,
+     * the first matching rule is used.
+     * Rules take precedence over {@link #customTypeNamingFunction} but not over {@link #customTypeNaming}.<br>
+     * Example rule: <code>com\.example\.(\w+)\.(\w+)Dto:$1$2</code>
+     */
+    @Parameter
+    private List<String> customTypeNamingRules;
+
     /**
      * List of files which will be referenced using triple-slash directive: <code>/// &lt;reference path="file" /></code>.
      * This can be used with {@link #customTypeMappings} to provide needed TypeScript types.
@@ -515,6 +547,22 @@ public class GenerateMojo extends AbstractMojo {
     @Parameter
     private String customTypeProcessor;
 
+    /**
+     * If <code>true</code> results of type processing are not cached during model parsing.
+     * Cache assumes that type processors return the same result for the same Java type and context
+     * so it should be disabled if {@link #customTypeProcessor} doesn't fulfill this.
+     */
+    @Parameter
+    private boolean disableTypeProcessorCache;
+
+    /**
+     * If <code>true</code> structurally equal TypeScript types (for example <code>string[]</code> or references to the same class)
+     * are shared by all properties and methods which use them.
+     * This reduces memory consumption of large models.
+     */
+    @Parameter
+    private boolean internTsTypes;
+
     /**
      * If <code>true</code> TypeScript declarations (interfaces, properties) will be sorted alphabetically.
      */
@@ -658,6 +706,22 @@ public class GenerateMojo extends AbstractMojo {
     @Parameter
     private String indentString;
 
+    /**
+     * Size (in characters) of buffer used when writing output file.
+     * Value <code>0</code> disables buffering.
+     * Default value is <code>8192</code>.
+     */
+    @Parameter
+    private Integer outputBufferSize;
+
+    /**
+     * If <code>true</code> output is flushed after each emitted declaration (class, interface, type alias, enum)
+     * so that consumers reading output stream can process declarations as they are generated.
+     * By default output is flushed only once when whole file is written.
+     */
+    @Parameter
+    private boolean flushAfterEachDeclaration;
+
     /**
      * <b>Deprecated</b>.
      */
@@ -684,6 +748,51 @@ public class GenerateMojo extends AbstractMojo {
     @Parameter
     private List<String> jackson2Modules;
 
+    /**
+     * If <code>true</code> classes are parsed in parallel.
+     * Generated output is the same as when classes are parsed sequentially.
+     * Note: custom type processors and extensions used during parsing need to be thread-safe.
+     */
+    @Parameter
+    private boolean parallelParsing;
+
+    /**
+     * If <code>true</code> bean properties and enum constants are read directly from class files
+     * instead of using Jackson introspection and reflection of class members.
+     * Only common Jackson features are supported (fields, getters, <code>@JsonProperty</code>, <code>@JsonIgnore</code>, ...),
+     * classes using other features are parsed using reflection.
+     * Properties which only have getters are ordered by declaration of the getters.
+     * Only applicable to <code>jackson2</code> library.
+     */
+    @Parameter
+    private boolean bytecodeParsing;
+
+    /**
+     * File where models of parsed classes are cached between builds.
+     * When specified only classes which changed since previous build (or whose supertypes or referenced classes changed) are parsed,
+     * models of other classes are loaded from this file.
+     * Cache is invalidated when settings affecting parsing change.
+     * REST resources are always parsed.
+     * For example <code>${project.build.directory}/typescript-generator/parsed-model.cache</code>.
+     */
+    @Parameter
+    private File parsedModelCacheFile;
+
+    /**
+     * If <code>true</code> parsed classes are compiled to TypeScript declarations in parallel.
+     * Generated output is the same as when classes are compiled sequentially.
+     * Note: custom type processors used during compilation need to be thread-safe.
+     */
+    @Parameter
+    private boolean parallelCompilation;
+
+    /**
+     * Number of threads used by parallel processing (see {@link #parallelParsing} and {@link #parallelCompilation}).
+     * Default value is number of available processors.
+     */
+    @Parameter
+    private Integer parallelism;
+
     /**
      * <b>Deprecated</b>, use {@link #loggingLevel} parameter.
      */
@@ -706,24 +815,66 @@ public class GenerateMojo extends AbstractMojo {
     @Parameter
     private Logger.Level loggingLevel;
 
+    /**
+     * If <code>true</code> generation is skipped when nothing changed since previous generation.
+     * This is detected using fingerprint file stored in project build directory
+     * which contains hashes of plugin configuration, compiled classes, dependencies,
+     * plugin itself with its dependencies (including extensions and custom type processors), <code>javadocXmlFiles</code>,
+     * <code>infoJson</code> files of <code>moduleDependencies</code> and generated files.
+     * Set to <code>false</code> if generation depends on other inputs (for example files read by custom extension).
+     * Default value is <code>true</code>.
+     */
+    @Parameter(defaultValue = "true")
+    private boolean skipWhenUnchanged;
+
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     private MavenProject project;
 
     @Parameter(defaultValue = "${project.build.directory}", readonly = true, required = true)
     private String projectBuildDirectory;
 
+    @Parameter(defaultValue = "${mojoExecution}", readonly = true, required = true)
+    private MojoExecution mojoExecution;
+
+    @Parameter(defaultValue = "${plugin}", readonly = true, required = true)
+    private PluginDescriptor plugin;
+
     @Override
     public void execute() {
         TypeScriptGenerator.setLogger(new Logger(loggingLevel));
         TypeScriptGenerator.printVersion();
 
+        final List<File> classpathFiles = new ArrayList<>();
+        try {
+            for (String element : project.getCompileClasspathElements()) {
+                classpathFiles.add(new File(element));
+            }
+        } catch (DependencyResolutionRequiredException e) {
+            throw new RuntimeException(e);
+        }
+
+        // fingerprint
+        final GenerationFingerprint fingerprint;
+        if (skipWhenUnchanged) {
+            final File fingerprintFile = new File(projectBuildDirectory, "typescript-generator-" + mojoExecution.getExecutionId() + ".fingerprint");
+            final List<File> fingerprintClasspathFiles = new ArrayList<>(classpathFiles);
+            fingerprintClasspathFiles.addAll(getPluginFiles());
+            fingerprint = GenerationFingerprint.create(fingerprintFile, describeConfiguration(), getInputFiles(), fingerprintClasspathFiles);
+            if (fingerprint.isUpToDate()) {
+                TypeScriptGenerator.getLogger().info("Configuration, classpath and generated files did not change since previous generation, skipping.");
+                return;
+            }
+        } else {
+            fingerprint = null;
+        }
+
         // class loader
         final List<URL> urls = new ArrayList<>();
         try {
-            for (String element : project.getCompileClasspathElements()) {
-                urls.add(new File(element).toURI().toURL());
+            for (File file : classpathFiles) {
+                urls.add(file.toURI().toURL());
             }
-        } catch (DependencyResolutionRequiredException | IOException e) {
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
 
@@ -753,6 +904,7 @@ public class GenerateMojo extends AbstractMojo {
             settings.addTypeNameSuffix = addTypeNameSuffix;
             settings.customTypeNaming = Settings.convertToMap(customTypeNaming);
             settings.customTypeNamingFunction = customTypeNamingFunction;
+            settings.customTypeNamingRules = customTypeNamingRules;
             settings.referencedFiles = referencedFiles;
             settings.importDeclarations = importDeclarations;
             settings.customTypeMappings = Settings.convertToMap(customTypeMappings);
@@ -777,6 +929,8 @@ public class GenerateMojo extends AbstractMojo {
             settings.restResponseType = restResponseType;
             settings.setRestOptionsType(restOptionsType);
             settings.loadCustomTypeProcessor(classLoader, customTypeProcessor);
+            settings.disableTypeProcessorCache = disableTypeProcessorCache;
+            settings.internTsTypes = internTsTypes;
             settings.sortDeclarations = sortDeclarations;
             settings.sortTypeDeclarations = sortTypeDeclarations;
             settings.noFileComment = noFileComment;
@@ -794,12 +948,19 @@ public class GenerateMojo extends AbstractMojo {
             settings.npmBuildScript = npmBuildScript;
             settings.setStringQuotes(stringQuotes);
             settings.setIndentString(indentString);
+            settings.setOutputBufferSize(outputBufferSize);
+            settings.flushAfterEachDeclaration = flushAfterEachDeclaration;
             settings.displaySerializerWarning = displaySerializerWarning;
             settings.debug = debug;
             settings.disableJackson2ModuleDiscovery = disableJackson2ModuleDiscovery;
             settings.jackson2ModuleDiscovery = jackson2ModuleDiscovery;
             settings.loadJackson2Modules(classLoader, jackson2Modules);
             settings.classLoader = classLoader;
+            settings.parallelParsing = parallelParsing;
+            settings.bytecodeParsing = bytecodeParsing;
+            settings.parsedModelCacheFile = parsedModelCacheFile;
+            settings.parallelCompilation = parallelCompilation;
+            settings.parallelism = parallelism != null ? parallelism : 0;
 
             final Input.Parameters parameters = new Input.Parameters();
             parameters.classNames = classes;
@@ -811,6 +972,7 @@ public class GenerateMojo extends AbstractMojo {
             parameters.automaticJaxrsApplication = classesFromAutomaticJaxrsApplication;
             parameters.isClassNameExcluded = settings.getExcludeFilter();
             parameters.classLoader = classLoader;
+            parameters.classpathScanCacheFile = classpathScanCacheFile;
             parameters.debug = loggingLevel == Logger.Level.Debug;
 
             final File output = outputFile != null
@@ -820,9 +982,128 @@ public class GenerateMojo extends AbstractMojo {
 
             new TypeScriptGenerator(settings).generateTypeScript(Input.from(parameters), Output.to(output));
 
+            if (fingerprint != null) {
+                final List<File> outputFiles = new ArrayList<>();
+                outputFiles.add(output);
+                if (settings.generateInfoJson) {
+                    outputFiles.add(new File(output.getParentFile(), "typescript-generator-info.json"));
+                }
+                if (settings.generateNpmPackageJson) {
+                    outputFiles.add(new File(output.getParentFile(), "package.json"));
+                }
+                fingerprint.save(outputFiles);
+            }
+
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private List<File> getInputFiles() {
+        final List<File> files = new ArrayList<>();
+        if (javadocXmlFiles != null) {
+            files.addAll(javadocXmlFiles);
+        }
+        if (moduleDependencies != null) {
+            for (ModuleDependency dependency : moduleDependencies) {
+                if (dependency.infoJson != null) {
+                    files.add(dependency.infoJson);
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Returns jar files of plugin class realm (generator itself and plugin dependencies like extensions)
+     * which can change without changing plugin configuration (for example SNAPSHOT versions).
+     */
+    private List<File> getPluginFiles() {
+        final LinkedHashSet<File> files = new LinkedHashSet<>();
+        if (plugin.getPluginArtifact() != null && plugin.getPluginArtifact().getFile() != null) {
+            files.add(plugin.getPluginArtifact().getFile());
+        }
+        if (plugin.getArtifacts() != null) {
+            for (Artifact artifact : plugin.getArtifacts()) {
+                if (artifact.getFile() != null) {
+                    files.add(artifact.getFile());
+                }
+            }
+        }
+        return new ArrayList<>(files);
+    }
+
+    /**
+     * Describes values of all configuration parameters, nested configuration objects are described field by field.
+     */
+    private String describeConfiguration() {
+        final StringBuilder sb = new StringBuilder();
+        for (Field field : getConfigurationFields(GenerateMojo.class)) {
+            if (field.getDeclaringClass() != GenerateMojo.class
+                    || field.getName().equals("project") || field.getName().equals("mojoExecution") || field.getName().equals("plugin") || field.getName().equals("skipWhenUnchanged")) {
+                continue;
+            }
+            sb.append(field.getName()).append('=').append(describe(getFieldValue(field, this))).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String describe(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Class) {
+            return ((Class<?>) value).getName();
+        }
+        if (value.getClass().isArray()) {
+            final List<Object> items = new ArrayList<>();
+            for (int i = 0; i < Array.getLength(value); i++) {
+                items.add(Array.get(value, i));
+            }
+            return describe(items);
+        }
+        if (value instanceof Collection) {
+            final StringBuilder sb = new StringBuilder("[");
+            for (Object item : (Collection<?>) value) {
+                sb.append(describe(item)).append(", ");
+            }
+            return sb.append("]").toString();
+        }
+        if (value instanceof Map) {
+            final StringBuilder sb = new StringBuilder("{");
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                sb.append(describe(entry.getKey())).append(": ").append(describe(entry.getValue())).append(", ");
+            }
+            return sb.append("}").toString();
+        }
+        if (value.getClass().getName().startsWith("java.") || value instanceof Enum) {
+            return value.toString();
+        }
+        final StringBuilder sb = new StringBuilder(value.getClass().getName()).append("{");
+        for (Field field : getConfigurationFields(value.getClass())) {
+            sb.append(field.getName()).append(": ").append(describe(getFieldValue(field, value))).append(", ");
+        }
+        return sb.append("}").toString();
+    }
+
+    private static List<Field> getConfigurationFields(Class<?> cls) {
+        final List<Field> fields = new ArrayList<>();
+        for (Class<?> c = cls; c != null && c != Object.class; c = c.getSuperclass()) {
+            Arrays.stream(c.getDeclaredFields())
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                    .forEach(fields::add);
+        }
+        fields.sort(Comparator.comparing((Field field) -> field.getDeclaringClass().getName()).thenComparing(Field::getName));
+        return fields;
+    }
+
+    private static Object getFieldValue(Field field, Object object) {
+        try {
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
 }
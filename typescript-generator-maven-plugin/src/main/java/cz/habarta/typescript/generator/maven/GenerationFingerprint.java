@@ -0,0 +1,253 @@
+
+package cz.habarta.typescript.generator.maven;
+
+import cz.habarta.typescript.generator.TypeScriptGenerator;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * Fingerprint of everything generation depends on (plugin configuration, classpath and additional input files)
+ * together with hashes of generated files.
+ * When stored fingerprint matches current state generation can be skipped.
+ * Content hash of classpath entry is only recomputed when its stamp (size and modification time of its files) changes.
+ */
+class GenerationFingerprint {
+
+    private static final int FormatVersion = 1;
+
+    private final File fingerprintFile;
+    private final String configurationHash;
+    private final List<EntryRecord> classpath;
+    private final Stored stored;
+
+    private GenerationFingerprint(File fingerprintFile, String configurationHash, List<EntryRecord> classpath, Stored stored) {
+        this.fingerprintFile = fingerprintFile;
+        this.configurationHash = configurationHash;
+        this.classpath = classpath;
+        this.stored = stored;
+    }
+
+    /**
+     * @param configuration description of all parameters which affect generated output
+     * @param inputFiles additional files read during generation (for example javadoc XML files)
+     * @param classpathFiles directories and jar files on classpath
+     */
+    public static GenerationFingerprint create(File fingerprintFile, String configuration, List<File> inputFiles, List<File> classpathFiles) {
+        final Stored stored = read(fingerprintFile);
+        final StringBuilder sb = new StringBuilder();
+        sb.append(TypeScriptGenerator.Version).append('\n');
+        sb.append(configuration).append('\n');
+        for (File inputFile : inputFiles) {
+            sb.append(inputFile).append(' ').append(inputFile.isFile() ? computeHash(inputFile) : "-").append('\n');
+        }
+        final String configurationHash = computeHash(sb.toString().getBytes(StandardCharsets.UTF_8));
+        final Map<String, EntryRecord> storedEntries = new LinkedHashMap<>();
+        if (stored != null) {
+            for (EntryRecord entry : stored.classpath) {
+                storedEntries.put(entry.path, entry);
+            }
+        }
+        final List<EntryRecord> classpath = new ArrayList<>();
+        for (File file : classpathFiles) {
+            final String path = file.getAbsolutePath();
+            final String stamp = computeStamp(file);
+            final EntryRecord storedEntry = storedEntries.get(path);
+            final String hash = storedEntry != null && storedEntry.stamp.equals(stamp)
+                    ? storedEntry.hash
+                    : computeEntryHash(file);
+            classpath.add(new EntryRecord(path, stamp, hash));
+        }
+        return new GenerationFingerprint(fingerprintFile, configurationHash, classpath, stored);
+    }
+
+    public boolean isUpToDate() {
+        if (stored == null || !stored.configurationHash.equals(configurationHash) || stored.classpath.size() != classpath.size()) {
+            return false;
+        }
+        for (int i = 0; i < classpath.size(); i++) {
+            final EntryRecord entry = classpath.get(i);
+            final EntryRecord storedEntry = stored.classpath.get(i);
+            if (!entry.path.equals(storedEntry.path) || !entry.hash.equals(storedEntry.hash)) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, String> output : stored.outputs.entrySet()) {
+            final File outputFile = new File(output.getKey());
+            if (!outputFile.isFile() || !computeHash(outputFile).equals(output.getValue())) {
+                return false;
+            }
+        }
+        return !stored.outputs.isEmpty();
+    }
+
+    public void save(List<File> outputFiles) {
+        try {
+            final File directory = fingerprintFile.getAbsoluteFile().getParentFile();
+            directory.mkdirs();
+            final File tempFile = File.createTempFile(fingerprintFile.getName(), ".tmp", directory);
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                output.writeInt(FormatVersion);
+                output.writeUTF(configurationHash);
+                output.writeInt(classpath.size());
+                for (EntryRecord entry : classpath) {
+                    output.writeUTF(entry.path);
+                    output.writeUTF(entry.stamp);
+                    output.writeUTF(entry.hash);
+                }
+                output.writeInt(outputFiles.size());
+                for (File outputFile : outputFiles) {
+                    output.writeUTF(outputFile.getAbsolutePath());
+                    output.writeUTF(computeHash(outputFile));
+                }
+            }
+            // replaced atomically so concurrent builds don't see partially written file
+            Files.move(tempFile.toPath(), fingerprintFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            TypeScriptGenerator.getLogger().warning(String.format("Cannot write fingerprint file '%s': %s", fingerprintFile, e.getMessage()));
+        }
+    }
+
+    private static Stored read(File fingerprintFile) {
+        if (!fingerprintFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(fingerprintFile)))) {
+            if (input.readInt() != FormatVersion) {
+                return null;
+            }
+            final String configurationHash = input.readUTF();
+            final int entryCount = input.readInt();
+            final List<EntryRecord> classpath = new ArrayList<>();
+            for (int i = 0; i < entryCount; i++) {
+                classpath.add(new EntryRecord(input.readUTF(), input.readUTF(), input.readUTF()));
+            }
+            final int outputCount = input.readInt();
+            final Map<String, String> outputs = new LinkedHashMap<>();
+            for (int i = 0; i < outputCount; i++) {
+                outputs.put(input.readUTF(), input.readUTF());
+            }
+            return new Stored(configurationHash, classpath, outputs);
+        } catch (IOException e) {
+            TypeScriptGenerator.getLogger().warning(String.format("Cannot read fingerprint file '%s', it will be recreated: %s", fingerprintFile, e.getMessage()));
+            return null;
+        }
+    }
+
+    private static List<Path> listFiles(File directory) {
+        try (Stream<Path> stream = Files.walk(directory.toPath())) {
+            return stream
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Cannot list files in directory '%s'", directory), e);
+        }
+    }
+
+    private static String computeStamp(File file) {
+        if (file.isFile()) {
+            return file.length() + ":" + file.lastModified();
+        }
+        if (file.isDirectory()) {
+            final StringBuilder sb = new StringBuilder();
+            for (Path path : listFiles(file)) {
+                final File entryFile = path.toFile();
+                sb.append(file.toPath().relativize(path)).append(':').append(entryFile.length()).append(':').append(entryFile.lastModified()).append('\n');
+            }
+            return computeHash(sb.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return "-";
+    }
+
+    private static String computeEntryHash(File file) {
+        if (file.isFile()) {
+            return computeHash(file);
+        }
+        if (file.isDirectory()) {
+            final StringBuilder sb = new StringBuilder();
+            for (Path path : listFiles(file)) {
+                sb.append(file.toPath().relativize(path)).append(':').append(computeHash(path.toFile())).append('\n');
+            }
+            return computeHash(sb.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return "-";
+    }
+
+    private static String computeHash(File file) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream inputStream = new DigestInputStream(new FileInputStream(file), digest)) {
+                final byte[] buffer = new byte[64 * 1024];
+                while (inputStream.read(buffer) != -1) {
+                    // digest is updated by stream
+                }
+            }
+            return toHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException(String.format("Cannot compute hash of file '%s'", file), e);
+        }
+    }
+
+    private static String computeHash(byte[] data) {
+        try {
+            return toHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        final StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static class EntryRecord {
+        public final String path;
+        public final String stamp;
+        public final String hash;
+
+        public EntryRecord(String path, String stamp, String hash) {
+            this.path = Objects.requireNonNull(path);
+            this.stamp = Objects.requireNonNull(stamp);
+            this.hash = Objects.requireNonNull(hash);
+        }
+    }
+
+    private static class Stored {
+        public final String configurationHash;
+        public final List<EntryRecord> classpath;
+        public final Map<String, String> outputs;
+
+        public Stored(String configurationHash, List<EntryRecord> classpath, Map<String, String> outputs) {
+            this.configurationHash = configurationHash;
+            this.classpath = classpath;
+            this.outputs = outputs;
+        }
+    }
+
+}
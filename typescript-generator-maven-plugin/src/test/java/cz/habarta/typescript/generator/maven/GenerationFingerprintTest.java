@@ -0,0 +1,141 @@
+
+package cz.habarta.typescript.generator.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class GenerationFingerprintTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final long OldTimestamp = 1_000_000_000_000L;
+
+    private File fingerprintFile;
+    private File classesDirectory;
+    private File classFile;
+    private File jarFile;
+    private File inputFile;
+    private File outputFile;
+
+    @Before
+    public void setUp() throws IOException {
+        fingerprintFile = new File(temporaryFolder.getRoot(), "target/test.fingerprint");
+        classesDirectory = temporaryFolder.newFolder("classes");
+        classFile = new File(classesDirectory, "pkg/Bean.class");
+        write(classFile, "class Bean");
+        jarFile = temporaryFolder.newFile("dependency.jar");
+        write(jarFile, "jar content");
+        inputFile = temporaryFolder.newFile("javadoc.xml");
+        write(inputFile, "<javadoc/>");
+        outputFile = new File(temporaryFolder.getRoot(), "out/test.d.ts");
+        write(outputFile, "interface Bean {}");
+        setOldTimestamp(classFile, jarFile);
+        create("config").save(Collections.singletonList(outputFile));
+    }
+
+    @Test
+    public void testUpToDate() {
+        Assert.assertTrue(create("config").isUpToDate());
+    }
+
+    @Test
+    public void testMissingFingerprint() {
+        Assert.assertTrue(fingerprintFile.delete());
+        Assert.assertFalse(create("config").isUpToDate());
+    }
+
+    @Test
+    public void testNoOutputs() {
+        create("config").save(Collections.<File>emptyList());
+        Assert.assertFalse(create("config").isUpToDate());
+    }
+
+    @Test
+    public void testChangedConfiguration() {
+        Assert.assertFalse(create("changed config").isUpToDate());
+    }
+
+    @Test
+    public void testChangedInputFile() throws IOException {
+        write(inputFile, "<javadoc>changed</javadoc>");
+        Assert.assertFalse(create("config").isUpToDate());
+    }
+
+    @Test
+    public void testChangedStampWithSameContent() {
+        Assert.assertTrue(classFile.setLastModified(OldTimestamp + 2000));
+        Assert.assertTrue(jarFile.setLastModified(OldTimestamp + 2000));
+        Assert.assertTrue(create("config").isUpToDate());
+    }
+
+    @Test
+    public void testChangedJarContent() throws IOException {
+        write(jarFile, "jar CONTENT");
+        setOldTimestamp(jarFile);
+        Assert.assertTrue(create("config").isUpToDate());
+        Assert.assertTrue(jarFile.setLastModified(OldTimestamp + 2000));
+        Assert.assertFalse(create("config").isUpToDate());
+    }
+
+    @Test
+    public void testChangedDirectoryContent() throws IOException {
+        write(classFile, "class BEAN");
+        Assert.assertFalse(create("config").isUpToDate());
+    }
+
+    @Test
+    public void testAddedClassFile() throws IOException {
+        write(new File(classesDirectory, "pkg/Other.class"), "class Other");
+        Assert.assertFalse(create("config").isUpToDate());
+    }
+
+    @Test
+    public void testChangedClasspath() {
+        Assert.assertFalse(create("config", Collections.singletonList(classesDirectory)).isUpToDate());
+        Assert.assertFalse(create("config", Arrays.asList(jarFile, classesDirectory)).isUpToDate());
+    }
+
+    @Test
+    public void testMissingOutput() {
+        Assert.assertTrue(outputFile.delete());
+        Assert.assertFalse(create("config").isUpToDate());
+    }
+
+    @Test
+    public void testChangedOutput() throws IOException {
+        write(outputFile, "interface Changed {}");
+        Assert.assertFalse(create("config").isUpToDate());
+    }
+
+    private GenerationFingerprint create(String configuration) {
+        return create(configuration, Arrays.asList(classesDirectory, jarFile));
+    }
+
+    private GenerationFingerprint create(String configuration, List<File> classpathFiles) {
+        return GenerationFingerprint.create(fingerprintFile, configuration, Collections.singletonList(inputFile), classpathFiles);
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void setOldTimestamp(File... files) {
+        for (File file : files) {
+            Assert.assertTrue(file.setLastModified(OldTimestamp));
+        }
+    }
+
+}
@@ -15,6 +15,7 @@ import cz.habarta.typescript.generator.parser.RestMethodModel;
 import cz.habarta.typescript.generator.parser.RestQueryParam;
 import cz.habarta.typescript.generator.parser.SourceType;
 import cz.habarta.typescript.generator.util.GenericsResolver;
+import cz.habarta.typescript.generator.util.ReflectionCache;
 import cz.habarta.typescript.generator.util.Utils;
 import static cz.habarta.typescript.generator.util.Utils.getInheritanceChain;
 import java.lang.reflect.Method;
@@ -189,7 +190,7 @@ public class SpringApplicationParser extends RestApplicationParser {
         getInheritanceChain(cls)
             .forEach(clazz -> {
 
-                for (Method method : clazz.getDeclaredMethods()) {
+                for (Method method : ReflectionCache.getDeclaredMethods(clazz)) {
                     final RequestMapping requestMapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
                     if (requestMapping != null) {
                         addOrReplaceMethod(currentlyResolvedMethods, method);